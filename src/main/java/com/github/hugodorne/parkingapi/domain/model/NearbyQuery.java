@@ -0,0 +1,13 @@
+package com.github.hugodorne.parkingapi.domain.model;
+
+import lombok.Value;
+
+/**
+ * Search for parkings within a radius of a position
+ */
+@Value
+public class NearbyQuery {
+    double latitude;
+    double longitude;
+    double radiusKm;  // Search radius in kilometers
+}
@@ -24,6 +24,13 @@ public class Parking {
     }
 
     public double getOccupancyRate() {
+        return occupancyRate(totalSpaces, availableSpaces);
+    }
+
+    /**
+     * Percentage of occupied spaces, rounded down, 0 when the total is unknown
+     */
+    public static double occupancyRate(Integer totalSpaces, Integer availableSpaces) {
         if (totalSpaces == null || totalSpaces == 0) {
             return 0.0;
         }
@@ -0,0 +1,145 @@
+package com.github.hugodorne.parkingapi.domain.model;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Differences between two parking snapshots: parkings added, parkings whose values changed
+ * (mostly available spaces and status), and parkings removed. Parkings are identified by their id.
+ */
+@Value
+public class ParkingChanges {
+    long fromVersion;
+    long toVersion;
+    Instant refreshedAt;  // Refresh time of the target snapshot
+    List<Parking> added;
+    List<Parking> updated;
+    List<String> removed;  // Ids of the parkings removed
+
+    /**
+     * Compute the changes turning a snapshot into another one, in the order of the target snapshot
+     * for added and updated parkings, of the source snapshot for removed ones
+     */
+    public static ParkingChanges between(ParkingSnapshot from, ParkingSnapshot to) {
+        ParkingTable previous = from.getTable();
+        ParkingTable next = to.getTable();
+
+        Map<String, Integer> previousRows = new LinkedHashMap<>(previous.size() * 2);
+        for (int row = 0; row < previous.size(); row++) {
+            previousRows.putIfAbsent(previous.getId(row), row);
+        }
+
+        List<Parking> added = new ArrayList<>();
+        List<Parking> updated = new ArrayList<>();
+        for (int row = 0; row < next.size(); row++) {
+            Integer previousRow = previousRows.remove(next.getId(row));
+            if (previousRow == null) {
+                added.add(next.toParking(row));
+            } else if (!next.rowEquals(row, previous, previousRow)) {
+                updated.add(next.toParking(row));
+            }
+        }
+
+        // Rows left were not matched by the target snapshot
+        List<String> removed = new ArrayList<>(previousRows.keySet());
+
+        return new ParkingChanges(from.getVersion(), to.getVersion(), to.getRefreshedAt(),
+                Collections.unmodifiableList(added), Collections.unmodifiableList(updated),
+                Collections.unmodifiableList(removed));
+    }
+
+    /**
+     * Compute the changes among the parkings found by the same search at two versions, in the order of the
+     * target parkings for added and updated parkings, of the source parkings for removed ones. Parkings leaving
+     * the results are removed, parkings entering them are added.
+     * <p>
+     * Only the parkings of the source version are needed, not its snapshot, so that callers keeping the
+     * results of a search do not retain every parking of an old snapshot.
+     *
+     * @param fromVersion  Version of the source parkings, 0 for none
+     * @param fromParkings Parkings found at the source version
+     * @param to           Target snapshot
+     * @param toParkings   Parkings found in the target snapshot
+     */
+    public static ParkingChanges between(long fromVersion, List<Parking> fromParkings,
+                                         ParkingSnapshot to, List<Parking> toParkings) {
+        Map<String, Parking> previousParkings = byId(fromParkings);
+
+        List<Parking> added = new ArrayList<>();
+        List<Parking> updated = new ArrayList<>();
+        for (Parking parking : toParkings) {
+            Parking previous = previousParkings.remove(parking.getId());
+            if (previous == null) {
+                added.add(parking);
+            } else if (!parking.equals(previous)) {
+                updated.add(parking);
+            }
+        }
+
+        List<String> removed = new ArrayList<>(previousParkings.keySet());
+
+        return new ParkingChanges(fromVersion, to.getVersion(), to.getRefreshedAt(),
+                Collections.unmodifiableList(added), Collections.unmodifiableList(updated),
+                Collections.unmodifiableList(removed));
+    }
+
+    /**
+     * Combine these changes with the changes following them, into the changes from the source snapshot of
+     * these ones to the target snapshot of the next ones. A parking added then removed is left out, a parking
+     * removed then added back is updated.
+     *
+     * @param next Changes starting from the target snapshot of these ones
+     */
+    public ParkingChanges then(ParkingChanges next) {
+        if (next.fromVersion != toVersion) {
+            throw new IllegalArgumentException("Changes from v" + next.fromVersion + " do not follow changes to v" + toVersion);
+        }
+
+        Map<String, Parking> combinedAdded = byId(added);
+        Map<String, Parking> combinedUpdated = byId(updated);
+        LinkedHashSet<String> combinedRemoved = new LinkedHashSet<>(removed);
+        for (Parking parking : next.added) {
+            if (combinedRemoved.remove(parking.getId())) {
+                combinedUpdated.put(parking.getId(), parking);
+            } else {
+                combinedAdded.put(parking.getId(), parking);
+            }
+        }
+        for (Parking parking : next.updated) {
+            if (combinedAdded.containsKey(parking.getId())) {
+                combinedAdded.put(parking.getId(), parking);
+            } else {
+                combinedUpdated.put(parking.getId(), parking);
+            }
+        }
+        for (String id : next.removed) {
+            if (combinedAdded.remove(id) == null) {
+                combinedUpdated.remove(id);
+                combinedRemoved.add(id);
+            }
+        }
+
+        return new ParkingChanges(fromVersion, next.toVersion, next.refreshedAt,
+                List.copyOf(combinedAdded.values()), List.copyOf(combinedUpdated.values()),
+                List.copyOf(combinedRemoved));
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+    }
+
+    private static Map<String, Parking> byId(List<Parking> parkings) {
+        Map<String, Parking> byId = new LinkedHashMap<>(parkings.size() * 2);
+        for (Parking parking : parkings) {
+            byId.put(parking.getId(), parking);
+        }
+        return byId;
+    }
+}
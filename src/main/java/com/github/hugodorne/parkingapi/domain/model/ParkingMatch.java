@@ -0,0 +1,77 @@
+package com.github.hugodorne.parkingapi.domain.model;
+
+import lombok.Value;
+
+/**
+ * Parking found by a search, read from its row in the snapshot table, with its distance from the user position.
+ * Lighter than a {@link Parking} copy: only the row and the distance are stored.
+ * Matches are compared by table identity, row and distance, without comparing the table contents.
+ */
+@Value
+public class ParkingMatch {
+    ParkingTable table;
+    int row;
+    double distanceKm;  // Distance from user position in kilometers, rounded to 2 decimal places
+
+    public String getId() {
+        return table.getId(row);
+    }
+
+    public String getName() {
+        return table.getName(row);
+    }
+
+    public String getAddress() {
+        return table.getAddress(row);
+    }
+
+    public Double getLatitude() {
+        return table.hasCoordinates(row) ? table.getLatitude(row) : null;
+    }
+
+    public Double getLongitude() {
+        return table.hasCoordinates(row) ? table.getLongitude(row) : null;
+    }
+
+    public Integer getTotalSpaces() {
+        int totalSpaces = table.getTotalSpaces(row);
+        return totalSpaces != ParkingTable.NO_SPACES ? totalSpaces : null;
+    }
+
+    public Integer getAvailableSpaces() {
+        int availableSpaces = table.getAvailableSpaces(row);
+        return availableSpaces != ParkingTable.NO_SPACES ? availableSpaces : null;
+    }
+
+    public ParkingStatus getStatus() {
+        return table.getStatus(row);
+    }
+
+    public boolean isOpen() {
+        return getStatus() == ParkingStatus.OPEN;
+    }
+
+    public double getOccupancyRate() {
+        return Parking.occupancyRate(getTotalSpaces(), getAvailableSpaces());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ParkingMatch other
+                && table == other.table
+                && row == other.row
+                && Double.compare(distanceKm, other.distanceKm) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * System.identityHashCode(table) + row) + Double.hashCode(distanceKm);
+    }
+
+    /**
+     * Materialize the matched parking with its distance
+     */
+    public Parking toParking() {
+        return table.toParking(row, distanceKm);
+    }
+}
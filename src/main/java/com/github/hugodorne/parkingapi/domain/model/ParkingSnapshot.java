@@ -0,0 +1,76 @@
+package com.github.hugodorne.parkingapi.domain.model;
+
+import com.github.hugodorne.parkingapi.domain.spatial.GeoGridIndex;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable, versioned view of all parkings as published by the last successful refresh.
+ * Parkings are stored column-oriented, and their spatial index is built once, when the snapshot is created.
+ */
+@Value
+public class ParkingSnapshot {
+
+    /**
+     * Snapshot served before the first successful refresh
+     */
+    public static final ParkingSnapshot EMPTY = new ParkingSnapshot(0L, Instant.EPOCH, ParkingTable.EMPTY);
+
+    long version;  // Increasing, and not reused after a restart, see ParkingService
+    Instant refreshedAt;  // Time at which the parkings were fetched from the data source
+    ParkingTable table;
+
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    GeoGridIndex spatialIndex;  // Rows of parkings with coordinates, by location
+
+    public ParkingSnapshot(long version, Instant refreshedAt, ParkingTable table) {
+        this.version = version;
+        this.refreshedAt = refreshedAt;
+        this.table = table;
+        this.spatialIndex = new GeoGridIndex(table.latitudeColumn(), table.longitudeColumn());
+    }
+
+    public ParkingSnapshot(long version, Instant refreshedAt, List<Parking> parkings) {
+        this(version, refreshedAt, ParkingTable.of(parkings));
+    }
+
+    /**
+     * Build the snapshot following this one
+     *
+     * @param parkings    Parkings of the new snapshot
+     * @param refreshedAt Time at which the parkings were fetched
+     */
+    public ParkingSnapshot next(List<Parking> parkings, Instant refreshedAt) {
+        return new ParkingSnapshot(version + 1, refreshedAt, parkings);
+    }
+
+    /**
+     * Build the snapshot following this one
+     *
+     * @param table       Parkings of the new snapshot
+     * @param refreshedAt Time at which the parkings were fetched
+     */
+    public ParkingSnapshot next(ParkingTable table, Instant refreshedAt) {
+        return new ParkingSnapshot(version + 1, refreshedAt, table);
+    }
+
+    /**
+     * Materialize all parkings of the snapshot, in order
+     */
+    public List<Parking> getParkings() {
+        return table.toParkings();
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    public boolean isEmpty() {
+        return table.isEmpty();
+    }
+}
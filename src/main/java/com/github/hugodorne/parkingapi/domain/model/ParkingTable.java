@@ -0,0 +1,202 @@
+package com.github.hugodorne.parkingapi.domain.model;
+
+import lombok.EqualsAndHashCode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable, column-oriented storage of parkings.
+ * <p>
+ * Each parking is a row, each field a primitive array indexed by row, so coordinates and spaces are
+ * neither boxed nor scattered on the heap. Missing values are stored as {@link Double#NaN} for
+ * coordinates, {@link #NO_SPACES} for spaces and {@link #NO_STATUS} for the status.
+ * {@link Parking} objects are only created for the rows actually returned.
+ */
+@EqualsAndHashCode
+public final class ParkingTable {
+
+    /**
+     * Stored spaces when the parking does not provide them
+     */
+    public static final int NO_SPACES = Integer.MIN_VALUE;
+
+    /**
+     * Stored status when the parking does not provide it
+     */
+    public static final byte NO_STATUS = -1;
+
+    public static final ParkingTable EMPTY = of(List.of());
+
+    private static final ParkingStatus[] STATUSES = ParkingStatus.values();
+
+    private final String[] ids;
+    private final String[] names;
+    private final String[] addresses;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final int[] totalSpaces;
+    private final int[] availableSpaces;
+    private final byte[] statuses;
+
+    private ParkingTable(int size) {
+        this.ids = new String[size];
+        this.names = new String[size];
+        this.addresses = new String[size];
+        this.latitudes = new double[size];
+        this.longitudes = new double[size];
+        this.totalSpaces = new int[size];
+        this.availableSpaces = new int[size];
+        this.statuses = new byte[size];
+    }
+
+    /**
+     * Build the table of the given parkings, in the same order.
+     * Distances are not stored as they depend on the query.
+     */
+    public static ParkingTable of(List<Parking> parkings) {
+        ParkingTable table = new ParkingTable(parkings.size());
+        for (int row = 0; row < parkings.size(); row++) {
+            Parking parking = parkings.get(row);
+            boolean located = parking.getLatitude() != null && parking.getLongitude() != null;
+            table.ids[row] = parking.getId();
+            table.names[row] = parking.getName();
+            table.addresses[row] = parking.getAddress();
+            table.latitudes[row] = located ? parking.getLatitude() : Double.NaN;
+            table.longitudes[row] = located ? parking.getLongitude() : Double.NaN;
+            table.totalSpaces[row] = parking.getTotalSpaces() != null ? parking.getTotalSpaces() : NO_SPACES;
+            table.availableSpaces[row] = parking.getAvailableSpaces() != null ? parking.getAvailableSpaces() : NO_SPACES;
+            table.statuses[row] = parking.getStatus() != null ? (byte) parking.getStatus().ordinal() : NO_STATUS;
+        }
+        return table;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    public String getId(int row) {
+        return ids[row];
+    }
+
+    public String getName(int row) {
+        return names[row];
+    }
+
+    public String getAddress(int row) {
+        return addresses[row];
+    }
+
+    public boolean hasCoordinates(int row) {
+        return !Double.isNaN(latitudes[row]);
+    }
+
+    /**
+     * Latitude of a row, or {@link Double#NaN} when the parking has no coordinates
+     */
+    public double getLatitude(int row) {
+        return latitudes[row];
+    }
+
+    /**
+     * Longitude of a row, or {@link Double#NaN} when the parking has no coordinates
+     */
+    public double getLongitude(int row) {
+        return longitudes[row];
+    }
+
+    /**
+     * Total spaces of a row, or {@link #NO_SPACES}
+     */
+    public int getTotalSpaces(int row) {
+        return totalSpaces[row];
+    }
+
+    /**
+     * Available spaces of a row, or {@link #NO_SPACES}
+     */
+    public int getAvailableSpaces(int row) {
+        return availableSpaces[row];
+    }
+
+    /**
+     * Status of a row, or {@code null} when unknown to the data source
+     */
+    public ParkingStatus getStatus(int row) {
+        return statuses[row] != NO_STATUS ? STATUSES[statuses[row]] : null;
+    }
+
+    /**
+     * Latitudes of all rows, {@link Double#NaN} for parkings without coordinates.
+     * The array is shared, callers must not modify it.
+     */
+    public double[] latitudeColumn() {
+        return latitudes;
+    }
+
+    /**
+     * Longitudes of all rows, {@link Double#NaN} for parkings without coordinates.
+     * The array is shared, callers must not modify it.
+     */
+    public double[] longitudeColumn() {
+        return longitudes;
+    }
+
+    /**
+     * Whether a row holds the same parking, with the same values, as a row of another table
+     */
+    public boolean rowEquals(int row, ParkingTable other, int otherRow) {
+        return Objects.equals(ids[row], other.ids[otherRow])
+                && Objects.equals(names[row], other.names[otherRow])
+                && Objects.equals(addresses[row], other.addresses[otherRow])
+                && Double.doubleToLongBits(latitudes[row]) == Double.doubleToLongBits(other.latitudes[otherRow])
+                && Double.doubleToLongBits(longitudes[row]) == Double.doubleToLongBits(other.longitudes[otherRow])
+                && totalSpaces[row] == other.totalSpaces[otherRow]
+                && availableSpaces[row] == other.availableSpaces[otherRow]
+                && statuses[row] == other.statuses[otherRow];
+    }
+
+    /**
+     * Materialize a row
+     */
+    public Parking toParking(int row) {
+        return toParkingBuilder(row).build();
+    }
+
+    /**
+     * Materialize a row with its distance from the user position
+     */
+    public Parking toParking(int row, double distanceKm) {
+        return toParkingBuilder(row).distanceKm(distanceKm).build();
+    }
+
+    /**
+     * Materialize all rows, in order
+     */
+    public List<Parking> toParkings() {
+        List<Parking> parkings = new ArrayList<>(size());
+        for (int row = 0; row < size(); row++) {
+            parkings.add(toParking(row));
+        }
+        return Collections.unmodifiableList(parkings);
+    }
+
+    private Parking.ParkingBuilder toParkingBuilder(int row) {
+        boolean located = hasCoordinates(row);
+        return Parking.builder()
+                .id(ids[row])
+                .name(names[row])
+                .address(addresses[row])
+                .latitude(located ? latitudes[row] : null)
+                .longitude(located ? longitudes[row] : null)
+                .totalSpaces(totalSpaces[row] != NO_SPACES ? totalSpaces[row] : null)
+                .availableSpaces(availableSpaces[row] != NO_SPACES ? availableSpaces[row] : null)
+                .status(getStatus(row));
+    }
+}
@@ -1,6 +1,9 @@
 package com.github.hugodorne.parkingapi.domain.port.in;
 
+import com.github.hugodorne.parkingapi.domain.model.NearbyQuery;
 import com.github.hugodorne.parkingapi.domain.model.Parking;
+import com.github.hugodorne.parkingapi.domain.model.ParkingMatch;
+import com.github.hugodorne.parkingapi.domain.model.ParkingSnapshot;
 
 import java.util.List;
 
@@ -14,6 +17,11 @@ public interface GetParkingsUseCase {
      */
     List<Parking> getAllParkings();
 
+    /**
+     * Get the snapshot currently served, from which all queries are answered
+     */
+    ParkingSnapshot getCurrentSnapshot();
+
     /**
      * Get parkings near a specific location
      *
@@ -21,6 +29,44 @@ public interface GetParkingsUseCase {
      * @param longitude User longitude
      * @param radiusKm  Search radius in kilometers
      */
-    List<Parking> getParkingsNearby(double latitude, double longitude, double radiusKm);
-}
+    List<ParkingMatch> getParkingsNearby(double latitude, double longitude, double radiusKm);
+
+    /**
+     * Get parkings near several locations at once, all queries being answered from the same data
+     *
+     * @param queries Positions and search radiuses
+     * @return parkings sorted by distance for each query, in the order of the queries
+     */
+    List<List<ParkingMatch>> getParkingsNearby(List<NearbyQuery> queries);
 
+    /**
+     * Get parkings near a specific location in a given snapshot, closest first
+     *
+     * @param snapshot  Snapshot searched, e.g. {@link #getCurrentSnapshot()}
+     * @param latitude  User latitude
+     * @param longitude User longitude
+     * @param radiusKm  Search radius in kilometers
+     */
+    List<ParkingMatch> getParkingsNearby(ParkingSnapshot snapshot, double latitude, double longitude, double radiusKm);
+
+    /**
+     * Get the parkings closest to a specific location, closest first
+     *
+     * @param latitude      User latitude
+     * @param longitude     User longitude
+     * @param count         Maximum number of parkings returned
+     * @param onlyAvailable Whether full parkings and parkings with unknown status are skipped
+     */
+    List<Parking> getNearestParkings(double latitude, double longitude, int count, boolean onlyAvailable);
+
+    /**
+     * Get parkings located within a latitude/longitude box, in the order of {@link #getAllParkings()}.
+     * A box whose minimum longitude is greater than its maximum longitude crosses the antimeridian.
+     *
+     * @param minLatitude  Southern bound
+     * @param minLongitude Western bound
+     * @param maxLatitude  Northern bound
+     * @param maxLongitude Eastern bound
+     */
+    List<Parking> getParkingsWithin(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude);
+}
@@ -0,0 +1,18 @@
+package com.github.hugodorne.parkingapi.domain.port.in;
+
+import com.github.hugodorne.parkingapi.domain.model.ParkingSnapshot;
+
+/**
+ * Input port for refreshing the in-memory parking snapshot
+ */
+public interface RefreshParkingsUseCase {
+
+    /**
+     * Fetch parkings from the data source and publish them as a new snapshot.
+     * The current snapshot is kept when the fetch fails, returns no data or returns unchanged parkings.
+     * Snapshot listeners are notified of each snapshot published.
+     *
+     * @return the snapshot served after the refresh
+     */
+    ParkingSnapshot refreshParkings();
+}
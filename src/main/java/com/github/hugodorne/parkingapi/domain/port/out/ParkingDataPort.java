@@ -2,16 +2,48 @@ package com.github.hugodorne.parkingapi.domain.port.out;
 
 import com.github.hugodorne.parkingapi.domain.model.Parking;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Output port for retrieving parking data from external sources
  */
 public interface ParkingDataPort {
 
+    /**
+     * Name of the data source, used in configuration and logs
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+
     /**
      * Fetch all parkings from the data source
      */
     List<Parking> fetchParkings();
+
+    /**
+     * Fetch all parkings from the data source without blocking the caller.
+     * Completes in the calling thread unless the adapter has a non-blocking client.
+     */
+    default CompletableFuture<List<Parking>> fetchParkingsAsync() {
+        try {
+            return CompletableFuture.completedFuture(fetchParkings());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Time at which the parkings returned by the last fetch were retrieved from the source.
+     * Earlier than the fetch itself when the source was unavailable and last known parkings were served.
+     *
+     * @return the fetch time, or empty when the data source does not track it
+     */
+    default Optional<Instant> getLastSuccessfulFetchTime() {
+        return Optional.empty();
+    }
 }
 
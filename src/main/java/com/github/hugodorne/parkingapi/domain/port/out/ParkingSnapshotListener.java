@@ -0,0 +1,19 @@
+package com.github.hugodorne.parkingapi.domain.port.out;
+
+import com.github.hugodorne.parkingapi.domain.model.ParkingChanges;
+import com.github.hugodorne.parkingapi.domain.model.ParkingSnapshot;
+
+/**
+ * Output port notified of each parking snapshot published, e.g. to push changes to connected clients
+ */
+public interface ParkingSnapshotListener {
+
+    /**
+     * Called by the refreshing thread once the snapshot is served, implementations must not block
+     *
+     * @param previous  Snapshot served until now
+     * @param published Snapshot served from now on
+     * @param changes   Changes from the previous snapshot to the published one, computed once for all listeners
+     */
+    void onSnapshotPublished(ParkingSnapshot previous, ParkingSnapshot published, ParkingChanges changes);
+}
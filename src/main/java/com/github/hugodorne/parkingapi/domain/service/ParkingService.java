@@ -1,47 +1,236 @@
 package com.github.hugodorne.parkingapi.domain.service;
 
+import com.github.hugodorne.parkingapi.domain.model.NearbyQuery;
 import com.github.hugodorne.parkingapi.domain.model.Parking;
+import com.github.hugodorne.parkingapi.domain.model.ParkingChanges;
+import com.github.hugodorne.parkingapi.domain.model.ParkingMatch;
+import com.github.hugodorne.parkingapi.domain.model.ParkingSnapshot;
+import com.github.hugodorne.parkingapi.domain.model.ParkingStatus;
+import com.github.hugodorne.parkingapi.domain.model.ParkingTable;
 import com.github.hugodorne.parkingapi.domain.port.in.GetParkingsUseCase;
+import com.github.hugodorne.parkingapi.domain.port.in.RefreshParkingsUseCase;
 import com.github.hugodorne.parkingapi.domain.port.out.ParkingDataPort;
-import lombok.RequiredArgsConstructor;
+import com.github.hugodorne.parkingapi.domain.port.out.ParkingSnapshotListener;
+import com.github.hugodorne.parkingapi.domain.spatial.DistanceKernel;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
 
 /**
- * Domain service implementing the business logic for parking operations
+ * Domain service implementing the business logic for parking operations.
+ * Queries are answered from the last published snapshot, never from the data source directly.
  */
 @Service
-@RequiredArgsConstructor
-public class ParkingService implements GetParkingsUseCase {
+@Slf4j
+public class ParkingService implements GetParkingsUseCase, RefreshParkingsUseCase {
+
+    private static final double DISTANCE_ROUNDING_MARGIN_KM = 0.005;
+    private static final int CANDIDATE_BATCH_SIZE = 256;
 
     private final ParkingDataPort parkingDataPort;
+    private final DistanceKernel distanceKernel;
+    private final List<ParkingSnapshotListener> snapshotListeners;
+    private final long firstVersion;
+    private final AtomicReference<ParkingSnapshot> currentSnapshot = new AtomicReference<>(ParkingSnapshot.EMPTY);
+
+    /**
+     * The first snapshot published is versioned with the boot time in epoch milliseconds, then versions are
+     * incremented on each publication. Versions are thus never reused after a restart: a client holding a
+     * version of a previous process is never taken for up to date.
+     */
+    @Autowired
+    public ParkingService(ParkingDataPort parkingDataPort, DistanceKernel distanceKernel,
+                          List<ParkingSnapshotListener> snapshotListeners) {
+        this(parkingDataPort, distanceKernel, snapshotListeners, System.currentTimeMillis());
+    }
+
+    /**
+     * @param firstVersion Version of the first snapshot published, greater than 0
+     */
+    public ParkingService(ParkingDataPort parkingDataPort, DistanceKernel distanceKernel,
+                          List<ParkingSnapshotListener> snapshotListeners, long firstVersion) {
+        this.parkingDataPort = parkingDataPort;
+        this.distanceKernel = distanceKernel;
+        this.snapshotListeners = snapshotListeners;
+        this.firstVersion = firstVersion;
+    }
 
     @Override
     public List<Parking> getAllParkings() {
-        return parkingDataPort.fetchParkings();
+        return currentSnapshot.get().getParkings();
+    }
+
+    @Override
+    public ParkingSnapshot getCurrentSnapshot() {
+        return currentSnapshot.get();
+    }
+
+    @Override
+    public List<ParkingMatch> getParkingsNearby(double latitude, double longitude, double radiusKm) {
+        return findParkingsNearby(currentSnapshot.get(), latitude, longitude, radiusKm);
+    }
+
+    @Override
+    public List<List<ParkingMatch>> getParkingsNearby(List<NearbyQuery> queries) {
+        // A single snapshot read, so all results are consistent even if a refresh happens meanwhile
+        ParkingSnapshot snapshot = currentSnapshot.get();
+        List<List<ParkingMatch>> results = new ArrayList<>(queries.size());
+        for (NearbyQuery query : queries) {
+            results.add(findParkingsNearby(snapshot, query.getLatitude(), query.getLongitude(), query.getRadiusKm()));
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    @Override
+    public List<ParkingMatch> getParkingsNearby(ParkingSnapshot snapshot, double latitude, double longitude,
+                                                double radiusKm) {
+        return findParkingsNearby(snapshot, latitude, longitude, radiusKm);
+    }
+
+    @Override
+    public List<Parking> getNearestParkings(double latitude, double longitude, int count, boolean onlyAvailable) {
+        if (count <= 0) {
+            return List.of();
+        }
+        ParkingTable table = currentSnapshot.get().getTable();
+
+        // Max-heap on distance holding the closest parkings seen so far, its head is the farthest kept
+        PriorityQueue<NearestCandidate> closest = new PriorityQueue<>(count + 1,
+                Comparator.comparingDouble(NearestCandidate::getDistanceKm).reversed());
+        for (int row = 0; row < table.size(); row++) {
+            if (!table.hasCoordinates(row) || (onlyAvailable && !isAvailable(table.getStatus(row)))) {
+                continue;
+            }
+            double distance = calculateDistance(
+                    latitude, longitude,
+                    table.getLatitude(row), table.getLongitude(row)
+            );
+            if (closest.size() < count) {
+                closest.add(new NearestCandidate(row, distance));
+            } else if (distance < closest.peek().getDistanceKm()) {
+                closest.poll();
+                closest.add(new NearestCandidate(row, distance));
+            }
+        }
+
+        // Only the kept parkings are sorted and materialized with their distance
+        NearestCandidate[] candidates = closest.toArray(new NearestCandidate[0]);
+        Arrays.sort(candidates, Comparator.comparingDouble(NearestCandidate::getDistanceKm));
+        List<Parking> nearestParkings = new ArrayList<>(candidates.length);
+        for (NearestCandidate candidate : candidates) {
+            double roundedDistance = Math.round(candidate.getDistanceKm() * 100.0) / 100.0;  // Round to 2 decimal places
+            nearestParkings.add(table.toParking(candidate.getRow(), roundedDistance));
+        }
+        return Collections.unmodifiableList(nearestParkings);
+    }
+
+    @Override
+    public List<Parking> getParkingsWithin(double minLatitude, double minLongitude,
+                                           double maxLatitude, double maxLongitude) {
+        ParkingSnapshot snapshot = currentSnapshot.get();
+        ParkingTable table = snapshot.getTable();
+        boolean crossesAntimeridian = minLongitude > maxLongitude;
+
+        // Plain coordinate comparisons, rows are collected in snapshot order
+        BitSet matches = new BitSet(table.size());
+        snapshot.getSpatialIndex().forEachCandidateInBox(minLatitude, minLongitude, maxLatitude, maxLongitude, row -> {
+            double latitude = table.getLatitude(row);
+            double longitude = table.getLongitude(row);
+            boolean inLongitudes = crossesAntimeridian
+                    ? longitude >= minLongitude || longitude <= maxLongitude
+                    : longitude >= minLongitude && longitude <= maxLongitude;
+            if (latitude >= minLatitude && latitude <= maxLatitude && inLongitudes) {
+                matches.set(row);
+            }
+        });
+
+        List<Parking> parkingsWithin = new ArrayList<>(matches.cardinality());
+        for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+            parkingsWithin.add(table.toParking(row));
+        }
+        return Collections.unmodifiableList(parkingsWithin);
     }
 
     @Override
-    public List<Parking> getParkingsNearby(double latitude, double longitude, double radiusKm) {
-        List<Parking> allParkings = parkingDataPort.fetchParkings();
-
-        return allParkings.stream()
-                .filter(parking -> parking.getLatitude() != null && parking.getLongitude() != null)
-                .map(parking -> {
-                    double distance = calculateDistance(
-                            latitude, longitude,
-                            parking.getLatitude(), parking.getLongitude()
-                    );
-                    // Add distance to parking using toBuilder
-                    return parking.toBuilder()
-                            .distanceKm(Math.round(distance * 100.0) / 100.0)  // Round to 2 decimal places
-                            .build();
-                })
-                .filter(parking -> parking.getDistanceKm() <= radiusKm)
-                .sorted(Comparator.comparingDouble(Parking::getDistanceKm))
-                .toList();
+    public synchronized ParkingSnapshot refreshParkings() {
+        ParkingSnapshot current = currentSnapshot.get();
+
+        List<Parking> parkings;
+        try {
+            parkings = parkingDataPort.fetchParkings();
+        } catch (RuntimeException e) {
+            log.error("Error refreshing parkings, still serving snapshot v{}", current.getVersion(), e);
+            return current;
+        }
+
+        // Keep serving the last good snapshot rather than replacing it with nothing
+        if (parkings == null || parkings.isEmpty()) {
+            log.warn("No parkings received, still serving snapshot v{}", current.getVersion());
+            return current;
+        }
+
+        // Last known parkings served by a failing data source are already published
+        Optional<Instant> fetchedAt = parkingDataPort.getLastSuccessfulFetchTime();
+        if (fetchedAt.isPresent() && !fetchedAt.get().isAfter(current.getRefreshedAt())) {
+            log.warn("Data source served parkings fetched at {}, still serving snapshot v{}",
+                    fetchedAt.get(), current.getVersion());
+            return current;
+        }
+
+        // Unchanged parkings keep their version, so clients and caches of that version stay valid
+        ParkingTable table = ParkingTable.of(parkings);
+        if (table.equals(current.getTable())) {
+            log.debug("Parkings unchanged, still serving snapshot v{}", current.getVersion());
+            return current;
+        }
+
+        Instant refreshedAt = fetchedAt.orElseGet(Instant::now);
+        ParkingSnapshot next = current == ParkingSnapshot.EMPTY
+                ? new ParkingSnapshot(firstVersion, refreshedAt, table)
+                : current.next(table, refreshedAt);
+        currentSnapshot.set(next);
+        log.info("Published parking snapshot v{} with {} parkings", next.getVersion(), next.size());
+        notifyListeners(current, next);
+        return next;
+    }
+
+    private void notifyListeners(ParkingSnapshot previous, ParkingSnapshot published) {
+        if (snapshotListeners.isEmpty()) {
+            return;
+        }
+
+        ParkingChanges changes = ParkingChanges.between(previous, published);
+        for (ParkingSnapshotListener listener : snapshotListeners) {
+            try {
+                listener.onSnapshotPublished(previous, published, changes);
+            } catch (RuntimeException e) {
+                log.error("Error notifying {} of snapshot v{}", listener.getClass().getSimpleName(), published.getVersion(), e);
+            }
+        }
+    }
+
+    private List<ParkingMatch> findParkingsNearby(ParkingSnapshot snapshot, double latitude, double longitude, double radiusKm) {
+        NearbyCollector collector = new NearbyCollector(snapshot.getTable(), latitude, longitude, radiusKm);
+        // Distances are rounded, so parkings slightly farther than the radius can still match
+        snapshot.getSpatialIndex().forEachCandidate(latitude, longitude, collector.searchRadiusKm, collector);
+        return collector.finish();
+    }
+
+    private static boolean isAvailable(ParkingStatus status) {
+        return status != ParkingStatus.FULL && status != ParkingStatus.UNKNOWN;
     }
 
     /**
@@ -63,5 +252,70 @@ public class ParkingService implements GetParkingsUseCase {
 
         return EARTH_RADIUS_KM * c;
     }
-}
 
+    /**
+     * Collects the parkings within a radius of a position. Index candidates are passed to the distance kernel
+     * by fixed-size batches, so nothing is allocated per candidate, only per match.
+     */
+    private final class NearbyCollector implements IntConsumer {
+        private final ParkingTable table;
+        private final double latitude;
+        private final double longitude;
+        private final double radiusKm;
+        private final double searchRadiusKm;
+        private final double maxHaversine;
+        private final int[] batch = new int[CANDIDATE_BATCH_SIZE];
+        private int batchSize;
+        private final List<ParkingMatch> matches = new ArrayList<>();
+
+        private NearbyCollector(ParkingTable table, double latitude, double longitude, double radiusKm) {
+            this.table = table;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.radiusKm = radiusKm;
+            this.searchRadiusKm = radiusKm + DISTANCE_ROUNDING_MARGIN_KM;
+            this.maxHaversine = DistanceKernel.maxHaversine(searchRadiusKm);
+        }
+
+        @Override
+        public void accept(int row) {
+            batch[batchSize++] = row;
+            if (batchSize == batch.length) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            // Cheap bulk pre-filter, the exact distance is only computed for the rows kept
+            int kept = distanceKernel.retainWithin(latitude, longitude, maxHaversine,
+                    table.latitudeColumn(), table.longitudeColumn(), batch, batchSize);
+            for (int i = 0; i < kept; i++) {
+                int row = batch[i];
+                double distance = calculateDistance(
+                        latitude, longitude,
+                        table.getLatitude(row), table.getLongitude(row)
+                );
+                double roundedDistance = Math.round(distance * 100.0) / 100.0;  // Round to 2 decimal places
+                if (roundedDistance <= radiusKm) {
+                    matches.add(new ParkingMatch(table, row, roundedDistance));
+                }
+            }
+            batchSize = 0;
+        }
+
+        private List<ParkingMatch> finish() {
+            flush();
+            matches.sort(Comparator.comparingDouble(ParkingMatch::getDistanceKm));
+            return Collections.unmodifiableList(matches);
+        }
+    }
+
+    /**
+     * Parking kept by the nearest search, identified by its row in the snapshot
+     */
+    @Value
+    private static class NearestCandidate {
+        int row;
+        double distanceKm;
+    }
+}
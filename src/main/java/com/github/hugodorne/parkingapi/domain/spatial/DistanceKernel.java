@@ -0,0 +1,39 @@
+package com.github.hugodorne.parkingapi.domain.spatial;
+
+/**
+ * Bulk pre-filter of candidate points by great-circle distance.
+ * <p>
+ * Implementations compare the haversine term {@code a = sin²(Δφ/2) + cos φ1 · cos φ2 · sin²(Δλ/2)} to a
+ * threshold instead of the distance itself: the distance grows monotonically with {@code a}, which is
+ * cheaper to compute (no square root nor arc tangent). Callers compute the exact distance of the points kept.
+ */
+public interface DistanceKernel {
+
+    double EARTH_RADIUS_KM = 6371;
+
+    /**
+     * Keep the candidate rows whose haversine term from a position is at most a threshold.
+     * Kept rows are moved to the start of {@code rows}, in their original order.
+     *
+     * @param latitude     Position latitude
+     * @param longitude    Position longitude
+     * @param maxHaversine Threshold on the haversine term, see {@link #maxHaversine(double)}
+     * @param latitudes    Latitude of every row
+     * @param longitudes   Longitude of every row
+     * @param rows         Candidate rows, overwritten with the kept rows
+     * @param count        Number of candidate rows
+     * @return number of kept rows
+     */
+    int retainWithin(double latitude, double longitude, double maxHaversine,
+                     double[] latitudes, double[] longitudes, int[] rows, int count);
+
+    /**
+     * Haversine term threshold matching a distance, slightly widened so that rounding differences
+     * between implementations never drop a point within the distance
+     */
+    static double maxHaversine(double distanceKm) {
+        double halfAngle = Math.min(Math.PI / 2, distanceKm / EARTH_RADIUS_KM / 2);
+        double sin = Math.sin(halfAngle);
+        return sin * sin * (1 + 1e-9);
+    }
+}
@@ -0,0 +1,212 @@
+package com.github.hugodorne.parkingapi.domain.spatial;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Mutable spatial index of circular areas, answering which areas contain a point.
+ * <p>
+ * Each area is registered in the cells of a uniform latitude/longitude grid intersecting its bounding box,
+ * so a point lookup only checks the areas registered in the cell of the point, not every area. Areas
+ * covering too many cells are kept aside and checked on every lookup instead.
+ * <p>
+ * Areas can be added and removed concurrently with lookups, which see every area added before they started
+ * and not removed since.
+ *
+ * @param <K> Key identifying an area, e.g. a subscriber
+ */
+public class GeoAreaIndex<K> {
+
+    /**
+     * Default cell size, about 5.5 km of latitude
+     */
+    public static final double DEFAULT_CELL_SIZE_DEGREES = 0.05;
+
+    /**
+     * Areas intersecting more cells are checked on every lookup
+     */
+    static final int MAX_CELLS_PER_AREA = 64;
+
+    private final double cellSizeDegrees;
+    private final int rowCount;
+    private final int columnCount;
+    private final Map<K, Area<K>> areas = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Area<K>>> cells = new ConcurrentHashMap<>();
+    private final Set<Area<K>> wideAreas = ConcurrentHashMap.newKeySet();
+
+    public GeoAreaIndex() {
+        this(DEFAULT_CELL_SIZE_DEGREES);
+    }
+
+    public GeoAreaIndex(double cellSizeDegrees) {
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.rowCount = (int) Math.ceil(180 / cellSizeDegrees);
+        this.columnCount = (int) Math.ceil(360 / cellSizeDegrees);
+    }
+
+    /**
+     * Register the area of a key, replacing its previous area
+     *
+     * @param key       Key of the area
+     * @param latitude  Center latitude
+     * @param longitude Center longitude
+     * @param radiusKm  Radius in kilometers
+     */
+    public void put(K key, double latitude, double longitude, double radiusKm) {
+        Area<K> area = new Area<>(key, latitude, longitude, radiusKm, coveredCells(latitude, longitude, radiusKm));
+        Area<K> previous = areas.put(key, area);
+        if (previous != null) {
+            unregister(previous);
+        }
+        if (area.cells == null) {
+            wideAreas.add(area);
+            return;
+        }
+        for (long cell : area.cells) {
+            cells.compute(cell, (cellKey, cellAreas) -> {
+                Set<Area<K>> updated = cellAreas != null ? cellAreas : ConcurrentHashMap.newKeySet();
+                updated.add(area);
+                return updated;
+            });
+        }
+    }
+
+    /**
+     * Unregister the area of a key
+     *
+     * @return whether the key had an area
+     */
+    public boolean remove(K key) {
+        Area<K> area = areas.remove(key);
+        if (area == null) {
+            return false;
+        }
+        unregister(area);
+        return true;
+    }
+
+    /**
+     * Number of areas registered
+     */
+    public int size() {
+        return areas.size();
+    }
+
+    /**
+     * Visit the key of every area containing a point
+     *
+     * @param latitude  Point latitude
+     * @param longitude Point longitude
+     * @param action    Called once with the key of each area containing the point
+     */
+    public void forEachAreaContaining(double latitude, double longitude, Consumer<? super K> action) {
+        Set<Area<K>> cellAreas = cells.get(cellKey(row(latitude), column(longitude)));
+        if (cellAreas != null) {
+            for (Area<K> area : cellAreas) {
+                visitIfContains(area, latitude, longitude, action);
+            }
+        }
+        for (Area<K> area : wideAreas) {
+            visitIfContains(area, latitude, longitude, action);
+        }
+    }
+
+    private void visitIfContains(Area<K> area, double latitude, double longitude, Consumer<? super K> action) {
+        // Skip areas replaced or removed during the lookup
+        if (areas.get(area.key) == area && area.contains(latitude, longitude)) {
+            action.accept(area.key);
+        }
+    }
+
+    private void unregister(Area<K> area) {
+        if (area.cells == null) {
+            wideAreas.remove(area);
+            return;
+        }
+        for (long cell : area.cells) {
+            cells.computeIfPresent(cell, (cellKey, cellAreas) -> {
+                cellAreas.remove(area);
+                return cellAreas.isEmpty() ? null : cellAreas;
+            });
+        }
+    }
+
+    /**
+     * Keys of the cells intersecting the bounding box of a circle, null when there are too many of them
+     */
+    private long[] coveredCells(double latitude, double longitude, double radiusKm) {
+        double angularRadius = radiusKm / DistanceKernel.EARTH_RADIUS_KM;
+        double latRad = Math.toRadians(latitude);
+        double minLat = Math.toDegrees(latRad - angularRadius);
+        double maxLat = Math.toDegrees(latRad + angularRadius);
+        if (minLat <= -90 || maxLat >= 90) {
+            return null;
+        }
+        double lonSpan = Math.toDegrees(Math.asin(Math.min(1, Math.sin(angularRadius) / Math.cos(latRad))));
+        if (lonSpan >= 180) {
+            return null;
+        }
+
+        int minRow = row(minLat);
+        int maxRow = row(maxLat);
+        int minColumn = column(longitude - lonSpan);
+        int maxColumn = column(longitude + lonSpan);
+        // The box crosses the antimeridian when its western column is east of its eastern one
+        int columns = (maxColumn - minColumn + columnCount) % columnCount + 1;
+        long cellCount = (long) (maxRow - minRow + 1) * columns;
+        if (cellCount > MAX_CELLS_PER_AREA) {
+            return null;
+        }
+
+        long[] keys = new long[(int) cellCount];
+        int i = 0;
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int c = 0; c < columns; c++) {
+                keys[i++] = cellKey(row, (minColumn + c) % columnCount);
+            }
+        }
+        return keys;
+    }
+
+    private int row(double latitude) {
+        return Math.min(rowCount - 1, Math.max(0, (int) Math.floor((latitude + 90) / cellSizeDegrees)));
+    }
+
+    private int column(double longitude) {
+        double normalized = ((longitude + 180) % 360 + 360) % 360;
+        return Math.min(columnCount - 1, (int) Math.floor(normalized / cellSizeDegrees));
+    }
+
+    private long cellKey(int row, int column) {
+        return (long) row * columnCount + column;
+    }
+
+    /**
+     * Registered circle, compared by identity so that a replaced area is never mistaken for its replacement
+     */
+    private static final class Area<K> {
+        private final K key;
+        private final double latitude;
+        private final double longitude;
+        private final double maxHaversine;
+        private final long[] cells;  // null for wide areas
+
+        private Area(K key, double latitude, double longitude, double radiusKm, long[] cells) {
+            this.key = key;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.maxHaversine = DistanceKernel.maxHaversine(radiusKm);
+            this.cells = cells;
+        }
+
+        private boolean contains(double pointLatitude, double pointLongitude) {
+            double sinDLat = Math.sin(Math.toRadians(pointLatitude - latitude) / 2);
+            double sinDLon = Math.sin(Math.toRadians(pointLongitude - longitude) / 2);
+            double haversine = sinDLat * sinDLat
+                    + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(pointLatitude)) * sinDLon * sinDLon;
+            return haversine <= maxHaversine;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.github.hugodorne.parkingapi.domain.spatial;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable spatial index bucketing points into a uniform latitude/longitude grid.
+ * <p>
+ * Points are identified by their position in the arrays the index was built from. Cells are stored
+ * sorted by (row, column), so the cells of a grid row intersecting a query are one contiguous range
+ * found by binary search. A radius query therefore only touches the cells that intersect the bounding
+ * box of the searched circle, not every point.
+ */
+public class GeoGridIndex {
+
+    /**
+     * Default cell size, about 1.1 km of latitude
+     */
+    public static final double DEFAULT_CELL_SIZE_DEGREES = 0.01;
+
+    private static final double EARTH_RADIUS_KM = 6371;
+
+    private final double cellSizeDegrees;
+    private final int rowCount;
+    private final int columnCount;
+    private final long[] cellKeys;    // Sorted keys of non-empty cells
+    private final int[] cellStarts;   // Start of each cell in points, with a trailing end marker
+    private final int[] points;       // Point positions grouped by cell
+
+    /**
+     * Build the index of the given coordinates, points with a NaN coordinate are not indexed
+     */
+    public GeoGridIndex(double[] latitudes, double[] longitudes) {
+        this(latitudes, longitudes, DEFAULT_CELL_SIZE_DEGREES);
+    }
+
+    public GeoGridIndex(double[] latitudes, double[] longitudes, double cellSizeDegrees) {
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Latitudes and longitudes must have the same length");
+        }
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.rowCount = (int) Math.ceil(180 / cellSizeDegrees);
+        this.columnCount = (int) Math.ceil(360 / cellSizeDegrees);
+        // Cell keys are packed with point positions in a long
+        if ((long) rowCount * columnCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Cell size too small: " + cellSizeDegrees);
+        }
+
+        // Sort (cell key, point) pairs packed in a long, then group them by cell
+        int indexed = 0;
+        long[] entries = new long[latitudes.length];
+        for (int i = 0; i < latitudes.length; i++) {
+            if (Double.isNaN(latitudes[i]) || Double.isNaN(longitudes[i])) {
+                continue;
+            }
+            entries[indexed++] = cellKey(row(latitudes[i]), column(longitudes[i])) << 32 | i;
+        }
+        Arrays.sort(entries, 0, indexed);
+
+        long[] distinctKeys = new long[indexed];
+        int[] starts = new int[indexed + 1];
+        this.points = new int[indexed];
+        int cellCount = 0;
+        for (int i = 0; i < indexed; i++) {
+            long key = entries[i] >>> 32;
+            if (cellCount == 0 || distinctKeys[cellCount - 1] != key) {
+                distinctKeys[cellCount] = key;
+                starts[cellCount] = i;
+                cellCount++;
+            }
+            points[i] = (int) entries[i];
+        }
+        starts[cellCount] = indexed;
+
+        this.cellKeys = Arrays.copyOf(distinctKeys, cellCount);
+        this.cellStarts = Arrays.copyOf(starts, cellCount + 1);
+    }
+
+    /**
+     * Number of indexed points
+     */
+    public int size() {
+        return points.length;
+    }
+
+    /**
+     * Visit every point that may lie within the given distance of a position.
+     * All points within the distance are visited, callers filter out the few that are farther away.
+     *
+     * @param latitude  Center latitude
+     * @param longitude Center longitude
+     * @param radiusKm  Search radius in kilometers
+     * @param action    Called with the position of each candidate point
+     */
+    public void forEachCandidate(double latitude, double longitude, double radiusKm, IntConsumer action) {
+        if (points.length == 0) {
+            return;
+        }
+
+        // Bounding box of the spherical cap around the center
+        double angularRadius = radiusKm / EARTH_RADIUS_KM;
+        double latRad = Math.toRadians(latitude);
+        double minLat = Math.toDegrees(latRad - angularRadius);
+        double maxLat = Math.toDegrees(latRad + angularRadius);
+
+        boolean allLongitudes = minLat <= -90 || maxLat >= 90;
+        double lonSpan = allLongitudes ? 180 : Math.toDegrees(Math.asin(Math.min(1, Math.sin(angularRadius) / Math.cos(latRad))));
+        if (lonSpan >= 180) {
+            allLongitudes = true;
+        }
+
+        int minRow = row(Math.max(-90, minLat));
+        int maxRow = row(Math.min(90, maxLat));
+        int minColumn = allLongitudes ? 0 : column(longitude - lonSpan);
+        int maxColumn = allLongitudes ? columnCount - 1 : column(longitude + lonSpan);
+        forEachPointInCells(minRow, maxRow, minColumn, maxColumn, action);
+    }
+
+    /**
+     * Visit every point that may lie within a latitude/longitude box.
+     * All points within the box are visited, callers filter out the few outside of it.
+     * A box whose minimum longitude is greater than its maximum longitude crosses the antimeridian.
+     *
+     * @param minLatitude  Southern bound
+     * @param minLongitude Western bound
+     * @param maxLatitude  Northern bound
+     * @param maxLongitude Eastern bound
+     * @param action       Called with the position of each candidate point
+     */
+    public void forEachCandidateInBox(double minLatitude, double minLongitude,
+                                      double maxLatitude, double maxLongitude, IntConsumer action) {
+        if (points.length == 0 || minLatitude > maxLatitude) {
+            return;
+        }
+        boolean allLongitudes = maxLongitude - minLongitude >= 360;
+        forEachPointInCells(row(minLatitude), row(maxLatitude),
+                allLongitudes ? 0 : column(minLongitude),
+                allLongitudes ? columnCount - 1 : column(maxLongitude),
+                action);
+    }
+
+    private void forEachPointInCells(int minRow, int maxRow, int minColumn, int maxColumn, IntConsumer action) {
+        // A wide query touches more cells than are occupied, scanning them all is cheaper
+        if ((maxRow - minRow + 1) * 2L >= cellKeys.length) {
+            forEachPointInBox(minRow, maxRow, minColumn, maxColumn, action);
+            return;
+        }
+
+        for (int row = minRow; row <= maxRow; row++) {
+            if (minColumn <= maxColumn) {
+                forEachPointInRow(row, minColumn, maxColumn, action);
+            } else {
+                // The box crosses the antimeridian
+                forEachPointInRow(row, minColumn, columnCount - 1, action);
+                forEachPointInRow(row, 0, maxColumn, action);
+            }
+        }
+    }
+
+    private void forEachPointInRow(int row, int minColumn, int maxColumn, IntConsumer action) {
+        long maxKey = cellKey(row, maxColumn);
+        int cell = Arrays.binarySearch(cellKeys, cellKey(row, minColumn));
+        if (cell < 0) {
+            cell = -cell - 1;
+        }
+        for (; cell < cellKeys.length && cellKeys[cell] <= maxKey; cell++) {
+            visitCell(cell, action);
+        }
+    }
+
+    private void forEachPointInBox(int minRow, int maxRow, int minColumn, int maxColumn, IntConsumer action) {
+        for (int cell = 0; cell < cellKeys.length; cell++) {
+            int row = (int) (cellKeys[cell] / columnCount);
+            int column = (int) (cellKeys[cell] % columnCount);
+            boolean inColumns = minColumn <= maxColumn
+                    ? column >= minColumn && column <= maxColumn
+                    : column >= minColumn || column <= maxColumn;
+            if (row >= minRow && row <= maxRow && inColumns) {
+                visitCell(cell, action);
+            }
+        }
+    }
+
+    private void visitCell(int cell, IntConsumer action) {
+        for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+            action.accept(points[i]);
+        }
+    }
+
+    private int row(double latitude) {
+        return Math.min(rowCount - 1, Math.max(0, (int) Math.floor((latitude + 90) / cellSizeDegrees)));
+    }
+
+    private int column(double longitude) {
+        double normalized = ((longitude + 180) % 360 + 360) % 360;
+        return Math.min(columnCount - 1, (int) Math.floor(normalized / cellSizeDegrees));
+    }
+
+    private long cellKey(int row, int column) {
+        return (long) row * columnCount + column;
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.hugodorne.parkingapi.domain.spatial;
+
+/**
+ * Distance kernel evaluating one candidate at a time with {@link Math} functions
+ */
+public class ScalarDistanceKernel implements DistanceKernel {
+
+    @Override
+    public int retainWithin(double latitude, double longitude, double maxHaversine,
+                            double[] latitudes, double[] longitudes, int[] rows, int count) {
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            if (haversine(latitude, cosLatitude, longitude, latitudes[row], longitudes[row]) <= maxHaversine) {
+                rows[kept++] = row;
+            }
+        }
+        return kept;
+    }
+
+    static double haversine(double latitude, double cosLatitude, double longitude,
+                            double otherLatitude, double otherLongitude) {
+        double sinHalfDLat = Math.sin(Math.toRadians(otherLatitude - latitude) / 2);
+        double sinHalfDLon = Math.sin(Math.toRadians(otherLongitude - longitude) / 2);
+        return sinHalfDLat * sinHalfDLat
+                + cosLatitude * Math.cos(Math.toRadians(otherLatitude)) * sinHalfDLon * sinHalfDLon;
+    }
+}
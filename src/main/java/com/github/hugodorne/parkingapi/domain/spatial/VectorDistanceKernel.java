@@ -0,0 +1,55 @@
+package com.github.hugodorne.parkingapi.domain.spatial;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Distance kernel evaluating candidates in SIMD batches with the incubating Vector API.
+ * <p>
+ * Requires the JVM to run with {@code --add-modules jdk.incubator.vector}, see {@link VectorSupport#isAvailable()}:
+ * without the module, this class fails to initialize.
+ * Coordinates are gathered by row, so candidates do not need to be contiguous.
+ */
+public class VectorDistanceKernel implements DistanceKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public int retainWithin(double latitude, double longitude, double maxHaversine,
+                            double[] latitudes, double[] longitudes, int[] rows, int count) {
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        double degreesToRadians = Math.toRadians(1);
+        int lanes = SPECIES.length();
+        int kept = 0;
+        int i = 0;
+        for (; i <= count - lanes; i += lanes) {
+            DoubleVector lat = DoubleVector.fromArray(SPECIES, latitudes, 0, rows, i);
+            DoubleVector lon = DoubleVector.fromArray(SPECIES, longitudes, 0, rows, i);
+
+            DoubleVector sinHalfDLat = lat.sub(latitude).mul(degreesToRadians / 2).lanewise(VectorOperators.SIN);
+            DoubleVector sinHalfDLon = lon.sub(longitude).mul(degreesToRadians / 2).lanewise(VectorOperators.SIN);
+            DoubleVector cosLat = lat.mul(degreesToRadians).lanewise(VectorOperators.COS);
+            DoubleVector haversine = sinHalfDLon.mul(sinHalfDLon).mul(cosLat).mul(cosLatitude)
+                    .add(sinHalfDLat.mul(sinHalfDLat));
+
+            // Compact kept rows in place, never ahead of the batch being read
+            VectorMask<Double> within = haversine.compare(VectorOperators.LE, maxHaversine);
+            for (long bits = within.toLong(); bits != 0; bits &= bits - 1) {
+                rows[kept++] = rows[i + Long.numberOfTrailingZeros(bits)];
+            }
+        }
+
+        // Remaining candidates, fewer than a vector
+        for (; i < count; i++) {
+            int row = rows[i];
+            double haversine = ScalarDistanceKernel.haversine(latitude, cosLatitude, longitude,
+                    latitudes[row], longitudes[row]);
+            if (haversine <= maxHaversine) {
+                rows[kept++] = row;
+            }
+        }
+        return kept;
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.hugodorne.parkingapi.domain.spatial;
+
+/**
+ * Availability of the incubating Vector API, checked without loading any of its classes.
+ * Kept apart from {@link VectorDistanceKernel}, whose initialization fails when the module is missing.
+ */
+public final class VectorSupport {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private VectorSupport() {
+    }
+
+    /**
+     * Whether the JVM was started with {@code --add-modules jdk.incubator.vector}
+     */
+    public static boolean isAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.common;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connected client sent the latest published state, never queued more than one send.
+ * <p>
+ * Signals received while a send is scheduled or in flight are coalesced: once the send completes, a single
+ * send covers all of them. Sends run on a small pool shared by all subscribers, see {@link #newSenderPool}.
+ * A send in flight for too long can be detected with {@link #isSendOverdue(long)}.
+ */
+@Slf4j
+public abstract class CoalescingSubscriber {
+
+    private static final long IDLE = Long.MIN_VALUE;
+
+    private final Executor sender;
+    private final AtomicInteger signals = new AtomicInteger();
+    private volatile int handled;  // Signals covered by the send in flight
+    private volatile long sendStartedAt = IDLE;  // System.nanoTime() of the send in flight
+    private volatile boolean closed;
+
+    protected CoalescingSubscriber(Executor sender) {
+        this.sender = sender;
+    }
+
+    /**
+     * Pool of daemon threads running the sends of many subscribers
+     *
+     * @param name    Prefix of the thread names
+     * @param threads Number of threads, at least 1
+     */
+    public static ThreadPoolExecutor newSenderPool(String name, int threads) {
+        AtomicInteger count = new AtomicInteger();
+        int size = Math.max(1, threads);
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedule sending the latest state, unless a send is already scheduled or in flight
+     */
+    public final void signal() {
+        if (closed || signals.getAndIncrement() > 0) {
+            return;
+        }
+        schedule();
+    }
+
+    /**
+     * Stop sending, called once the client is gone or its send failed
+     */
+    public final void close() {
+        closed = true;
+        onClose();
+    }
+
+    public final boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Whether a send has been in flight for longer than a timeout
+     */
+    public final boolean isSendOverdue(long timeoutNanos) {
+        long startedAt = sendStartedAt;
+        return startedAt != IDLE && System.nanoTime() - startedAt > timeoutNanos;
+    }
+
+    /**
+     * Send the latest state, or nothing when the client is up to date. Implementations call {@link #sent()} once
+     * done, possibly from another thread, or {@link #close()} when the send failed.
+     */
+    protected abstract void sendLatest();
+
+    /**
+     * Release the resources of the subscriber, e.g. unregister it
+     */
+    protected abstract void onClose();
+
+    /**
+     * Complete the send in flight, and send again if signaled meanwhile
+     */
+    protected final void sent() {
+        sendStartedAt = IDLE;
+        if (signals.addAndGet(-handled) > 0) {
+            schedule();
+        }
+    }
+
+    private void schedule() {
+        try {
+            sender.execute(this::send);
+        } catch (RejectedExecutionException e) {
+            close();
+        }
+    }
+
+    private void send() {
+        if (closed) {
+            return;
+        }
+        handled = signals.get();
+        sendStartedAt = System.nanoTime();
+        try {
+            sendLatest();
+        } catch (RuntimeException e) {
+            log.error("Error sending to subscriber {}", this, e);
+            close();
+        }
+    }
+}
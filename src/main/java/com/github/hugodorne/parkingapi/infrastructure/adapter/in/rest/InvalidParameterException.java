@@ -0,0 +1,18 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a request parameter is invalid with regard to other parameters,
+ * which bean validation constraints on single parameters cannot express
+ */
+@Getter
+public class InvalidParameterException extends RuntimeException {
+
+    private final String parameterName;
+
+    public InvalidParameterException(String parameterName, String message) {
+        super(message);
+        this.parameterName = parameterName;
+    }
+}
@@ -0,0 +1,15 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for batch nearby searches
+ */
+@Component
+@ConfigurationProperties(prefix = "parking.api.nearby-batch")
+@Data
+public class NearbyBatchProperties {
+    private int maxSize = 500;  // Maximum number of queries in one batch
+}
@@ -0,0 +1,37 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
+
+import com.github.hugodorne.parkingapi.domain.model.NearbyQuery;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for one query of a batch nearby search
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyQueryRequest {
+
+    @NotNull
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double latitude;
+
+    @NotNull
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double longitude;
+
+    @NotNull
+    @Positive
+    private Double radius = 5.0;  // Search radius in kilometers (default: 5km)
+
+    public NearbyQuery toDomain() {
+        return new NearbyQuery(latitude, longitude, radius);
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
+
+import com.github.hugodorne.parkingapi.domain.model.ParkingChanges;
+import com.github.hugodorne.parkingapi.domain.model.ParkingSnapshot;
+import com.github.hugodorne.parkingapi.domain.port.out.ParkingSnapshotListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded history of the changes between the last published snapshots, fed by the refresh.
+ * <p>
+ * The changes of each publication are kept in a ring, the oldest being overwritten once it is full.
+ * Changes since a version are combined from the ring, without keeping any previous snapshot in memory.
+ * A version no longer in the ring, or unknown (e.g. from before a restart), gets a full resync:
+ * all the parkings of the current snapshot as added, from version 0.
+ * <p>
+ * Listeners are notified after the snapshot is served, so a client can know a version before this history
+ * records it. Versions only increase: a version newer than the last one recorded is taken as up to date.
+ * <p>
+ * Clients up to date can wait for the next publication: their futures are completed by the refresh,
+ * with changes computed once per version waited for.
+ */
+@Component
+public class ParkingChangeHistory implements ParkingSnapshotListener {
+
+    private final ParkingChanges[] ring;
+    private int next;   // Position of the next changes recorded
+    private int count;  // Number of changes recorded, at most the ring size
+    private ParkingSnapshot currentSnapshot = ParkingSnapshot.EMPTY;
+    private final Map<Long, Set<CompletableFuture<ParkingChanges>>> waiters = new HashMap<>();  // By version waited for
+    private volatile ParkingChanges fullResync;  // Full resync of the current snapshot, built on first request
+
+    public ParkingChangeHistory(ParkingChangeHistoryProperties properties) {
+        this.ring = new ParkingChanges[Math.max(1, properties.getHistorySize())];
+    }
+
+    @Override
+    public void onSnapshotPublished(ParkingSnapshot previous, ParkingSnapshot published, ParkingChanges changes) {
+        Map<Long, Set<CompletableFuture<ParkingChanges>>> notified;
+        synchronized (this) {
+            // Publications are consecutive, unless some of them were missed
+            if (count > 0 && ring[lastPosition()].getToVersion() != changes.getFromVersion()) {
+                count = 0;
+            }
+            ring[next] = changes;
+            next = (next + 1) % ring.length;
+            count = Math.min(count + 1, ring.length);
+            currentSnapshot = published;
+
+            // Clients already aware of the published version keep waiting for the next one
+            notified = new HashMap<>();
+            Iterator<Map.Entry<Long, Set<CompletableFuture<ParkingChanges>>>> entries = waiters.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<Long, Set<CompletableFuture<ParkingChanges>>> entry = entries.next();
+                if (entry.getKey() < published.getVersion()) {
+                    notified.put(entry.getKey(), entry.getValue());
+                    entries.remove();
+                }
+            }
+        }
+
+        notified.forEach((version, futures) -> {
+            ParkingChanges since = getChangesSince(version);
+            futures.forEach(future -> future.complete(since));
+        });
+    }
+
+    /**
+     * Wait for the changes from a version to a newer snapshot.
+     * The future is completed right away when the current snapshot is older than the given version, otherwise by
+     * the next publication newer than it. Cancelling it stops waiting.
+     *
+     * @param version Snapshot version the client is up to date with
+     */
+    public CompletableFuture<ParkingChanges> awaitChangesSince(long version) {
+        CompletableFuture<ParkingChanges> future = new CompletableFuture<>();
+        synchronized (this) {
+            if (version >= currentSnapshot.getVersion()) {
+                waiters.computeIfAbsent(version, key -> ConcurrentHashMap.newKeySet()).add(future);
+                future.whenComplete((changes, failure) -> removeWaiter(version, future));
+                return future;
+            }
+        }
+        future.complete(getChangesSince(version));
+        return future;
+    }
+
+    /**
+     * Number of clients waiting for the next publication
+     */
+    public synchronized int getWaiterCount() {
+        return waiters.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Get the changes from a version to the current snapshot
+     *
+     * @param version Snapshot version the client is up to date with
+     * @return changes from the given version, empty when it is not older than the last version recorded,
+     * or from version 0 when a full resync is needed
+     */
+    public ParkingChanges getChangesSince(long version) {
+        ParkingSnapshot current;
+        ParkingChanges[] recorded;
+        synchronized (this) {
+            current = currentSnapshot;
+            recorded = recordedSince(version);
+        }
+
+        if (version >= current.getVersion()) {
+            return new ParkingChanges(version, version, current.getRefreshedAt(), List.of(), List.of(), List.of());
+        }
+        if (recorded == null) {
+            return fullResync(current);
+        }
+        ParkingChanges changes = recorded[0];
+        for (int i = 1; i < recorded.length; i++) {
+            changes = changes.then(recorded[i]);
+        }
+        return changes;
+    }
+
+    private ParkingChanges fullResync(ParkingSnapshot current) {
+        ParkingChanges resync = fullResync;
+        if (resync == null || resync.getToVersion() != current.getVersion()) {
+            resync = ParkingChanges.between(ParkingSnapshot.EMPTY, current);
+            fullResync = resync;
+        }
+        return resync;
+    }
+
+    /**
+     * Changes recorded from a version, oldest first, null when the version is not in the ring
+     */
+    private ParkingChanges[] recordedSince(long version) {
+        for (int i = count; i > 0; i--) {
+            int position = Math.floorMod(next - i, ring.length);
+            if (ring[position].getFromVersion() == version) {
+                ParkingChanges[] recorded = new ParkingChanges[i];
+                for (int j = 0; j < i; j++) {
+                    recorded[j] = ring[(position + j) % ring.length];
+                }
+                return recorded;
+            }
+        }
+        return null;
+    }
+
+    private synchronized void removeWaiter(long version, CompletableFuture<ParkingChanges> future) {
+        Set<CompletableFuture<ParkingChanges>> futures = waiters.get(version);
+        if (futures != null && futures.remove(future) && futures.isEmpty()) {
+            waiters.remove(version);
+        }
+    }
+
+    private int lastPosition() {
+        return Math.floorMod(next - 1, ring.length);
+    }
+}
@@ -0,0 +1,15 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the history of changes served by the changes endpoint
+ */
+@Component
+@ConfigurationProperties(prefix = "parking.api.changes")
+@Data
+public class ParkingChangeHistoryProperties {
+    private int historySize = 60;  // Changes of the last published snapshots kept, older versions get a full resync
+}
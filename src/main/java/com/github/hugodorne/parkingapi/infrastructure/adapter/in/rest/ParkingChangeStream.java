@@ -0,0 +1,266 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.hugodorne.parkingapi.domain.model.ParkingChanges;
+import com.github.hugodorne.parkingapi.domain.model.ParkingSnapshot;
+import com.github.hugodorne.parkingapi.domain.port.out.ParkingSnapshotListener;
+import com.github.hugodorne.parkingapi.infrastructure.adapter.in.common.CoalescingSubscriber;
+import jakarta.annotation.PreDestroy;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Server-Sent Events stream of parking changes, fed by the snapshots published by the refresh.
+ * <p>
+ * Each subscriber first receives the full parking list of the current snapshot (event {@code snapshot}),
+ * then, on each snapshot published, the parkings added, updated and removed since the last snapshot
+ * it received (event {@code changes}). Event ids are snapshot versions. Idle subscribers are sent a
+ * comment every heartbeat interval, so that connections closed without notice are detected.
+ * <p>
+ * Idle subscribers hold no thread: their requests are asynchronous, and events are written by a small
+ * shared pool. A subscriber is never queued more than one write: while it is slow, publications are
+ * coalesced, and it is sent the changes between the last snapshot it received and the current one.
+ * Changes are serialized once per pair of snapshots, and shared by all subscribers up to date.
+ * <p>
+ * Writes are blocking: a subscriber whose write is still running after the send timeout is dropped, and
+ * a thread is added to the pool until the write returns, so that stalled clients do not delay the others.
+ * Its connection is completed once the write returns, at the latest when the container write times out.
+ */
+@Component
+@Slf4j
+public class ParkingChangeStream implements ParkingSnapshotListener {
+
+    static final String SNAPSHOT_EVENT = "snapshot";
+    static final String CHANGES_EVENT = "changes";
+    static final String HEARTBEAT_COMMENT = "heartbeat";
+
+    private static final int IDLE = 0;
+    private static final int SENDING = 1;
+    private static final int STALLED = 2;
+
+    private final ParkingListRenderer parkingListRenderer;
+    private final ObjectMapper objectMapper;
+    private final ParkingStreamProperties properties;
+    private final ThreadPoolExecutor sender;
+    private final ScheduledExecutorService watchdog;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<RenderedChanges> lastChanges = new AtomicReference<>();
+    private int stalledSends;  // Guarded by sender
+
+    private volatile ParkingSnapshot currentSnapshot = ParkingSnapshot.EMPTY;  // Last published
+
+    public ParkingChangeStream(ParkingListRenderer parkingListRenderer, ObjectMapper objectMapper,
+                               ParkingStreamProperties properties) {
+        this.parkingListRenderer = parkingListRenderer;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.sender = CoalescingSubscriber.newSenderPool("parking-stream", properties.getSenderThreads());
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "parking-stream-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getHeartbeatInterval().toMillis();
+        watchdog.scheduleAtFixedRate(this::checkSubscribers, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Subscribe to the stream
+     *
+     * @param lastEventId Last snapshot version received before reconnecting, the full list is not sent again
+     *                    when it is still the current one
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(new SseEmitter(properties.getTimeout().toMillis()), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        ParkingSnapshot current = currentSnapshot;
+        boolean upToDate = String.valueOf(current.getVersion()).equals(lastEventId);
+        Subscriber subscriber = new Subscriber(emitter, upToDate ? current : null);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(failure -> subscriber.close());
+        subscribers.add(subscriber);
+        subscriber.signal();
+        return emitter;
+    }
+
+    /**
+     * Number of connected subscribers
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void onSnapshotPublished(ParkingSnapshot previous, ParkingSnapshot published, ParkingChanges changes) {
+        currentSnapshot = published;
+        for (Subscriber subscriber : subscribers) {
+            subscriber.signal();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        watchdog.shutdownNow();
+        sender.shutdownNow();
+    }
+
+    /**
+     * Drop the subscribers whose write is overdue, and have the others sent a heartbeat
+     */
+    private void checkSubscribers() {
+        long sendTimeout = properties.getSendTimeout().toNanos();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.isSendOverdue(sendTimeout) && subscriber.state.compareAndSet(SENDING, STALLED)) {
+                log.warn("Dropped parking stream subscriber whose write is running for more than {}", properties.getSendTimeout());
+                subscriber.close();
+                resizeSender(1);
+            } else {
+                subscriber.heartbeat();
+            }
+        }
+    }
+
+    /**
+     * Add or remove a thread of the pool for each write stalled, up to the configured limit
+     */
+    private void resizeSender(int stalledDelta) {
+        synchronized (sender) {
+            stalledSends += stalledDelta;
+            int size = Math.max(1, properties.getSenderThreads())
+                    + Math.min(stalledSends, properties.getMaxStalledSends());
+            if (size > sender.getMaximumPoolSize()) {
+                sender.setMaximumPoolSize(size);
+                sender.setCorePoolSize(size);
+            } else {
+                sender.setCorePoolSize(size);
+                sender.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    /**
+     * Serialized changes between two snapshots, reused while subscribers ask for the same ones
+     */
+    private RenderedChanges renderChanges(ParkingSnapshot from, ParkingSnapshot to) {
+        RenderedChanges rendered = lastChanges.get();
+        if (rendered != null && rendered.getFrom() == from && rendered.getTo() == to) {
+            return rendered;
+        }
+
+        ParkingChanges changes = ParkingChanges.between(from, to);
+        try {
+            byte[] json = changes.isEmpty() ? null : objectMapper.writeValueAsBytes(ParkingChangesResponse.fromDomain(changes));
+            rendered = new RenderedChanges(from, to, json);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Error rendering changes from v" + from.getVersion() + " to v" + to.getVersion(), e);
+        }
+        lastChanges.set(rendered);
+        return rendered;
+    }
+
+    /**
+     * A connected client, and the last snapshot it was sent
+     */
+    private final class Subscriber extends CoalescingSubscriber {
+        private final SseEmitter emitter;
+        private final AtomicInteger state = new AtomicInteger(IDLE);  // Of the write, see checkSubscribers
+        private ParkingSnapshot sent;  // Only accessed by the single send running
+        private volatile boolean heartbeatDue;
+
+        private Subscriber(SseEmitter emitter, ParkingSnapshot sent) {
+            super(sender);
+            this.emitter = emitter;
+            this.sent = sent;
+        }
+
+        private void heartbeat() {
+            heartbeatDue = true;
+            signal();
+        }
+
+        @Override
+        protected void sendLatest() {
+            ParkingSnapshot current = currentSnapshot;
+            boolean heartbeat = heartbeatDue;
+            heartbeatDue = false;
+
+            try {
+                if (sent == null) {
+                    write(SseEmitter.event()
+                            .name(SNAPSHOT_EVENT)
+                            .id(String.valueOf(current.getVersion()))
+                            .data(parkingListRenderer.render(current).getJson(), MediaType.APPLICATION_JSON));
+                    heartbeat = false;
+                } else if (sent.getTable() != current.getTable()) {
+                    RenderedChanges changes = renderChanges(sent, current);
+                    if (changes.getJson() != null) {
+                        write(SseEmitter.event()
+                                .name(CHANGES_EVENT)
+                                .id(String.valueOf(current.getVersion()))
+                                .data(changes.getJson(), MediaType.APPLICATION_JSON));
+                        heartbeat = false;
+                    }
+                }
+                sent = current;
+                if (heartbeat) {
+                    write(SseEmitter.event().comment(HEARTBEAT_COMMENT));
+                }
+                sent();
+            } catch (IOException | IllegalStateException e) {
+                // Client gone or connection already completed, the container cleans up the request
+                log.debug("Parking stream subscriber disconnected: {}", e.getMessage());
+                close();
+            } catch (RuntimeException e) {
+                log.error("Error sending snapshot v{} to parking stream subscriber", current.getVersion(), e);
+                close();
+                emitter.completeWithError(e);
+            }
+        }
+
+        /**
+         * Write an event, and complete the connection if the subscriber was dropped meanwhile
+         */
+        private void write(SseEmitter.SseEventBuilder event) throws IOException {
+            state.set(SENDING);
+            try {
+                emitter.send(event);
+            } finally {
+                if (state.getAndSet(IDLE) == STALLED) {
+                    resizeSender(-1);
+                    emitter.completeWithError(new TimeoutException("Write running for more than " + properties.getSendTimeout()));
+                }
+            }
+        }
+
+        @Override
+        protected void onClose() {
+            subscribers.remove(this);
+        }
+    }
+
+    @Value
+    private static class RenderedChanges {
+        ParkingSnapshot from;
+        ParkingSnapshot to;
+        byte[] json;  // null when the snapshots hold the same parkings
+    }
+}
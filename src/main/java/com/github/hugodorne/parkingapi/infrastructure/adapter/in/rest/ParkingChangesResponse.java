@@ -0,0 +1,49 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.github.hugodorne.parkingapi.domain.model.ParkingChanges;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Response DTO for the changes between two snapshot versions
+ */
+@Value
+@Builder
+public class ParkingChangesResponse {
+    long fromVersion;
+    long toVersion;
+    Instant refreshedAt;
+    List<ParkingResponse> added;
+    List<ParkingResponse> updated;
+    List<String> removed;  // Ids of the parkings removed
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Boolean fullResync;  // Whether the changes replace the client state, only for the changes endpoint
+
+    public static ParkingChangesResponse fromDomain(ParkingChanges changes) {
+        return builderOf(changes).build();
+    }
+
+    /**
+     * Build the response to a request for the changes since a version
+     *
+     * @param since Version requested, changes from another version are a full resync
+     */
+    public static ParkingChangesResponse fromDomain(ParkingChanges changes, long since) {
+        return builderOf(changes).fullResync(changes.getFromVersion() != since).build();
+    }
+
+    private static ParkingChangesResponseBuilder builderOf(ParkingChanges changes) {
+        return ParkingChangesResponse.builder()
+                .fromVersion(changes.getFromVersion())
+                .toVersion(changes.getToVersion())
+                .refreshedAt(changes.getRefreshedAt())
+                .added(changes.getAdded().stream().map(ParkingResponse::fromDomain).toList())
+                .updated(changes.getUpdated().stream().map(ParkingResponse::fromDomain).toList())
+                .removed(changes.getRemoved());
+    }
+}
@@ -1,18 +1,35 @@
 package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
 
+import com.github.hugodorne.parkingapi.domain.model.ParkingChanges;
+import com.github.hugodorne.parkingapi.domain.model.ParkingSnapshot;
 import com.github.hugodorne.parkingapi.domain.port.in.GetParkingsUseCase;
+import com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest.ParkingListRenderer.RenderedParkingList;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST controller for parking operations
@@ -24,18 +41,94 @@ import java.util.List;
 public class ParkingController {
 
     private final GetParkingsUseCase getParkingsUseCase;
+    private final NearbyBatchProperties nearbyBatchProperties;
+    private final ParkingListRenderer parkingListRenderer;
+    private final ParkingChangeStream parkingChangeStream;
+    private final ParkingChangeHistory parkingChangeHistory;
+    private final ParkingWatchProperties parkingWatchProperties;
 
     /**
-     * Get all parkings
+     * Get all parkings.
+     * The list is serialized once per snapshot version and tagged with a strong ETag,
+     * requests with a matching If-None-Match get a 304 Not Modified without body.
+     *
+     * @param acceptEncoding Encodings accepted by the client, the list is sent gzip-compressed when allowed
      */
     @GetMapping
-    public ResponseEntity<List<ParkingResponse>> getAllParkings() {
-        List<ParkingResponse> parkings = getParkingsUseCase.getAllParkings()
-                .stream()
-                .map(ParkingResponse::fromDomain)
-                .toList();
+    public ResponseEntity<byte[]> getAllParkings(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request
+    ) {
+        ParkingSnapshot snapshot = getParkingsUseCase.getCurrentSnapshot();
+        RenderedParkingList rendered = parkingListRenderer.render(snapshot);
+        boolean gzipped = acceptsGzip(acceptEncoding);
 
-        return ResponseEntity.ok(parkings);
+        // Sets the ETag and Last-Modified headers, and the 304 status when the client is up to date
+        if (request.checkNotModified(rendered.getEtag(gzipped), rendered.getRefreshedAtMillis())) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzipped) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(rendered.getGzippedJson());
+        }
+        return response.body(rendered.getJson());
+    }
+
+    /**
+     * Stream parking changes as Server-Sent Events: the full list on connect (event {@code snapshot}),
+     * then the parkings added, updated and removed by each refresh (event {@code changes}).
+     *
+     * @param lastEventId Snapshot version last received, sent by clients reconnecting
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamParkings(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return parkingChangeStream.subscribe(lastEventId);
+    }
+
+    /**
+     * Get the parkings added, updated and removed since a snapshot version.
+     * Versions older than the history kept, or unknown, get a full resync: all parkings as added,
+     * from version 0, flagged with {@code fullResync}. Versions not recorded yet get no changes.
+     *
+     * @param since Snapshot version the client is up to date with, {@code toVersion} of its last response
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ParkingChangesResponse> getChangesSince(@RequestParam @Min(0) long since) {
+        return ResponseEntity.ok(ParkingChangesResponse.fromDomain(parkingChangeHistory.getChangesSince(since), since));
+    }
+
+    /**
+     * Wait for a snapshot newer than a version, for clients unable to use {@code /stream}.
+     * Answers right away when the current snapshot is older than the given version, otherwise when a newer
+     * snapshot is published, or after the timeout with no changes. Waiting requests hold no thread.
+     *
+     * @param version Snapshot version the client is up to date with, {@code toVersion} of its last response
+     * @param timeout Longest wait in seconds (default: 30)
+     * @return changes since the version, as {@code /changes}
+     */
+    @GetMapping("/watch")
+    public DeferredResult<ParkingChangesResponse> watchChanges(
+            @RequestParam @Min(0) long version,
+            @RequestParam(defaultValue = "30") @Positive long timeout
+    ) {
+        long maxTimeout = parkingWatchProperties.getMaxTimeout().toSeconds();
+        if (timeout > maxTimeout) {
+            throw new InvalidParameterException("timeout", "must be at most " + maxTimeout + " seconds");
+        }
+
+        CompletableFuture<ParkingChanges> changes = parkingChangeHistory.awaitChangesSince(version);
+        DeferredResult<ParkingChangesResponse> result = new DeferredResult<>(TimeUnit.SECONDS.toMillis(timeout));
+        // Stop waiting once answered, timed out or disconnected
+        result.onCompletion(() -> changes.cancel(false));
+        result.onTimeout(() -> result.setResult(
+                ParkingChangesResponse.fromDomain(parkingChangeHistory.getChangesSince(version), version)));
+        changes.thenAccept(since -> result.setResult(ParkingChangesResponse.fromDomain(since, version)));
+        return result;
     }
 
     /**
@@ -46,18 +139,103 @@ public class ParkingController {
      * @param radius    Search radius in kilometers (default: 5km)
      */
     @GetMapping("/nearby")
-    public ResponseEntity<List<ParkingResponse>> getParkingsNearby(
+    public ResponseEntity<ParkingMatchesResponse> getParkingsNearby(
             @RequestParam @DecimalMin("-90.0") @DecimalMax("90.0") double latitude,
             @RequestParam @DecimalMin("-180.0") @DecimalMax("180.0") double longitude,
             @RequestParam(defaultValue = "5.0") @Positive double radius
+    ) {
+        return ResponseEntity.ok(ParkingMatchesResponse.fromDomain(
+                getParkingsUseCase.getParkingsNearby(latitude, longitude, radius)));
+    }
+
+    /**
+     * Get the parkings closest to a specific location
+     *
+     * @param latitude      User latitude
+     * @param longitude     User longitude
+     * @param k             Number of parkings returned (default: 5)
+     * @param onlyAvailable Skip full parkings and parkings with unknown status (default: false)
+     */
+    @GetMapping("/nearest")
+    public ResponseEntity<List<ParkingResponse>> getNearestParkings(
+            @RequestParam @DecimalMin("-90.0") @DecimalMax("90.0") double latitude,
+            @RequestParam @DecimalMin("-180.0") @DecimalMax("180.0") double longitude,
+            @RequestParam(defaultValue = "5") @Min(1) @Max(100) int k,
+            @RequestParam(defaultValue = "false") boolean onlyAvailable
     ) {
         List<ParkingResponse> parkings = getParkingsUseCase
-                .getParkingsNearby(latitude, longitude, radius)
+                .getNearestParkings(latitude, longitude, k, onlyAvailable)
                 .stream()
                 .map(ParkingResponse::fromDomain)
                 .toList();
 
         return ResponseEntity.ok(parkings);
     }
-}
 
+    /**
+     * Get parkings located within a map viewport.
+     * A viewport whose minimum longitude is greater than its maximum longitude crosses the antimeridian.
+     *
+     * @param minLat Southern bound
+     * @param minLon Western bound
+     * @param maxLat Northern bound
+     * @param maxLon Eastern bound
+     */
+    @GetMapping("/within")
+    public ResponseEntity<List<ParkingResponse>> getParkingsWithin(
+            @RequestParam @DecimalMin("-90.0") @DecimalMax("90.0") double minLat,
+            @RequestParam @DecimalMin("-180.0") @DecimalMax("180.0") double minLon,
+            @RequestParam @DecimalMin("-90.0") @DecimalMax("90.0") double maxLat,
+            @RequestParam @DecimalMin("-180.0") @DecimalMax("180.0") double maxLon
+    ) {
+        if (minLat > maxLat) {
+            throw new InvalidParameterException("maxLat", "must be greater than or equal to minLat");
+        }
+
+        List<ParkingResponse> parkings = getParkingsUseCase
+                .getParkingsWithin(minLat, minLon, maxLat, maxLon)
+                .stream()
+                .map(ParkingResponse::fromDomain)
+                .toList();
+
+        return ResponseEntity.ok(parkings);
+    }
+
+    /**
+     * Get parkings nearby several locations in one call
+     *
+     * @param queries Positions and search radiuses (radius defaults to 5km)
+     * @return parkings sorted by distance for each query, in the order of the queries
+     */
+    @PostMapping("/nearby:batch")
+    public ResponseEntity<List<ParkingMatchesResponse>> getParkingsNearbyBatch(
+            @RequestBody @NotNull List<@NotNull @Valid NearbyQueryRequest> queries
+    ) {
+        if (queries.size() > nearbyBatchProperties.getMaxSize()) {
+            throw new InvalidParameterException("queries",
+                    "must contain at most " + nearbyBatchProperties.getMaxSize() + " queries");
+        }
+
+        List<ParkingMatchesResponse> results = getParkingsUseCase
+                .getParkingsNearby(queries.stream().map(NearbyQueryRequest::toDomain).toList())
+                .stream()
+                .map(ParkingMatchesResponse::fromDomain)
+                .toList();
+
+        return ResponseEntity.ok(results);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String encoding : acceptEncoding.split(",")) {
+            String[] parts = encoding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // gzip;q=0 explicitly refuses gzip
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
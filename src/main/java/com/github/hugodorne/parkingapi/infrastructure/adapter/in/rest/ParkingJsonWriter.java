@@ -0,0 +1,71 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.github.hugodorne.parkingapi.domain.model.Parking;
+import com.github.hugodorne.parkingapi.domain.model.ParkingStatus;
+import com.github.hugodorne.parkingapi.domain.model.ParkingTable;
+
+import java.io.IOException;
+
+/**
+ * Writes snapshot rows straight to a JSON generator, without {@link ParkingResponse} copies.
+ * <p>
+ * The JSON is the one of {@link ParkingResponse}: same properties, same order, and null properties omitted.
+ * Only used by the REST responses built from snapshot rows, the domain types have no global JSON serializer.
+ */
+final class ParkingJsonWriter {
+
+    private ParkingJsonWriter() {
+    }
+
+    /**
+     * Writes all rows of a table as an array of parkings
+     */
+    static void writeTable(JsonGenerator generator, ParkingTable table) throws IOException {
+        generator.writeStartArray(table, table.size());
+        for (int row = 0; row < table.size(); row++) {
+            writeParking(generator, table, row, null);
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes a row as a parking, with its distance when not null
+     */
+    static void writeParking(JsonGenerator generator, ParkingTable table, int row, Double distanceKm) throws IOException {
+        generator.writeStartObject();
+        writeString(generator, "id", table.getId(row));
+        writeString(generator, "name", table.getName(row));
+        writeString(generator, "address", table.getAddress(row));
+        if (table.hasCoordinates(row)) {
+            generator.writeNumberField("latitude", table.getLatitude(row));
+            generator.writeNumberField("longitude", table.getLongitude(row));
+        }
+        int totalSpaces = table.getTotalSpaces(row);
+        int availableSpaces = table.getAvailableSpaces(row);
+        if (totalSpaces != ParkingTable.NO_SPACES) {
+            generator.writeNumberField("totalSpaces", totalSpaces);
+        }
+        if (availableSpaces != ParkingTable.NO_SPACES) {
+            generator.writeNumberField("availableSpaces", availableSpaces);
+        }
+        ParkingStatus status = table.getStatus(row);
+        if (status != null) {
+            generator.writeStringField("status", status.name());
+        }
+        generator.writeBooleanField("isOpen", status == ParkingStatus.OPEN);
+        generator.writeNumberField("occupancyRate", Parking.occupancyRate(
+                totalSpaces != ParkingTable.NO_SPACES ? totalSpaces : null,
+                availableSpaces != ParkingTable.NO_SPACES ? availableSpaces : null));
+        if (distanceKm != null) {
+            generator.writeNumberField("distanceKm", distanceKm);
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator generator, String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+}
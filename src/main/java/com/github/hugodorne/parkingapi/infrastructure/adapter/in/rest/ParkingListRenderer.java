@@ -0,0 +1,106 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.hugodorne.parkingapi.domain.model.ParkingSnapshot;
+import com.github.hugodorne.parkingapi.domain.model.ParkingTable;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Renders the full parking list once per snapshot version, as JSON and gzip-compressed JSON.
+ * Every request for the same version is served the same shared byte arrays.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ParkingListRenderer {
+
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<RenderedParkingList> lastRendered = new AtomicReference<>();
+
+    /**
+     * Rendering of the given snapshot, reused while the snapshot version does not change
+     */
+    public RenderedParkingList render(ParkingSnapshot snapshot) {
+        RenderedParkingList rendered = lastRendered.get();
+        if (rendered != null && rendered.isRenderingOf(snapshot)) {
+            return rendered;
+        }
+        synchronized (this) {
+            // Another request may have rendered it meanwhile
+            rendered = lastRendered.get();
+            if (rendered != null && rendered.isRenderingOf(snapshot)) {
+                return rendered;
+            }
+            rendered = doRender(snapshot);
+            lastRendered.set(rendered);
+            return rendered;
+        }
+    }
+
+    private RenderedParkingList doRender(ParkingSnapshot snapshot) {
+        try {
+            byte[] json = writeJson(snapshot.getTable());
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            log.debug("Rendered parking list of snapshot v{}: {} bytes, {} bytes compressed",
+                    snapshot.getVersion(), json.length, compressed.size());
+            return new RenderedParkingList(snapshot.getVersion(), snapshot.getRefreshedAt().toEpochMilli(),
+                    json, compressed.toByteArray(), snapshot.getTable());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error rendering parking list of snapshot v" + snapshot.getVersion(), e);
+        }
+    }
+
+    private byte[] writeJson(ParkingTable table) throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.createGenerator(json)) {
+            ParkingJsonWriter.writeTable(generator, table);
+        }
+        return json.toByteArray();
+    }
+
+    /**
+     * Parking list of a snapshot, serialized.
+     * The byte arrays are shared between requests and must not be modified.
+     */
+    @Value
+    public static class RenderedParkingList {
+        long version;
+        long refreshedAtMillis;  // Last-Modified of the list
+        byte[] json;
+        byte[] gzippedJson;
+
+        @Getter(AccessLevel.NONE)
+        @EqualsAndHashCode.Exclude
+        @ToString.Exclude
+        ParkingTable table;  // Rendered rows, identifies the rendered snapshot
+
+        /**
+         * Strong entity tag of the JSON, or of the gzip-compressed JSON.
+         * Snapshot versions are never reused, even across restarts, so the version identifies the list.
+         */
+        public String getEtag(boolean gzipped) {
+            return "\"" + version + (gzipped ? "-gzip" : "") + "\"";
+        }
+
+        private boolean isRenderingOf(ParkingSnapshot snapshot) {
+            return table == snapshot.getTable();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.github.hugodorne.parkingapi.domain.model.ParkingMatch;
+import lombok.Value;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Response DTO for the parkings matched by a nearby search, sorted by distance.
+ * <p>
+ * Serialized as an array of {@link ParkingResponse} with their distance, written straight from the snapshot rows.
+ * A nearby search can match the whole snapshot, unlike {@code /nearest} (at most k parkings) and {@code /within}
+ * (a map viewport), which keep mapping the few parkings returned to {@link ParkingResponse}.
+ */
+@Value
+@JsonSerialize(using = ParkingMatchesResponse.Serializer.class)
+public class ParkingMatchesResponse {
+    List<ParkingMatch> matches;
+
+    public static ParkingMatchesResponse fromDomain(List<ParkingMatch> matches) {
+        return new ParkingMatchesResponse(matches);
+    }
+
+    /**
+     * Writes the matches as an array of parkings
+     */
+    public static class Serializer extends StdSerializer<ParkingMatchesResponse> {
+
+        public Serializer() {
+            super(ParkingMatchesResponse.class);
+        }
+
+        @Override
+        public void serialize(ParkingMatchesResponse response, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            List<ParkingMatch> matches = response.getMatches();
+            generator.writeStartArray(response, matches.size());
+            for (ParkingMatch match : matches) {
+                ParkingJsonWriter.writeParking(generator, match.getTable(), match.getRow(), match.getDistanceKm());
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the stream of parking changes
+ */
+@Component
+@ConfigurationProperties(prefix = "parking.api.stream")
+@Data
+public class ParkingStreamProperties {
+    private Duration timeout = Duration.ofMinutes(30);  // Connection lifetime, clients reconnect afterwards
+    private int senderThreads = 4;  // Threads writing events, shared by all subscribers
+    private Duration sendTimeout = Duration.ofSeconds(30);  // Subscribers whose write runs longer are dropped
+    private Duration heartbeatInterval = Duration.ofSeconds(15);  // Comment sent to idle subscribers, and send timeout check
+    private int maxStalledSends = 16;  // Threads added to the pool at most, while writes of dropped subscribers are stuck
+}
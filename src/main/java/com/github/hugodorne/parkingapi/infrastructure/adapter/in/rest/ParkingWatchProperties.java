@@ -0,0 +1,17 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for long polling the parking changes
+ */
+@Component
+@ConfigurationProperties(prefix = "parking.api.watch")
+@Data
+public class ParkingWatchProperties {
+    private Duration maxTimeout = Duration.ofMinutes(2);  // Longest wait accepted, below the timeouts of usual proxies
+}
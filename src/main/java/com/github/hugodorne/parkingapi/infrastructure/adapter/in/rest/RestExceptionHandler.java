@@ -117,6 +117,27 @@ public class RestExceptionHandler {
         return ResponseEntity.badRequest().body(errorResponse);
     }
 
+    /**
+     * Handle parameters that are invalid with regard to each other
+     */
+    @ExceptionHandler(InvalidParameterException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidParameterException(InvalidParameterException ex) {
+        log.warn("Invalid parameter {}: {}", ex.getParameterName(), ex.getMessage());
+
+        Map<String, String> errors = new HashMap<>();
+        errors.put(ex.getParameterName(), ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Validation Error")
+                .message("Invalid input parameters")
+                .errors(errors)
+                .build();
+
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
     /**
      * Handle generic exceptions
      */
@@ -0,0 +1,28 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.scheduler;
+
+import com.github.hugodorne.parkingapi.domain.port.in.RefreshParkingsUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled adapter refreshing the parking snapshot in background,
+ * so that user requests never wait for the external data source.
+ * Disabled with {@code parking.refresh.enabled=false}, e.g. in tests that must not call the data source.
+ */
+@Component
+@ConditionalOnProperty(prefix = "parking.refresh", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ParkingSnapshotRefresher {
+
+    private final RefreshParkingsUseCase refreshParkingsUseCase;
+
+    @Scheduled(
+            initialDelayString = "${parking.refresh.initial-delay:PT0S}",
+            fixedDelayString = "${parking.refresh.interval:PT1M}"
+    )
+    public void refresh() {
+        refreshParkingsUseCase.refreshParkings();
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.websocket;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the live updates of parkings nearby
+ */
+@Component
+@ConfigurationProperties(prefix = "parking.api.live")
+@Data
+public class NearbyLiveProperties {
+    private Duration sendTimeout = Duration.ofSeconds(30);  // Clients not reading a message in time are disconnected
+    private int senderThreads = 4;  // Threads computing the changes of each area, shared by all subscribers
+    private double maxRadiusKm = 50.0;  // Wider areas are looked up on every changed parking, whatever its position
+}
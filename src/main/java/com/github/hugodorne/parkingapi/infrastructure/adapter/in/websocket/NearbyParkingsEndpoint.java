@@ -0,0 +1,280 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.hugodorne.parkingapi.domain.model.Parking;
+import com.github.hugodorne.parkingapi.domain.model.ParkingChanges;
+import com.github.hugodorne.parkingapi.domain.model.ParkingMatch;
+import com.github.hugodorne.parkingapi.domain.model.ParkingSnapshot;
+import com.github.hugodorne.parkingapi.domain.model.ParkingTable;
+import com.github.hugodorne.parkingapi.domain.port.in.GetParkingsUseCase;
+import com.github.hugodorne.parkingapi.domain.port.out.ParkingSnapshotListener;
+import com.github.hugodorne.parkingapi.domain.spatial.GeoAreaIndex;
+import com.github.hugodorne.parkingapi.infrastructure.adapter.in.common.CoalescingSubscriber;
+import com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest.ParkingChangesResponse;
+import jakarta.annotation.PreDestroy;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * WebSocket endpoint pushing the changes of the parkings nearby a position, fed by the snapshots published
+ * by the refresh.
+ * <p>
+ * Clients connect to {@value #PATH} with the {@code latitude}, {@code longitude} and {@code radius} parameters
+ * of {@code GET /api/parkings/nearby}. They first receive the parkings of their area as added parkings from
+ * version 0, then, on each snapshot published, the parkings added, updated and removed in their area since
+ * the last message, in the format of the Server-Sent Events {@code changes} event. Parkings entering or leaving
+ * the area are added or removed.
+ * <p>
+ * Areas are indexed by position: on a refresh, only the subscribers whose area contains a changed parking
+ * are looked up, so the work depends on the changes, not on the number of connections. A subscriber is never
+ * queued more than one message: while it is slow, publications are coalesced, and it is sent the changes
+ * between the parkings of its area it last received and the current ones. Only those parkings are kept per
+ * subscriber, not the snapshot they come from.
+ */
+@Component
+@Slf4j
+public class NearbyParkingsEndpoint extends Endpoint implements ParkingSnapshotListener {
+
+    public static final String PATH = "/api/parkings/nearby/live";
+
+    static final double DEFAULT_RADIUS_KM = 5.0;
+
+    // Distances are rounded, so parkings slightly farther than the radius can still be nearby
+    private static final double AREA_MARGIN_KM = 0.01;
+
+    private static final String SUBSCRIBER = "subscriber";
+
+    private final GetParkingsUseCase getParkingsUseCase;
+    private final ObjectMapper objectMapper;
+    private final NearbyLiveProperties properties;
+    private final ExecutorService sender;
+    private final GeoAreaIndex<Subscriber> subscriptions = new GeoAreaIndex<>();
+
+    /**
+     * @param getParkingsUseCase Lazy, the service notifies this endpoint of its snapshots
+     */
+    public NearbyParkingsEndpoint(@Lazy GetParkingsUseCase getParkingsUseCase, ObjectMapper objectMapper,
+                                  NearbyLiveProperties properties) {
+        this.getParkingsUseCase = getParkingsUseCase;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.sender = CoalescingSubscriber.newSenderPool("parking-live", properties.getSenderThreads());
+    }
+
+    @Override
+    public void onOpen(Session session, EndpointConfig config) {
+        Subscriber subscriber;
+        try {
+            Map<String, List<String>> parameters = session.getRequestParameterMap();
+            double latitude = parameter(parameters, "latitude", null);
+            double longitude = parameter(parameters, "longitude", null);
+            double radius = parameter(parameters, "radius", DEFAULT_RADIUS_KM);
+            if (latitude < -90 || latitude > 90) {
+                throw new IllegalArgumentException("latitude: must be between -90 and 90");
+            }
+            if (longitude < -180 || longitude > 180) {
+                throw new IllegalArgumentException("longitude: must be between -180 and 180");
+            }
+            if (!(radius > 0)) {
+                throw new IllegalArgumentException("radius: must be greater than 0");
+            }
+            if (radius > properties.getMaxRadiusKm()) {
+                throw new IllegalArgumentException("radius: must be at most " + properties.getMaxRadiusKm());
+            }
+            subscriber = new Subscriber(session, latitude, longitude, radius);
+        } catch (IllegalArgumentException e) {
+            close(session, new CloseReason(CloseReason.CloseCodes.CANNOT_ACCEPT, e.getMessage()));
+            return;
+        }
+
+        session.getAsyncRemote().setSendTimeout(properties.getSendTimeout().toMillis());
+        session.getUserProperties().put(SUBSCRIBER, subscriber);
+        subscriptions.put(subscriber, subscriber.latitude, subscriber.longitude, subscriber.radiusKm + AREA_MARGIN_KM);
+        subscriber.signal();
+    }
+
+    @Override
+    public void onClose(Session session, CloseReason closeReason) {
+        if (session.getUserProperties().get(SUBSCRIBER) instanceof Subscriber subscriber) {
+            subscriber.close();
+        }
+    }
+
+    @Override
+    public void onError(Session session, Throwable failure) {
+        log.debug("Live nearby parkings subscriber failed: {}", failure.getMessage());
+        onClose(session, null);
+    }
+
+    /**
+     * Number of connected subscribers
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    @Override
+    public void onSnapshotPublished(ParkingSnapshot previous, ParkingSnapshot published, ParkingChanges changes) {
+        if (subscriptions.size() == 0) {
+            return;
+        }
+
+        // Subscribers whose area contains a changed parking, at its new or previous position
+        Set<Subscriber> affected = new HashSet<>();
+        for (Parking parking : changes.getAdded()) {
+            addAffected(parking, affected);
+        }
+        for (Parking parking : changes.getUpdated()) {
+            addAffected(parking, affected);
+        }
+        if (!changes.getUpdated().isEmpty() || !changes.getRemoved().isEmpty()) {
+            addAffectedAtPreviousPositions(previous.getTable(), changes, affected);
+        }
+
+        for (Subscriber subscriber : affected) {
+            subscriber.signal();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private void addAffected(Parking parking, Set<Subscriber> affected) {
+        if (parking.getLatitude() != null && parking.getLongitude() != null) {
+            subscriptions.forEachAreaContaining(parking.getLatitude(), parking.getLongitude(), affected::add);
+        }
+    }
+
+    private void addAffectedAtPreviousPositions(ParkingTable table, ParkingChanges changes, Set<Subscriber> affected) {
+        Set<String> ids = new HashSet<>(changes.getRemoved());
+        changes.getUpdated().forEach(parking -> ids.add(parking.getId()));
+        for (int row = 0; row < table.size(); row++) {
+            if (table.hasCoordinates(row) && ids.contains(table.getId(row))) {
+                subscriptions.forEachAreaContaining(table.getLatitude(row), table.getLongitude(row), affected::add);
+            }
+        }
+    }
+
+    private static double parameter(Map<String, List<String>> parameters, String name, Double defaultValue) {
+        List<String> values = parameters.get(name);
+        if (values == null || values.isEmpty()) {
+            if (defaultValue == null) {
+                throw new IllegalArgumentException(name + ": is required");
+            }
+            return defaultValue;
+        }
+
+        try {
+            double value = Double.parseDouble(values.get(0));
+            if (Double.isFinite(value)) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException(name + ": must be a number");
+    }
+
+    private static void close(Session session, CloseReason reason) {
+        try {
+            session.close(reason);
+        } catch (IOException e) {
+            log.debug("Error closing live nearby parkings session: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A connected client, its area and the parkings of its area it was last sent
+     */
+    private final class Subscriber extends CoalescingSubscriber {
+        private final Session session;
+        private final double latitude;
+        private final double longitude;
+        private final double radiusKm;
+        // Only accessed by the single send running
+        private long sentVersion;
+        private List<Parking> sentParkings;  // null until the first message
+
+        private Subscriber(Session session, double latitude, double longitude, double radiusKm) {
+            super(sender);
+            this.session = session;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.radiusKm = radiusKm;
+        }
+
+        /**
+         * Send the changes of the area up to the current snapshot, the send completion drains the signals
+         * received meanwhile
+         */
+        @Override
+        protected void sendLatest() {
+            ParkingSnapshot current = getParkingsUseCase.getCurrentSnapshot();
+            if (sentParkings != null && sentVersion == current.getVersion()) {
+                sent();
+                return;
+            }
+
+            List<Parking> parkings;
+            String message;
+            try {
+                parkings = getParkingsUseCase.getParkingsNearby(current, latitude, longitude, radiusKm).stream()
+                        .map(ParkingMatch::toParking)
+                        .toList();
+                ParkingChanges changes = sentParkings != null
+                        ? ParkingChanges.between(sentVersion, sentParkings, current, parkings)
+                        : ParkingChanges.between(0L, List.of(), current, parkings);
+                // The first message is always sent, so that the client knows its area is empty
+                if (sentParkings != null && changes.isEmpty()) {
+                    sentVersion = current.getVersion();
+                    sent();
+                    return;
+                }
+                message = objectMapper.writeValueAsString(ParkingChangesResponse.fromDomain(changes));
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.error("Error computing nearby changes of snapshot v{} for live subscriber", current.getVersion(), e);
+                close();
+                NearbyParkingsEndpoint.close(session,
+                        new CloseReason(CloseReason.CloseCodes.UNEXPECTED_CONDITION, "Internal error"));
+                return;
+            }
+
+            try {
+                session.getAsyncRemote().sendText(message, result -> {
+                    if (result.isOK()) {
+                        sentVersion = current.getVersion();
+                        sentParkings = parkings;
+                        sent();
+                    } else {
+                        // Client gone or too slow to read, the container closes the session
+                        log.debug("Live nearby parkings subscriber disconnected: {}", result.getException().getMessage());
+                        close();
+                    }
+                });
+            } catch (IllegalStateException e) {
+                // Session already closed
+                close();
+            }
+        }
+
+        @Override
+        protected void onClose() {
+            subscriptions.remove(this);
+        }
+    }
+}
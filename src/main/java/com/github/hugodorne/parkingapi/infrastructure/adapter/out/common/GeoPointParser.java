@@ -0,0 +1,179 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.common;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Parser of {@code "latitude, longitude"} geopoints, as served by data-fair datasets.
+ * <p>
+ * The text is scanned in place: no split, no substring, no exception. Coordinates are plain decimals
+ * (optional sign, digits, optional fraction, surrounding whitespace) and are converted with correct rounding,
+ * so they are bit for bit those of {@link Double#parseDouble}. Malformed geopoints, exponents, non-finite
+ * and out-of-range coordinates are rejected and counted.
+ */
+public class GeoPointParser {
+
+    private static final int MAX_DIGITS = 18;  // Significant digits fitting in a long along with their power of ten
+    private static final long MAX_EXACT_SIGNIFICAND = 1L << 53;
+    private static final long[] POWERS_OF_TEN = new long[MAX_DIGITS + 1];
+    private static final double[] EXACT_POWERS_OF_TEN = new double[MAX_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        EXACT_POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+            EXACT_POWERS_OF_TEN[i] = POWERS_OF_TEN[i];  // Powers of ten up to 10^22 are exact doubles
+        }
+    }
+
+    private final LongAdder rejectCount = new LongAdder();
+
+    /**
+     * Parse a geopoint
+     *
+     * @param text        Geopoint, {@code null} and empty text are missing geopoints and are not rejects
+     * @param coordinates Receives the latitude at index 0 and the longitude at index 1, only when parsed
+     * @return whether the geopoint was parsed
+     */
+    public boolean parse(CharSequence text, double[] coordinates) {
+        if (text == null || text.length() == 0) {
+            return false;
+        }
+
+        int separator = indexOf(text, ',');
+        double latitude = separator > 0 ? parseCoordinate(text, 0, separator) : Double.NaN;
+        double longitude = separator > 0 ? parseCoordinate(text, separator + 1, text.length()) : Double.NaN;
+        if (!(Math.abs(latitude) <= 90) || !(Math.abs(longitude) <= 180)) {
+            rejectCount.increment();
+            return false;
+        }
+
+        coordinates[0] = latitude;
+        coordinates[1] = longitude;
+        return true;
+    }
+
+    /**
+     * Number of geopoints rejected since the parser was created
+     */
+    public long getRejectCount() {
+        return rejectCount.sum();
+    }
+
+    private static int indexOf(CharSequence text, char c) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decimal number between {@code start} and {@code end}, or {@link Double#NaN} when malformed
+     */
+    private static double parseCoordinate(CharSequence text, int start, int end) {
+        // Surrounding whitespace, as trimmed by String.trim()
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        boolean negative = false;
+        if (start < end && (text.charAt(start) == '-' || text.charAt(start) == '+')) {
+            negative = text.charAt(start) == '-';
+            start++;
+        }
+
+        long significand = 0;
+        int digits = 0;  // Significant digits, leading zeros excluded
+        int fractionDigits = 0;
+        boolean anyDigit = false;
+        boolean fraction = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.' && !fraction) {
+                fraction = true;
+            } else if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                if (significand != 0 || c != '0') {
+                    digits++;
+                }
+                if (digits <= MAX_DIGITS) {
+                    significand = significand * 10 + (c - '0');
+                }
+                if (fraction) {
+                    fractionDigits++;
+                }
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (!anyDigit) {
+            return Double.NaN;
+        }
+        if (digits > MAX_DIGITS || fractionDigits > MAX_DIGITS) {
+            return parseSlow(text, start, end, negative);
+        }
+
+        double value = divide(significand, fractionDigits);
+        return negative ? -value : value;
+    }
+
+    /**
+     * Correctly rounded {@code significand / divisor}, for a divisor that is a power of ten
+     */
+    private static double divide(long significand, int fractionDigits) {
+        // Both operands exact doubles: a single IEEE division is correctly rounded
+        if (significand < MAX_EXACT_SIGNIFICAND) {
+            return significand / EXACT_POWERS_OF_TEN[fractionDigits];
+        }
+        return longDivide(significand, POWERS_OF_TEN[fractionDigits]);
+    }
+
+    /**
+     * Correctly rounded {@code significand / divisor}, by binary long division.
+     * Both operands are below 2^60, so shifted remainders never overflow.
+     */
+    private static double longDivide(long significand, long divisor) {
+
+        long quotient = significand / divisor;
+        long remainder = significand % divisor;
+        int exponent = 0;
+        boolean sticky = false;  // Whether non-zero bits were dropped beyond the rounding bit
+
+        // Bring the quotient to 54 bits: 53 bits of mantissa and a rounding bit
+        while (quotient >= 1L << 54) {
+            sticky |= (quotient & 1) != 0;
+            quotient >>>= 1;
+            exponent++;
+        }
+        while (quotient < 1L << 53) {
+            remainder <<= 1;
+            quotient <<= 1;
+            if (remainder >= divisor) {
+                remainder -= divisor;
+                quotient |= 1;
+            }
+            exponent--;
+        }
+        sticky |= remainder != 0;
+
+        // Round half to even
+        long mantissa = quotient >>> 1;
+        if ((quotient & 1) != 0 && (sticky || (mantissa & 1) != 0)) {
+            mantissa++;
+        }
+        return Math.scalb((double) mantissa, exponent + 1);
+    }
+
+    /**
+     * Valid decimal with more digits than a long holds, never sent by known data sources
+     */
+    private static double parseSlow(CharSequence text, int start, int end, boolean negative) {
+        double value = Double.parseDouble(text.subSequence(start, end).toString());
+        return negative ? -value : value;
+    }
+}
@@ -0,0 +1,123 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.common;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same resource into a single in-flight call.
+ * <p>
+ * The first caller runs the loader, every caller arriving while it is running waits on the same
+ * future (bounded by a deadline) and receives its result or its failure. Asynchronous loads are shared
+ * the same way, until their future completes.
+ *
+ * @param <T> Type of the loaded value
+ */
+public class SingleFlight<T> {
+
+    private final AtomicReference<CompletableFuture<T>> inFlight = new AtomicReference<>();
+
+    /**
+     * Run the loader, or join the load already in flight
+     *
+     * @param loader   Loader run by the first caller
+     * @param deadline Maximum time to wait for a load started by another caller, unbounded when {@code null}
+     * @throws SingleFlightTimeoutException when the deadline elapses before the load in flight completes
+     */
+    public T execute(Supplier<T> loader, Duration deadline) {
+        CompletableFuture<T> call = new CompletableFuture<>();
+        CompletableFuture<T> existing = inFlight.compareAndExchange(null, call);
+        if (existing != null) {
+            return await(existing, deadline);
+        }
+
+        try {
+            T value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.compareAndSet(call, null);
+        }
+    }
+
+    /**
+     * Start an asynchronous load, or join the load already in flight
+     *
+     * @param loader Loader run by the first caller, starting the load without waiting for it
+     * @return the load in flight, shared by every caller until it completes
+     */
+    public CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> loader) {
+        CompletableFuture<T> call = new CompletableFuture<>();
+        CompletableFuture<T> existing = inFlight.compareAndExchange(null, call);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            loader.get().whenComplete((value, failure) -> {
+                // Cleared first, so callers seeing the result start a new load
+                inFlight.compareAndSet(call, null);
+                if (failure != null) {
+                    call.completeExceptionally(failure);
+                } else {
+                    call.complete(value);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            inFlight.compareAndSet(call, null);
+            call.completeExceptionally(e);
+        }
+        return call;
+    }
+
+    /**
+     * Wait for a load started with {@link #executeAsync(Supplier)}
+     *
+     * @param deadline Maximum time to wait, unbounded when {@code null}
+     * @throws SingleFlightTimeoutException when the deadline elapses before the load completes
+     */
+    public static <T> T await(CompletableFuture<T> call, Duration deadline) {
+        try {
+            return deadline != null ? call.get(deadline.toNanos(), TimeUnit.NANOSECONDS) : call.get();
+        } catch (TimeoutException e) {
+            throw new SingleFlightTimeoutException("Load in flight did not complete within " + deadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SingleFlightTimeoutException("Interrupted while waiting for load in flight");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (CancellationException e) {
+            throw new SingleFlightTimeoutException("Load in flight was cancelled");
+        }
+    }
+
+    /**
+     * Whether a load is currently in flight
+     */
+    public boolean isInFlight() {
+        return inFlight.get() != null;
+    }
+
+    /**
+     * Thrown to callers that gave up waiting for the load in flight
+     */
+    public static class SingleFlightTimeoutException extends RuntimeException {
+        public SingleFlightTimeoutException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.common;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Non-blocking HTTP client shared by the data source adapters.
+ * <p>
+ * Requests go through a single {@link HttpClient}, which negotiates HTTP/2 and keeps connections alive
+ * between requests. No caller thread waits for the response: once its headers are received, the body is handed
+ * to the reader as a stream, read on a thread of the client as it arrives, without being buffered whole.
+ * Responses are requested gzip-compressed.
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamHttpClient {
+
+    private static final int NOT_MODIFIED = 304;
+
+    private final HttpClient httpClient;
+
+    /**
+     * Send a GET request
+     *
+     * @param url     Requested URL
+     * @param timeout Budget of the whole exchange, from sending the request to reading the body, unbounded when {@code null}
+     * @param headers Request headers
+     * @param reader  Reader of successful and not modified responses, its result completes the future
+     * @return the result of the reader, or a future failed with {@link UpstreamHttpException} for other statuses,
+     * with {@link java.util.concurrent.TimeoutException} when the timeout elapses, or with the transport error
+     */
+    public <T> CompletableFuture<T> get(String url, Duration timeout, Map<String, String> headers, ResponseReader<T> reader) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .GET()
+                .header("Accept-Encoding", "gzip");
+        headers.forEach(request::header);
+        if (timeout != null) {
+            request.timeout(timeout);
+        }
+
+        CompletableFuture<HttpResponse<InputStream>> received =
+                httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        CompletableFuture<T> response = received.thenApply(headersReceived -> read(url, headersReceived, reader));
+        if (timeout == null) {
+            return response;
+        }
+
+        // The request timeout only covers the headers: once the whole budget elapses, closing the body
+        // fails the reader still waiting for it
+        return response.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((result, failure) -> {
+                    if (failure != null) {
+                        received.thenAccept(UpstreamHttpClient::closeBody);
+                    }
+                });
+    }
+
+    private static <T> T read(String url, HttpResponse<InputStream> response, ResponseReader<T> reader) {
+        int status = response.statusCode();
+        try (InputStream received = response.body(); InputStream body = decode(response.headers(), received)) {
+            if ((status < 200 || status >= 300) && status != NOT_MODIFIED) {
+                throw new UpstreamHttpException(url, status);
+            }
+            return reader.read(status, response.headers(), body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static InputStream decode(HttpHeaders headers, InputStream received) throws IOException {
+        boolean gzipped = headers.firstValue("Content-Encoding")
+                .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+                .orElse(false);
+        if (!gzipped) {
+            return received;
+        }
+
+        // Empty bodies, e.g. of 304 responses, have no gzip header
+        PushbackInputStream body = new PushbackInputStream(received);
+        int first = body.read();
+        if (first == -1) {
+            return body;
+        }
+        body.unread(first);
+        return new GZIPInputStream(body);
+    }
+
+    private static void closeBody(HttpResponse<InputStream> response) {
+        try {
+            response.body().close();
+        } catch (IOException e) {
+            // The exchange already failed
+        }
+    }
+
+    /**
+     * Reads the body of a response, as it is received
+     */
+    @FunctionalInterface
+    public interface ResponseReader<T> {
+        T read(int status, HttpHeaders headers, InputStream body) throws IOException;
+    }
+
+    /**
+     * Thrown when the data source answers with an error status
+     */
+    @Getter
+    public static class UpstreamHttpException extends IOException {
+        private final int status;
+
+        public UpstreamHttpException(String url, int status) {
+            super("GET " + url + " returned HTTP " + status);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.composite;
+
+import com.github.hugodorne.parkingapi.domain.model.Parking;
+import com.github.hugodorne.parkingapi.domain.port.out.ParkingDataPort;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Data port aggregating every parking data source of the application.
+ * <p>
+ * On each fetch, the sources due are fetched concurrently, each one waited for at most its own deadline.
+ * The parkings of all sources are then merged, in the order of the sources. Parking ids identify parkings across
+ * snapshots, so a parking whose id is already taken by an earlier source is dropped and logged. A slow or failing source
+ * does not hold the others back: its last parkings are merged instead, and a response arriving after
+ * the deadline is still kept for the next fetch. Each source can be fetched less often than the
+ * snapshot is refreshed, according to its own interval.
+ */
+@Component
+@Primary
+@Slf4j
+public class CompositeParkingDataAdapter implements ParkingDataPort {
+
+    private final List<Source> sources;
+
+    private volatile Instant updatedAt;
+
+    public CompositeParkingDataAdapter(List<ParkingDataPort> dataPorts, CompositeParkingDataProperties properties) {
+        List<Source> sources = new ArrayList<>(dataPorts.size());
+        for (ParkingDataPort dataPort : dataPorts) {
+            CompositeParkingDataProperties.Source settings = properties.getSource(dataPort.getName());
+            sources.add(new Source(dataPort, settings.getDeadline(), settings.getInterval()));
+        }
+        this.sources = List.copyOf(sources);
+        log.info("Aggregating parking data sources: {}", dataPorts.stream().map(ParkingDataPort::getName).toList());
+    }
+
+    @Override
+    public String getName() {
+        return "composite";
+    }
+
+    /**
+     * Fetch parkings of all sources, waiting at most the longest source deadline
+     *
+     * @see #fetchParkingsAsync()
+     */
+    @Override
+    public List<Parking> fetchParkings() {
+        return fetchParkingsAsync().join();
+    }
+
+    /**
+     * Fetch the sources due concurrently and merge the parkings of all sources. The future never fails.
+     */
+    @Override
+    public CompletableFuture<List<Parking>> fetchParkingsAsync() {
+        Instant now = Instant.now();
+        CompletableFuture<?>[] fetches = new CompletableFuture<?>[sources.size()];
+        for (int i = 0; i < fetches.length; i++) {
+            fetches[i] = sources.get(i).refresh(now);
+        }
+        return CompletableFuture.allOf(fetches).thenApply(ignored -> mergeParkings());
+    }
+
+    /**
+     * Time at which parkings of any source were last replaced by newer ones
+     */
+    @Override
+    public Optional<Instant> getLastSuccessfulFetchTime() {
+        return Optional.ofNullable(updatedAt);
+    }
+
+    private List<Parking> mergeParkings() {
+        List<Parking> parkings = new ArrayList<>();
+        Map<String, String> sourceById = new HashMap<>();
+        for (Source source : sources) {
+            SourceParkings last = source.lastParkings;
+            if (last == null) {
+                continue;
+            }
+            String name = source.dataPort.getName();
+            List<String> duplicateIds = new ArrayList<>();
+            for (Parking parking : last.getParkings()) {
+                if (sourceById.putIfAbsent(parking.getId(), name) == null) {
+                    parkings.add(parking);
+                } else {
+                    duplicateIds.add(parking.getId());
+                }
+            }
+            if (!duplicateIds.isEmpty()) {
+                log.warn("Dropped {} parkings of data source {} whose ids are already used, e.g. '{}' by {}",
+                        duplicateIds.size(), name, duplicateIds.get(0), sourceById.get(duplicateIds.get(0)));
+            }
+        }
+        return Collections.unmodifiableList(parkings);
+    }
+
+    /**
+     * A data source and its last fetched parkings
+     */
+    private final class Source {
+        private final ParkingDataPort dataPort;
+        private final Duration deadline;
+        private final Duration interval;
+
+        private volatile SourceParkings lastParkings;
+        private volatile CompletableFuture<Void> inFlight = CompletableFuture.completedFuture(null);
+        private volatile Instant nextFetch = Instant.MIN;
+
+        private Source(ParkingDataPort dataPort, Duration deadline, Duration interval) {
+            this.dataPort = dataPort;
+            this.deadline = deadline;
+            this.interval = interval;
+        }
+
+        /**
+         * Fetch the source when due, or wait for the fetch still in flight
+         *
+         * @return completed once the parkings are received or the deadline elapses, never fails
+         */
+        private CompletableFuture<Void> refresh(Instant now) {
+            CompletableFuture<Void> fetch = inFlight;
+            if (fetch.isDone()) {
+                if (now.isBefore(nextFetch)) {
+                    return fetch;
+                }
+                nextFetch = now.plus(interval);
+                fetch = fetchParkings();
+                inFlight = fetch;
+            }
+
+            // Waiting on a copy, so that the fetch itself goes on after the deadline
+            return fetch.copy()
+                    .orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS)
+                    .exceptionally(failure -> {
+                        if (failure instanceof TimeoutException) {
+                            log.warn("Data source {} did not answer within {}, merging its last parkings",
+                                    dataPort.getName(), deadline);
+                        }
+                        return null;
+                    });
+        }
+
+        private CompletableFuture<Void> fetchParkings() {
+            CompletableFuture<List<Parking>> fetch;
+            try {
+                fetch = dataPort.fetchParkingsAsync();
+            } catch (RuntimeException e) {
+                fetch = CompletableFuture.failedFuture(e);
+            }
+            return fetch.handle((parkings, failure) -> {
+                if (failure != null) {
+                    log.error("Error fetching parkings from data source {}", dataPort.getName(), failure);
+                } else if (parkings == null || parkings.isEmpty()) {
+                    log.warn("No parkings received from data source {}", dataPort.getName());
+                } else {
+                    onFetched(parkings);
+                }
+                return null;
+            });
+        }
+
+        private void onFetched(List<Parking> parkings) {
+            // Last known parkings served by a failing source are not newer than the ones already kept
+            Instant fetchedAt = dataPort.getLastSuccessfulFetchTime().orElseGet(Instant::now);
+            SourceParkings last = lastParkings;
+            if (last != null && !fetchedAt.isAfter(last.getFetchedAt())) {
+                log.debug("Data source {} served parkings fetched at {}, already merged", dataPort.getName(), fetchedAt);
+                return;
+            }
+
+            lastParkings = new SourceParkings(List.copyOf(parkings), fetchedAt);
+            updatedAt = Instant.now();
+        }
+    }
+
+    @Value
+    private static class SourceParkings {
+        List<Parking> parkings;
+        Instant fetchedAt;  // As reported by the source
+    }
+}
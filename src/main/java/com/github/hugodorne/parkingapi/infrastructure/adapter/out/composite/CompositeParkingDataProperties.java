@@ -0,0 +1,40 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.composite;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the aggregation of parking data sources
+ */
+@Component
+@ConfigurationProperties(prefix = "parking.aggregation")
+@Data
+public class CompositeParkingDataProperties {
+    private Duration deadline = Duration.ofSeconds(15);  // Maximum wait for each source on a refresh
+    private Map<String, Source> sources = new HashMap<>();  // By data source name
+
+    /**
+     * Settings of a single data source, overriding the defaults
+     */
+    @Data
+    public static class Source {
+        private Duration deadline;  // Maximum wait for this source on a refresh, the default deadline when not set
+        private Duration interval = Duration.ZERO;  // Minimum delay between two fetches, fetched on every refresh when zero
+    }
+
+    /**
+     * Settings of a data source, the defaults when it has none
+     */
+    public Source getSource(String name) {
+        Source source = sources.getOrDefault(name, new Source());
+        Source resolved = new Source();
+        resolved.setDeadline(source.getDeadline() != null ? source.getDeadline() : deadline);
+        resolved.setInterval(source.getInterval() != null ? source.getInterval() : Duration.ZERO);
+        return resolved;
+    }
+}
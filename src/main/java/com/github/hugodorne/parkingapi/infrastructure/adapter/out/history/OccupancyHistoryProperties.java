@@ -0,0 +1,24 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.history;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the occupancy history
+ */
+@Component
+@ConfigurationProperties(prefix = "parking.history")
+@Data
+public class OccupancyHistoryProperties {
+    private boolean enabled = false;
+    private Path directory;  // Required once enabled, created on the first record
+    private DataSize segmentSize = DataSize.ofMegabytes(16);  // A segment is rolled once full
+    private Duration segmentDuration = Duration.ofDays(1);  // Or once older than this
+    private Duration maxAge = Duration.ofDays(90);  // Segments whose records are all older are deleted
+    private DataSize maxSize = DataSize.ofGigabytes(1);  // Oldest segments are deleted beyond this total size
+}
@@ -0,0 +1,34 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.history;
+
+import com.github.hugodorne.parkingapi.domain.model.ParkingChanges;
+import com.github.hugodorne.parkingapi.domain.model.ParkingSnapshot;
+import com.github.hugodorne.parkingapi.domain.port.out.ParkingSnapshotListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Records the occupancy of the parkings of each published snapshot in the occupancy history.
+ * Refreshes without any change are not published, the occupancy recorded last still applies.
+ */
+@Component
+@ConditionalOnProperty(prefix = "parking.history", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class OccupancyHistoryRecorder implements ParkingSnapshotListener {
+
+    private final OccupancyHistoryStore store;
+
+    @Override
+    public void onSnapshotPublished(ParkingSnapshot previous, ParkingSnapshot published, ParkingChanges changes) {
+        try {
+            store.append(published.getRefreshedAt().toEpochMilli(), published.getTable());
+        } catch (UncheckedIOException e) {
+            // The snapshot is served anyway, only its history is missing
+            log.error("Error recording occupancy history of version {}: {}", published.getVersion(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.history;
+
+import com.github.hugodorne.parkingapi.domain.model.ParkingStatus;
+import com.github.hugodorne.parkingapi.domain.model.ParkingTable;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of parking occupancy, split into memory-mapped segment files.
+ * <p>
+ * Each append records the available spaces, total spaces and status of every parking of a table at a
+ * timestamp, as fixed-width records (see {@link OccupancySegment}). Parking ids are stored once, in the
+ * {@value #IDS_FILE} file, and referenced by their line number. Appending parkings already known allocates
+ * nothing: records are written in place in the mapped file of the active segment.
+ * <p>
+ * The active segment is rolled once full or older than the segment duration. Segments whose records are all
+ * older than the maximum age, and the oldest segments beyond the maximum total size, are deleted.
+ * <p>
+ * Appends come from a single writer at a time. Scans can run concurrently with appends, and see every record
+ * appended before they reached its segment.
+ */
+@Slf4j
+public class OccupancyHistoryStore implements Closeable {
+
+    static final String IDS_FILE = "parkings.ids";
+    static final String SEGMENT_SUFFIX = ".occ";
+
+    private final Path directory;
+    private final long segmentSize;
+    private final long segmentDurationMillis;
+    private final long maxAgeMillis;
+    private final long maxSizeBytes;
+    private final Clock clock;
+
+    private final Map<String, Integer> parkingIndexes = new HashMap<>();  // Only accessed by the writer
+    private volatile String[] parkingIds;
+    private volatile OccupancySegment[] segments;  // Oldest first, the last one receives the appends
+    private FileChannel idsChannel;
+    private long lastTimestamp = Long.MIN_VALUE;
+    private boolean closed;
+
+    public OccupancyHistoryStore(OccupancyHistoryProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    OccupancyHistoryStore(OccupancyHistoryProperties properties, Clock clock) {
+        this.directory = properties.getDirectory();
+        this.segmentSize = properties.getSegmentSize().toBytes();
+        this.segmentDurationMillis = properties.getSegmentDuration().toMillis();
+        this.maxAgeMillis = properties.getMaxAge().toMillis();
+        this.maxSizeBytes = properties.getMaxSize().toBytes();
+        this.clock = clock;
+        try {
+            this.parkingIds = readParkingIds();
+            this.segments = openSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error opening occupancy history in " + directory, e);
+        }
+        for (int i = 0; i < parkingIds.length; i++) {
+            parkingIndexes.put(parkingIds[i], i);
+        }
+        if (segments.length > 0) {
+            OccupancySegment last = segments[segments.length - 1];
+            lastTimestamp = last.count() > 0 ? last.timestamp(last.count() - 1) : Long.MIN_VALUE;
+            log.info("Opened occupancy history with {} segments in {}", segments.length, directory);
+        }
+    }
+
+    /**
+     * Record the occupancy of every parking of a table.
+     * Timestamps lower than the last one recorded are recorded as the last one, so that records stay ordered.
+     *
+     * @param timestamp Time of the occupancy, in epoch milliseconds
+     * @param table     Parkings recorded
+     */
+    public synchronized void append(long timestamp, ParkingTable table) {
+        if (closed) {
+            throw new IllegalStateException("Occupancy history closed");
+        }
+
+        try {
+            lastTimestamp = Math.max(lastTimestamp, timestamp);
+            OccupancySegment segment = activeSegment();
+            for (int row = 0; row < table.size(); row++) {
+                int parkingIndex = parkingIndex(table.getId(row));
+                if (segment.isFull()) {
+                    segment = roll();
+                }
+                ParkingStatus status = table.getStatus(row);
+                segment.append(lastTimestamp, parkingIndex, table.getAvailableSpaces(row), table.getTotalSpaces(row),
+                        status != null ? (byte) status.ordinal() : ParkingTable.NO_STATUS);
+            }
+            deleteExpiredSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error appending to occupancy history in " + directory, e);
+        }
+    }
+
+    /**
+     * Visit the records whose timestamp is within a range, in timestamp order.
+     * Only the segments overlapping the range are read, from the first indexed block of the range.
+     *
+     * @param from    Start of the range in epoch milliseconds, inclusive
+     * @param to      End of the range in epoch milliseconds, exclusive
+     * @param visitor Called with each record
+     */
+    public void scan(long from, long to, OccupancyRecordVisitor visitor) {
+        OccupancySegment[] scanned = segments;
+        for (int i = 0; i < scanned.length; i++) {
+            OccupancySegment segment = scanned[i];
+            int records = segment.count();
+            // Empty segments can be followed by others, e.g. rolled right before a crash or a restart
+            if (records == 0) {
+                continue;
+            }
+            if (segment.timestamp(0) >= to) {
+                return;
+            }
+            if (segment.timestamp(records - 1) >= from) {
+                // Ids read after the record count, so that every recorded parking is known
+                segment.scan(records, from, to, parkingIds, visitor);
+            }
+        }
+    }
+
+    /**
+     * Number of segment files
+     */
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * Write the appended records to the storage device, and stop appending
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (OccupancySegment segment : segments) {
+            segment.force();
+        }
+        if (idsChannel != null) {
+            try {
+                idsChannel.close();
+            } catch (IOException e) {
+                log.warn("Error closing {}: {}", directory.resolve(IDS_FILE), e.getMessage());
+            }
+        }
+    }
+
+    private OccupancySegment activeSegment() throws IOException {
+        OccupancySegment[] current = segments;
+        if (current.length == 0) {
+            return roll();
+        }
+        OccupancySegment last = current[current.length - 1];
+        if (!last.isWritable() || last.isFull() || clock.millis() - last.getCreatedAt() >= segmentDurationMillis) {
+            return roll();
+        }
+        return last;
+    }
+
+    private OccupancySegment roll() throws IOException {
+        OccupancySegment[] current = segments;
+        long sequence = 1;
+        if (current.length > 0) {
+            OccupancySegment last = current[current.length - 1];
+            last.force();
+            sequence = last.getSequence() + 1;
+        }
+
+        Files.createDirectories(directory);
+        Path path = directory.resolve(String.format("%020d%s", sequence, SEGMENT_SUFFIX));
+        OccupancySegment segment = OccupancySegment.create(path, sequence, segmentSize, clock.millis());
+        OccupancySegment[] rolled = Arrays.copyOf(current, current.length + 1);
+        rolled[current.length] = segment;
+        segments = rolled;
+        log.debug("Rolled occupancy history segment {}", path);
+        return segment;
+    }
+
+    /**
+     * Delete the segments older than the maximum age or beyond the maximum size, never the active one
+     */
+    private void deleteExpiredSegments() throws IOException {
+        OccupancySegment[] current = segments;
+        long totalSize = 0;
+        for (int i = 0; i < current.length; i++) {
+            totalSize += current[i].getFileSize();
+        }
+
+        long oldestKept = clock.millis() - maxAgeMillis;
+        int deleted = 0;
+        while (deleted < current.length - 1) {
+            OccupancySegment oldest = current[deleted];
+            boolean expired = oldest.count() == 0 || oldest.timestamp(oldest.count() - 1) < oldestKept;
+            if (!expired && totalSize <= maxSizeBytes) {
+                break;
+            }
+            totalSize -= oldest.getFileSize();
+            deleted++;
+        }
+        if (deleted == 0) {
+            return;
+        }
+
+        segments = Arrays.copyOfRange(current, deleted, current.length);
+        for (int i = 0; i < deleted; i++) {
+            current[i].delete();
+            log.info("Deleted occupancy history segment {}", current[i].getPath());
+        }
+    }
+
+    /**
+     * Index of a parking id, recorded in the ids file the first time the parking is seen
+     */
+    private int parkingIndex(String id) throws IOException {
+        Integer index = parkingIndexes.get(id);
+        if (index != null) {
+            return index;
+        }
+        if (id.indexOf('\n') >= 0) {
+            throw new IllegalArgumentException("Parking id with a line break: " + id);
+        }
+
+        if (idsChannel == null) {
+            Files.createDirectories(directory);
+            idsChannel = FileChannel.open(directory.resolve(IDS_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        ByteBuffer line = ByteBuffer.wrap((id + "\n").getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            idsChannel.write(line);
+        }
+
+        String[] known = parkingIds;
+        String[] extended = Arrays.copyOf(known, known.length + 1);
+        extended[known.length] = id;
+        parkingIds = extended;
+        parkingIndexes.put(id, known.length);
+        return known.length;
+    }
+
+    private String[] readParkingIds() throws IOException {
+        Path path = directory.resolve(IDS_FILE);
+        if (!Files.exists(path)) {
+            return new String[0];
+        }
+        // A line interrupted by a crash is not referenced by any record
+        String content = Files.readString(path, StandardCharsets.UTF_8);
+        int complete = content.lastIndexOf('\n') + 1;
+        return complete == 0 ? new String[0] : content.substring(0, complete - 1).split("\n", -1);
+    }
+
+    private OccupancySegment[] openSegments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new OccupancySegment[0];
+        }
+
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+        OccupancySegment[] opened = new OccupancySegment[paths.size()];
+        for (int i = 0; i < paths.size(); i++) {
+            String name = paths.get(i).getFileName().toString();
+            long sequence = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            // Only the last segment can still receive appends
+            opened[i] = OccupancySegment.open(paths.get(i), sequence, i == paths.size() - 1);
+        }
+        return opened;
+    }
+}
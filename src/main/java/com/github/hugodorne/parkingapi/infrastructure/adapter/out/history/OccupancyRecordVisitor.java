@@ -0,0 +1,20 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.history;
+
+import com.github.hugodorne.parkingapi.domain.model.ParkingStatus;
+import com.github.hugodorne.parkingapi.domain.model.ParkingTable;
+
+/**
+ * Receives the occupancy records of a scan, read in place from the segment files
+ */
+@FunctionalInterface
+public interface OccupancyRecordVisitor {
+
+    /**
+     * @param timestamp       Refresh time of the snapshot recorded, in epoch milliseconds
+     * @param parkingId       Parking id
+     * @param availableSpaces Available spaces, or {@link ParkingTable#NO_SPACES}
+     * @param totalSpaces     Total spaces, or {@link ParkingTable#NO_SPACES}
+     * @param status          Status, or {@code null} when unknown to the data source
+     */
+    void visit(long timestamp, String parkingId, int availableSpaces, int totalSpaces, ParkingStatus status);
+}
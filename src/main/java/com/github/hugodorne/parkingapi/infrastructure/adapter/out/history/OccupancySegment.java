@@ -0,0 +1,227 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.history;
+
+import com.github.hugodorne.parkingapi.domain.model.ParkingStatus;
+import com.github.hugodorne.parkingapi.domain.model.ParkingTable;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory-mapped file of fixed-width occupancy records, appended in timestamp order.
+ * <p>
+ * Layout, big-endian:
+ * <pre>
+ * header   64 bytes   magic, record size, record capacity, index interval, creation time, record count
+ * index    8 bytes    timestamp of every {@value #INDEX_INTERVAL}th record
+ * records  24 bytes   timestamp (long), parking index (int), available spaces (int), total spaces (int),
+ *                     status ordinal (byte), 3 bytes of padding
+ * </pre>
+ * The record count is written after each record, so a segment reopened after a crash only exposes complete
+ * records. Readers binary search the index for the first block of a time range, then read the fields of the
+ * records in the range in place.
+ */
+final class OccupancySegment {
+
+    static final int MAGIC = 0x4F434331;  // "OCC1"
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 24;
+    static final int INDEX_INTERVAL = 256;
+
+    private static final int RECORD_SIZE_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int INDEX_INTERVAL_OFFSET = 12;
+    private static final int CREATED_AT_OFFSET = 16;
+    private static final int COUNT_OFFSET = 24;
+
+    private static final ParkingStatus[] STATUSES = ParkingStatus.values();
+
+    private final Path path;
+    private final long sequence;
+    private final MappedByteBuffer buffer;
+    private final boolean writable;
+    private final int capacity;
+    private final int recordsOffset;
+    private final long createdAt;
+    private volatile int count;  // Records readable, written after the record itself
+
+    private OccupancySegment(Path path, long sequence, MappedByteBuffer buffer, boolean writable) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC
+                || buffer.getInt(RECORD_SIZE_OFFSET) != RECORD_SIZE || buffer.getInt(INDEX_INTERVAL_OFFSET) != INDEX_INTERVAL) {
+            throw new IOException("Not an occupancy segment: " + path);
+        }
+        this.path = path;
+        this.sequence = sequence;
+        this.buffer = buffer;
+        this.writable = writable;
+        this.capacity = buffer.getInt(CAPACITY_OFFSET);
+        this.recordsOffset = HEADER_SIZE + indexEntries(capacity) * Long.BYTES;
+        this.createdAt = buffer.getLong(CREATED_AT_OFFSET);
+        this.count = Math.min(buffer.getInt(COUNT_OFFSET), capacity);
+        if ((long) recordsOffset + (long) capacity * RECORD_SIZE > buffer.capacity()) {
+            throw new IOException("Truncated occupancy segment: " + path);
+        }
+    }
+
+    /**
+     * Create an empty segment file, mapped for appending
+     *
+     * @param maxSize   Maximum file size, the record capacity is derived from it
+     * @param createdAt Creation time in epoch milliseconds, for rolling by age
+     */
+    static OccupancySegment create(Path path, long sequence, long maxSize, long createdAt) throws IOException {
+        // Each record also takes its share of an index entry
+        long capacity = (maxSize - HEADER_SIZE) * INDEX_INTERVAL / ((long) RECORD_SIZE * INDEX_INTERVAL + Long.BYTES);
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Segment size too small: " + maxSize);
+        }
+        int records = (int) Math.min(capacity, (Integer.MAX_VALUE - HEADER_SIZE) / (RECORD_SIZE + 1));
+        long fileSize = HEADER_SIZE + (long) indexEntries(records) * Long.BYTES + (long) records * RECORD_SIZE;
+
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            buffer.putInt(RECORD_SIZE_OFFSET, RECORD_SIZE);
+            buffer.putInt(CAPACITY_OFFSET, records);
+            buffer.putInt(INDEX_INTERVAL_OFFSET, INDEX_INTERVAL);
+            buffer.putLong(CREATED_AT_OFFSET, createdAt);
+            buffer.putInt(COUNT_OFFSET, 0);
+            buffer.putInt(0, MAGIC);
+            return new OccupancySegment(path, sequence, buffer, true);
+        }
+    }
+
+    /**
+     * Map an existing segment file
+     *
+     * @param writable Whether records can still be appended
+     */
+    static OccupancySegment open(Path path, long sequence, boolean writable) throws IOException {
+        try (FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(
+                    writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new OccupancySegment(path, sequence, buffer, writable);
+        }
+    }
+
+    /**
+     * Append a record, without allocating. The timestamp must not be lower than the last one.
+     */
+    void append(long timestamp, int parkingIndex, int availableSpaces, int totalSpaces, byte status) {
+        int record = count;
+        int offset = recordsOffset + record * RECORD_SIZE;
+        buffer.putLong(offset, timestamp);
+        buffer.putInt(offset + 8, parkingIndex);
+        buffer.putInt(offset + 12, availableSpaces);
+        buffer.putInt(offset + 16, totalSpaces);
+        buffer.put(offset + 20, status);
+        if (record % INDEX_INTERVAL == 0) {
+            buffer.putLong(HEADER_SIZE + record / INDEX_INTERVAL * Long.BYTES, timestamp);
+        }
+        buffer.putInt(COUNT_OFFSET, record + 1);
+        count = record + 1;
+    }
+
+    /**
+     * Visit the records whose timestamp is within a range, in order
+     *
+     * @param records    Number of records to consider, read before the parking ids
+     * @param from       Start of the range in epoch milliseconds, inclusive
+     * @param to         End of the range in epoch milliseconds, exclusive
+     * @param parkingIds Parking ids by parking index
+     */
+    void scan(int records, long from, long to, String[] parkingIds, OccupancyRecordVisitor visitor) {
+        for (int record = firstBlockStart(records, from); record < records; record++) {
+            int offset = recordsOffset + record * RECORD_SIZE;
+            long timestamp = buffer.getLong(offset);
+            if (timestamp >= to) {
+                return;
+            }
+            if (timestamp >= from) {
+                byte status = buffer.get(offset + 20);
+                visitor.visit(timestamp, parkingIds[buffer.getInt(offset + 8)],
+                        buffer.getInt(offset + 12), buffer.getInt(offset + 16),
+                        status != ParkingTable.NO_STATUS ? STATUSES[status] : null);
+            }
+        }
+    }
+
+    /**
+     * First record of the last indexed block starting before a time, every earlier record being before it
+     */
+    private int firstBlockStart(int records, long from) {
+        int low = 0;
+        int high = indexEntries(records) - 1;
+        int block = 0;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (buffer.getLong(HEADER_SIZE + middle * Long.BYTES) < from) {
+                block = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return block * INDEX_INTERVAL;
+    }
+
+    /**
+     * Timestamp of a record
+     */
+    long timestamp(int record) {
+        return buffer.getLong(recordsOffset + record * RECORD_SIZE);
+    }
+
+    int count() {
+        return count;
+    }
+
+    boolean isFull() {
+        return count >= capacity;
+    }
+
+    boolean isWritable() {
+        return writable;
+    }
+
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    long getFileSize() {
+        return buffer.capacity();
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Write the appended records to the storage device
+     */
+    void force() {
+        if (writable) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Delete the file, readers still scanning it keep their mapping
+     */
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    private static int indexEntries(int records) {
+        return (records + INDEX_INTERVAL - 1) / INDEX_INTERVAL;
+    }
+}
@@ -15,28 +15,43 @@ public class PoitiersApiResponse {
 
     @Data
     public static class ParkingData {
-        @JsonProperty("Id")
+        public static final String ID = "Id";
+        public static final String NOM = "Nom";
+        public static final String CAPACITE = "Capacite";
+        public static final String PLACES = "Places";
+        public static final String TAUX_OCCUPATION = "taux_doccupation";
+        public static final String GEOPOINT = "_geopoint";
+        public static final String INFOS_PARKINGS_GEO_POINT = "infos_parkingsgeo_point";
+        public static final String DERNIERE_MISE_A_JOUR = "Dernière_mise_à_jour_Base";
+
+        /**
+         * Columns read by the adapter, the occupancy rate is derived from capacity and available spaces instead
+         */
+        public static final List<String> READ_FIELDS = List.of(
+                ID, NOM, CAPACITE, PLACES, GEOPOINT, INFOS_PARKINGS_GEO_POINT, DERNIERE_MISE_A_JOUR);
+
+        @JsonProperty(ID)
         private Integer id;
 
-        @JsonProperty("Nom")
+        @JsonProperty(NOM)
         private String nom;
 
-        @JsonProperty("Capacite")
+        @JsonProperty(CAPACITE)
         private Integer capacite;
 
-        @JsonProperty("Places")
+        @JsonProperty(PLACES)
         private Integer places;
 
-        @JsonProperty("taux_doccupation")
+        @JsonProperty(TAUX_OCCUPATION)
         private Double tauxOccupation;
 
-        @JsonProperty("_geopoint")
+        @JsonProperty(GEOPOINT)
         private String geopoint;
 
-        @JsonProperty("infos_parkingsgeo_point")
+        @JsonProperty(INFOS_PARKINGS_GEO_POINT)
         private String infoParkingsGeoPoint;
 
-        @JsonProperty("Dernière_mise_à_jour_Base")
+        @JsonProperty(DERNIERE_MISE_A_JOUR)
         private String derniereMiseAJour;
     }
 }
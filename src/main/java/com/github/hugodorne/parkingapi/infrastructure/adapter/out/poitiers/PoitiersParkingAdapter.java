@@ -3,13 +3,32 @@ package com.github.hugodorne.parkingapi.infrastructure.adapter.out.poitiers;
 import com.github.hugodorne.parkingapi.domain.model.Parking;
 import com.github.hugodorne.parkingapi.domain.model.ParkingStatus;
 import com.github.hugodorne.parkingapi.domain.port.out.ParkingDataPort;
+import com.github.hugodorne.parkingapi.infrastructure.adapter.out.common.GeoPointParser;
+import com.github.hugodorne.parkingapi.infrastructure.adapter.out.common.SingleFlight;
+import com.github.hugodorne.parkingapi.infrastructure.adapter.out.common.UpstreamHttpClient;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Adapter for Poitiers parking data source
@@ -19,36 +38,278 @@ import java.util.List;
 @Slf4j
 public class PoitiersParkingAdapter implements ParkingDataPort {
 
-    private final RestTemplate restTemplate;
+    private static final int NOT_MODIFIED = 304;
+    private static final int MAX_PAGED_ROWS = 10_000;  // data-fair refuses page * size beyond this
+
+    private final UpstreamHttpClient upstreamHttpClient;
     private final PoitiersParkingProperties properties;
+    private final SingleFlight<List<Parking>> singleFlight = new SingleFlight<>();
+    private final PoitiersResponseParser responseParser = new PoitiersResponseParser();
+    private final GeoPointParser geoPointParser = new GeoPointParser();
+
+    private volatile LastKnownParkings lastKnownParkings;
+    private volatile Instant retryNotBefore = Instant.MIN;
+
+    @Override
+    public String getName() {
+        return "poitiers";
+    }
 
+    /**
+     * Fetch parkings, waiting at most the fetch deadline for the request.
+     *
+     * @see #fetchParkingsAsync()
+     */
     @Override
-    @Cacheable(value = "parkings", unless = "#result == null || #result.isEmpty()")
     public List<Parking> fetchParkings() {
+        try {
+            return SingleFlight.await(fetchParkingsAsync(), properties.getFetchDeadline());
+        } catch (SingleFlight.SingleFlightTimeoutException e) {
+            log.warn("Gave up waiting for Poitiers API request in flight: {}", e.getMessage());
+            return lastKnownParkings();
+        }
+    }
+
+    /**
+     * Fetch parkings without blocking, concurrent callers share the single request in flight.
+     * The request is conditional, when the dataset is not modified the last fetched parkings are returned as is.
+     * Otherwise the response is mapped while it is parsed, and parkings whose update time did not change
+     * are reused rather than mapped again. Datasets larger than a page are fetched page by page, several at once.
+     * While the API is failing, the last successfully fetched parkings are served instead,
+     * and the API is not called again before the failure backoff elapses. The future never fails.
+     */
+    @Override
+    public CompletableFuture<List<Parking>> fetchParkingsAsync() {
+        if (Instant.now().isBefore(retryNotBefore)) {
+            log.debug("Poitiers API failed recently, not retrying before {}", retryNotBefore);
+            return CompletableFuture.completedFuture(lastKnownParkings());
+        }
+        return singleFlight.executeAsync(this::loadParkings);
+    }
+
+    @Override
+    public Optional<Instant> getLastSuccessfulFetchTime() {
+        LastKnownParkings last = lastKnownParkings;
+        return last != null ? Optional.of(last.getFetchedAt()) : Optional.empty();
+    }
+
+    private CompletableFuture<List<Parking>> loadParkings() {
         log.info("Fetching parkings from Poitiers data source: {}", properties.getUrl());
 
-        try {
-            PoitiersApiResponse response = restTemplate.getForObject(
-                    properties.getUrl(),
-                    PoitiersApiResponse.class
-            );
-
-            if (response == null || response.getResults() == null) {
-                log.warn("No data received from Poitiers API");
-                return List.of();
+        LastKnownParkings last = lastKnownParkings;
+        int pageSize = properties.getPageSize();
+        return fetchPage(1, pageSize, requestHeaders(last), last)
+                .thenCompose(first -> first != null
+                        ? fetchRemainingPages(first, pageSize, last)
+                        : CompletableFuture.<LastKnownParkings>completedFuture(null))
+                .handle((fetched, failure) -> {
+                    if (failure != null) {
+                        log.error("Error fetching parkings from Poitiers API", unwrap(failure));
+                        return onFailure();
+                    }
+
+                    if (fetched == null) {
+                        log.warn("No data received from Poitiers API");
+                        return onFailure();
+                    }
+
+                    if (!fetched.getParkings().isEmpty()) {
+                        lastKnownParkings = fetched;
+                    }
+                    retryNotBefore = Instant.MIN;
+                    return fetched.getParkings();
+                });
+    }
+
+    private CompletableFuture<FetchedPage> fetchPage(int page, int pageSize, Map<String, String> headers, LastKnownParkings last) {
+        return upstreamHttpClient.get(
+                pageUrl(page, pageSize),
+                properties.getRequestTimeout(),
+                headers,
+                (status, responseHeaders, body) -> readPage(status, responseHeaders, body, last)
+        );
+    }
+
+    /**
+     * Fetch the pages after the first one when the dataset does not fit in it, at most
+     * {@code maxConcurrentPages} at once, and merge them in order.
+     * Any page failing fails the whole fetch, so that a truncated dataset is never served.
+     */
+    private CompletableFuture<LastKnownParkings> fetchRemainingPages(FetchedPage first, int pageSize, LastKnownParkings last) {
+        int pageCount = pageCount(first, pageSize);
+        FetchedPage[] pages = new FetchedPage[pageCount];
+        pages[0] = first;
+        if (pageCount == 1) {
+            return CompletableFuture.completedFuture(merge(pages, first.getTotal()));
+        }
+
+        log.debug("Poitiers dataset has {} parkings, fetching {} pages", first.getTotal(), pageCount);
+        Map<String, String> headers = Map.of("Accept", "application/json");
+        int lanes = Math.min(Math.max(1, properties.getMaxConcurrentPages()), pageCount - 1);
+        CompletableFuture<?>[] fetches = new CompletableFuture<?>[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            // Each lane fetches its pages one after the other
+            CompletableFuture<Void> fetch = CompletableFuture.completedFuture(null);
+            for (int page = 2 + lane; page <= pageCount; page += lanes) {
+                int index = page - 1;
+                fetch = fetch.thenCompose(ignored -> fetchPage(index + 1, pageSize, headers, last))
+                        .thenAccept(fetched -> pages[index] = requirePage(fetched, index + 1));
+            }
+            fetches[lane] = fetch;
+        }
+        return CompletableFuture.allOf(fetches).thenApply(ignored -> merge(pages, first.getTotal()));
+    }
+
+    /**
+     * Number of pages to fetch, according to the total announced by the first page.
+     * A dataset larger than data-fair can page fails the fetch rather than being truncated.
+     */
+    private static int pageCount(FetchedPage first, int pageSize) {
+        int total = first.getTotal();
+        int rowCount = first.getParkings().size();
+        if (total <= rowCount) {
+            return 1;
+        }
+        if (rowCount < pageSize) {
+            log.warn("Poitiers API returned {} parkings out of {}, with a page size of {}", rowCount, total, pageSize);
+            return 1;
+        }
+        if (total > MAX_PAGED_ROWS) {
+            throw new IllegalStateException("Poitiers dataset has " + total + " parkings, only the first "
+                    + MAX_PAGED_ROWS + " can be paged");
+        }
+        return (total + pageSize - 1) / pageSize;
+    }
+
+    private static FetchedPage requirePage(FetchedPage page, int number) {
+        if (page == null) {
+            throw new IllegalStateException("No data received for page " + number + " of Poitiers parkings");
+        }
+        return page;
+    }
+
+    /**
+     * Concatenate pages in order. Rows shifted between two pages while the dataset was updated are kept once.
+     */
+    private static LastKnownParkings merge(FetchedPage[] pages, int total) {
+        FetchedPage first = pages[0];
+        if (pages.length == 1) {
+            return new LastKnownParkings(first.getParkings(), Instant.now(), first.getRows(), first.getEtag(), first.getLastModified());
+        }
+
+        Map<String, MappedRow> rows = new HashMap<>();
+        List<Parking> parkings = new ArrayList<>();
+        for (FetchedPage page : pages) {
+            for (Parking parking : page.getParkings()) {
+                MappedRow row = page.getRows().get(parking.getId());
+                if (rows.putIfAbsent(parking.getId(), row) == null) {
+                    parkings.add(parking);
+                }
+            }
+        }
+        if (parkings.size() < total) {
+            log.warn("Read {} Poitiers parkings out of {}, the dataset changed while it was paged", parkings.size(), total);
+        }
+
+        return new LastKnownParkings(Collections.unmodifiableList(parkings), Instant.now(),
+                rows, first.getEtag(), first.getLastModified());
+    }
+
+    /**
+     * Map the response body to parkings while it is parsed, without binding it first
+     *
+     * @return the page of parkings, or {@code null} when the response has no data
+     */
+    private FetchedPage readPage(int status, HttpHeaders headers, InputStream body, LastKnownParkings last)
+            throws IOException {
+        // Nothing changed since the last fetch, the parkings are confirmed as current
+        if (status == NOT_MODIFIED) {
+            log.debug("Poitiers parkings not modified since last fetch");
+            return last != null
+                    ? new FetchedPage(last.getParkings(), last.getRows(), -1, last.getEtag(), last.getLastModified())
+                    : null;
+        }
+
+        Map<String, MappedRow> previousRows = last != null ? last.getRows() : Map.of();
+        Map<String, MappedRow> rows = new HashMap<>();
+        List<Parking> parkings = new ArrayList<>();
+        double[] coordinates = new double[2];
+        PoitiersResponseParser.ParsedPage page = responseParser.parse(body, data -> {
+            String parkingId = parkingId(data);
+            MappedRow row = previousRows.get(parkingId);
+            if (row == null || !row.isUpToDate(data)) {
+                row = new MappedRow(data.getDerniereMiseAJour(), mapToParking(data, coordinates));
             }
+            rows.put(parkingId, row);
+            parkings.add(row.getParking());
+        });
+        if (!page.hasResults()) {
+            return null;
+        }
+        log.debug("Read {} Poitiers parkings", page.getRowCount());
 
-            return response.getResults().stream()
-                    .map(this::mapToParking)
-                    .toList();
+        return new FetchedPage(Collections.unmodifiableList(parkings), rows, page.getTotal(),
+                headers.firstValue("ETag").orElse(null), headers.firstValue("Last-Modified").orElse(null));
+    }
+
+    private String pageUrl(int page, int pageSize) {
+        UriComponentsBuilder url = UriComponentsBuilder.fromUriString(properties.getUrl());
+        List<String> select = properties.getSelect();
+        if (select != null && !select.isEmpty()) {
+            // Only the columns read are sent, non-ASCII column names are percent-encoded
+            url.replaceQueryParam("select", UriUtils.encodeQueryParam(String.join(",", select), StandardCharsets.UTF_8));
+        }
+        url.replaceQueryParam("size", pageSize);
+        if (page > 1) {
+            url.replaceQueryParam("page", page);
+        }
+        return url.build().toUriString();
+    }
 
-        } catch (Exception e) {
-            log.error("Error fetching parkings from Poitiers API", e);
+    private static Map<String, String> requestHeaders(LastKnownParkings last) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Accept", "application/json");
+        if (last != null && last.getEtag() != null) {
+            headers.put("If-None-Match", last.getEtag());
+        }
+        if (last != null && last.getLastModified() != null) {
+            headers.put("If-Modified-Since", last.getLastModified());
+        }
+        return headers;
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof UncheckedIOException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static String parkingId(PoitiersApiResponse.ParkingData data) {
+        return data.getId() != null ? data.getId().toString() : data.getNom();
+    }
+
+    private List<Parking> onFailure() {
+        Duration backoff = properties.getFailureBackoff();
+        if (backoff != null) {
+            retryNotBefore = Instant.now().plus(backoff);
+        }
+        return lastKnownParkings();
+    }
+
+    private List<Parking> lastKnownParkings() {
+        LastKnownParkings last = lastKnownParkings;
+        if (last == null) {
             return List.of();
         }
+
+        log.warn("Serving last known Poitiers parkings, fetched {}s ago",
+                Duration.between(last.getFetchedAt(), Instant.now()).toSeconds());
+        return last.getParkings();
     }
 
-    private Parking mapToParking(PoitiersApiResponse.ParkingData data) {
+    private Parking mapToParking(PoitiersApiResponse.ParkingData data, double[] coordinates) {
         // Extract coordinates from geopoint string (format: "latitude, longitude")
         Double latitude = null;
         Double longitude = null;
@@ -58,16 +319,11 @@ public class PoitiersParkingAdapter implements ParkingDataPort {
             geopoint = data.getInfoParkingsGeoPoint();
         }
 
-        if (geopoint != null && !geopoint.isEmpty()) {
-            try {
-                String[] coords = geopoint.split(",");
-                if (coords.length == 2) {
-                    latitude = Double.parseDouble(coords[0].trim());
-                    longitude = Double.parseDouble(coords[1].trim());
-                }
-            } catch (NumberFormatException e) {
-                log.warn("Failed to parse geopoint: {}", geopoint);
-            }
+        if (geoPointParser.parse(geopoint, coordinates)) {
+            latitude = coordinates[0];
+            longitude = coordinates[1];
+        } else if (geopoint != null && !geopoint.isEmpty()) {
+            log.warn("Failed to parse geopoint: {} ({} rejected so far)", geopoint, geoPointParser.getRejectCount());
         }
 
         // Extract capacities
@@ -78,7 +334,7 @@ public class PoitiersParkingAdapter implements ParkingDataPort {
         ParkingStatus status = determineStatus(totalSpaces, availableSpaces);
 
         // Use ID as string identifier
-        String parkingId = data.getId() != null ? data.getId().toString() : data.getNom();
+        String parkingId = parkingId(data);
 
         return Parking.builder()
                 .id(parkingId)
@@ -104,5 +360,32 @@ public class PoitiersParkingAdapter implements ParkingDataPort {
         // If there are available spaces, consider it open
         return ParkingStatus.OPEN;
     }
-}
 
+    @Value
+    private static class LastKnownParkings {
+        List<Parking> parkings;
+        Instant fetchedAt;
+        Map<String, MappedRow> rows;  // By parking id, to skip mapping parkings not updated since
+        String etag;  // Validators of the response, sent back on the next fetch
+        String lastModified;
+    }
+
+    @Value
+    private static class FetchedPage {
+        List<Parking> parkings;
+        Map<String, MappedRow> rows;
+        int total;  // Parkings announced for the whole dataset, -1 when unknown
+        String etag;
+        String lastModified;
+    }
+
+    @Value
+    private static class MappedRow {
+        String updatedAt;  // Dernière_mise_à_jour_Base of the source row
+        Parking parking;
+
+        private boolean isUpToDate(PoitiersApiResponse.ParkingData data) {
+            return updatedAt != null && updatedAt.equals(data.getDerniereMiseAJour());
+        }
+    }
+}
@@ -4,6 +4,10 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Configuration properties for Poitiers parking data source
  */
@@ -12,5 +16,11 @@ import org.springframework.stereotype.Component;
 @Data
 public class PoitiersParkingProperties {
     private String url = "https://data.grandpoitiers.fr/data-fair/api/v1/datasets/mobilites-stationnement-des-parkings-en-temps-reel/lines";
+    private Duration requestTimeout = Duration.ofSeconds(10);  // Budget of a request, from sending it to reading the response
+    private Duration fetchDeadline = Duration.ofSeconds(20);  // Maximum wait of a blocking fetch for the request in flight
+    private List<String> select = new ArrayList<>(PoitiersApiResponse.ParkingData.READ_FIELDS);  // Columns requested, all when empty
+    private int pageSize = 1000;  // Rows requested per page, data-fair serves at most 10000
+    private int maxConcurrentPages = 4;  // Pages fetched at once when the dataset does not fit in one
+    private Duration failureBackoff = Duration.ofSeconds(30);  // No new request during this delay after a failure
 }
 
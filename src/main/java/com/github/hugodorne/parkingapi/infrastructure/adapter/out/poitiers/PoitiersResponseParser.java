@@ -0,0 +1,138 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.poitiers;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.Value;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader of Poitiers API responses.
+ * <p>
+ * Rows are read token by token into a single, reused {@link PoitiersApiResponse.ParkingData}, so the response
+ * is never bound into a tree of objects. Only {@link PoitiersApiResponse.ParkingData#READ_FIELDS} are decoded,
+ * other fields (e.g. {@code taux_doccupation}) are skipped.
+ */
+public class PoitiersResponseParser {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * Read a response, passing each row to the consumer in order.
+     * The row is reused for the next one, consumers must copy what they keep.
+     *
+     * @return the number of rows read and the total announced by the response
+     */
+    public ParsedPage parse(InputStream body, Consumer<PoitiersApiResponse.ParkingData> rowConsumer) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new ParsedPage(-1, -1);
+            }
+
+            int rows = -1;
+            int total = -1;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("results".equals(field) && value == JsonToken.START_ARRAY) {
+                    rows = parseRows(parser, rowConsumer);
+                } else if ("total".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    total = parser.getValueAsInt();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new ParsedPage(rows, total);
+        }
+    }
+
+    private static int parseRows(JsonParser parser, Consumer<PoitiersApiResponse.ParkingData> rowConsumer) throws IOException {
+        PoitiersApiResponse.ParkingData row = new PoitiersApiResponse.ParkingData();
+        int rows = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a parking object, got " + token);
+            }
+            clear(row);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case PoitiersApiResponse.ParkingData.ID -> row.setId(readInteger(parser));
+                    case PoitiersApiResponse.ParkingData.NOM -> row.setNom(readString(parser));
+                    case PoitiersApiResponse.ParkingData.CAPACITE -> row.setCapacite(readInteger(parser));
+                    case PoitiersApiResponse.ParkingData.PLACES -> row.setPlaces(readInteger(parser));
+                    case PoitiersApiResponse.ParkingData.GEOPOINT -> row.setGeopoint(readString(parser));
+                    case PoitiersApiResponse.ParkingData.INFOS_PARKINGS_GEO_POINT -> row.setInfoParkingsGeoPoint(readString(parser));
+                    case PoitiersApiResponse.ParkingData.DERNIERE_MISE_A_JOUR -> row.setDerniereMiseAJour(readString(parser));
+                    default -> parser.skipChildren();
+                }
+            }
+            rowConsumer.accept(row);
+            rows++;
+        }
+        return rows;
+    }
+
+    private static void clear(PoitiersApiResponse.ParkingData row) {
+        row.setId(null);
+        row.setNom(null);
+        row.setCapacite(null);
+        row.setPlaces(null);
+        row.setTauxOccupation(null);
+        row.setGeopoint(null);
+        row.setInfoParkingsGeoPoint(null);
+        row.setDerniereMiseAJour(null);
+    }
+
+    /**
+     * Integer value, coerced from decimals and strings as data binding does
+     */
+    private static Integer readInteger(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NULL -> null;
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getValueAsInt();
+            case VALUE_STRING -> parseInteger(parser, parser.getText().trim());
+            default -> throw new JsonParseException(parser, "Expected an integer, got " + parser.currentToken());
+        };
+    }
+
+    private static Integer parseInteger(JsonParser parser, String text) throws JsonParseException {
+        try {
+            return text.isEmpty() ? null : Integer.valueOf(text);
+        } catch (NumberFormatException e) {
+            throw new JsonParseException(parser, "Invalid integer: " + text, e);
+        }
+    }
+
+    /**
+     * String value, scalars other than strings are returned as their text
+     */
+    private static String readString(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!parser.currentToken().isScalarValue()) {
+            throw new JsonParseException(parser, "Expected a string, got " + parser.currentToken());
+        }
+        return parser.getText();
+    }
+
+    /**
+     * Outcome of reading one page of results
+     */
+    @Value
+    public static class ParsedPage {
+        int rowCount;  // -1 when the response has no results
+        int total;  // Rows of the whole dataset, -1 when not announced
+
+        public boolean hasResults() {
+            return rowCount >= 0;
+        }
+    }
+}
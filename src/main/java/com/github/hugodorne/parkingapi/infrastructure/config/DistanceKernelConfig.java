@@ -0,0 +1,33 @@
+package com.github.hugodorne.parkingapi.infrastructure.config;
+
+import com.github.hugodorne.parkingapi.domain.spatial.DistanceKernel;
+import com.github.hugodorne.parkingapi.domain.spatial.ScalarDistanceKernel;
+import com.github.hugodorne.parkingapi.domain.spatial.VectorDistanceKernel;
+import com.github.hugodorne.parkingapi.domain.spatial.VectorSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the distance kernel used by nearby searches.
+ * The vectorized kernel is opt-in, as it relies on an incubating JDK module.
+ */
+@Configuration
+@Slf4j
+public class DistanceKernelConfig {
+
+    @Bean
+    public DistanceKernel distanceKernel(@Value("${parking.distance.vectorized:false}") boolean vectorized) {
+        if (!vectorized) {
+            return new ScalarDistanceKernel();
+        }
+        if (!VectorSupport.isAvailable()) {
+            log.warn("Vectorized distance kernel requested but the JVM was not started with "
+                    + "--add-modules jdk.incubator.vector, using the scalar kernel");
+            return new ScalarDistanceKernel();
+        }
+        log.info("Using vectorized distance kernel");
+        return new VectorDistanceKernel();
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.hugodorne.parkingapi.infrastructure.config;
+
+import com.github.hugodorne.parkingapi.infrastructure.adapter.out.history.OccupancyHistoryProperties;
+import com.github.hugodorne.parkingapi.infrastructure.adapter.out.history.OccupancyHistoryStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the occupancy history, whose segments are flushed to disk on shutdown.
+ * Only enabled with an explicit directory, so that records never depend on the working directory.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "parking.history", name = "enabled", havingValue = "true")
+public class OccupancyHistoryConfig {
+
+    @Bean(destroyMethod = "close")
+    public OccupancyHistoryStore occupancyHistoryStore(OccupancyHistoryProperties properties) {
+        if (properties.getDirectory() == null) {
+            throw new IllegalStateException("parking.history.directory is required when parking.history.enabled is true");
+        }
+        return new OccupancyHistoryStore(properties);
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.hugodorne.parkingapi.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration for background tasks
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
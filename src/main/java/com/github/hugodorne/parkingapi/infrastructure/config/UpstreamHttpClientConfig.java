@@ -0,0 +1,23 @@
+package com.github.hugodorne.parkingapi.infrastructure.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+
+/**
+ * Configuration for the HTTP client calling data sources.
+ * The client is shared, so its pool of keep-alive connections is reused by every adapter.
+ */
+@Configuration
+public class UpstreamHttpClientConfig {
+
+    @Bean
+    public HttpClient httpClient(UpstreamHttpProperties properties) {
+        return HttpClient.newBuilder()
+                .version(properties.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.hugodorne.parkingapi.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the HTTP client calling data sources.
+ * Request timeouts are configured per data source.
+ */
+@Component
+@ConfigurationProperties(prefix = "parking.upstream")
+@Data
+public class UpstreamHttpProperties {
+    private Duration connectTimeout = Duration.ofSeconds(10);
+    private boolean http2 = true;  // Falls back to HTTP/1.1 with servers not supporting HTTP/2
+}
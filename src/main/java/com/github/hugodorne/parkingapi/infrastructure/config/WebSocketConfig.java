@@ -0,0 +1,56 @@
+package com.github.hugodorne.parkingapi.infrastructure.config;
+
+import com.github.hugodorne.parkingapi.infrastructure.adapter.in.websocket.NearbyParkingsEndpoint;
+import jakarta.servlet.ServletContext;
+import jakarta.websocket.DeploymentException;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.server.ServerContainer;
+import jakarta.websocket.server.ServerEndpointConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the WebSocket endpoints, registered on the servlet container once all beans are created.
+ * The container is only available in a running server, not with a mock servlet environment.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Slf4j
+public class WebSocketConfig {
+
+    @Bean
+    public SmartInitializingSingleton nearbyParkingsEndpointRegistration(ServletContext servletContext,
+                                                                         NearbyParkingsEndpoint endpoint) {
+        return () -> registerEndpoint(servletContext, NearbyParkingsEndpoint.PATH, endpoint);
+    }
+
+    /**
+     * Register an endpoint instance, shared by all its sessions
+     *
+     * @return whether the servlet container supports WebSocket
+     */
+    static boolean registerEndpoint(ServletContext servletContext, String path, Endpoint endpoint) {
+        if (!(servletContext.getAttribute(ServerContainer.class.getName()) instanceof ServerContainer container)) {
+            log.info("No WebSocket container, endpoint {} not registered", path);
+            return false;
+        }
+
+        ServerEndpointConfig config = ServerEndpointConfig.Builder.create(endpoint.getClass(), path)
+                .configurator(new ServerEndpointConfig.Configurator() {
+                    @Override
+                    public <T> T getEndpointInstance(Class<T> endpointClass) {
+                        return endpointClass.cast(endpoint);
+                    }
+                })
+                .build();
+        try {
+            container.addEndpoint(config);
+        } catch (DeploymentException e) {
+            throw new IllegalStateException("Error registering WebSocket endpoint " + path, e);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.hugodorne.parkingapi;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the heap allocated by the current thread, for tests of allocation-free code paths
+ */
+public final class AllocationMeter {
+
+    private static final int RUNS = 5;
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * Bytes allocated by an action, once compiled. The lowest of a few runs is kept, to ignore allocations
+     * by the JIT or other test infrastructure.
+     *
+     * @param warmUps Number of runs before measuring, until the action is compiled
+     * @param action  Action measured
+     */
+    public static long allocatedBytes(int warmUps, Runnable action) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        for (int i = 0; i < warmUps; i++) {
+            action.run();
+        }
+
+        long allocated = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            action.run();
+            allocated = Math.min(allocated, threads.getThreadAllocatedBytes(threadId) - before);
+        }
+        return allocated;
+    }
+}
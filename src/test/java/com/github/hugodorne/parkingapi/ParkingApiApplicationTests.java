@@ -3,7 +3,8 @@ package com.github.hugodorne.parkingapi;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// The refresh would call the live Poitiers API
+@SpringBootTest(properties = "parking.refresh.enabled=false")
 class ParkingApiApplicationTests {
 
     @Test
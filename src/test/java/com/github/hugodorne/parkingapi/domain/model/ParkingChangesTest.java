@@ -0,0 +1,205 @@
+package com.github.hugodorne.parkingapi.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ParkingChanges domain model
+ */
+class ParkingChangesTest {
+
+    private final ParkingSnapshot first = new ParkingSnapshot(1L, Instant.ofEpochSecond(1000), List.of(
+            parking("1", 50, ParkingStatus.OPEN),
+            parking("2", 10, ParkingStatus.OPEN),
+            parking("3", 0, ParkingStatus.FULL)
+    ));
+
+    @Test
+    void shouldListAddedUpdatedAndRemovedParkings() {
+        // Given
+        ParkingSnapshot second = first.next(List.of(
+                parking("4", 80, ParkingStatus.OPEN),
+                parking("3", 2, ParkingStatus.OPEN),
+                parking("1", 50, ParkingStatus.OPEN)
+        ), Instant.ofEpochSecond(1060));
+
+        // When
+        ParkingChanges changes = ParkingChanges.between(first, second);
+
+        // Then
+        assertThat(changes.getFromVersion()).isEqualTo(1L);
+        assertThat(changes.getToVersion()).isEqualTo(2L);
+        assertThat(changes.getRefreshedAt()).isEqualTo(Instant.ofEpochSecond(1060));
+        assertThat(changes.getAdded()).containsExactly(parking("4", 80, ParkingStatus.OPEN));
+        assertThat(changes.getUpdated()).containsExactly(parking("3", 2, ParkingStatus.OPEN));
+        assertThat(changes.getRemoved()).containsExactly("2");
+        assertThat(changes.isEmpty()).isFalse();
+    }
+
+    @Test
+    void shouldDetectStatusChangeAlone() {
+        // Given
+        ParkingSnapshot second = first.next(List.of(
+                parking("1", 50, ParkingStatus.CLOSED),
+                parking("2", 10, ParkingStatus.OPEN),
+                parking("3", 0, ParkingStatus.FULL)
+        ), Instant.ofEpochSecond(1060));
+
+        // When
+        ParkingChanges changes = ParkingChanges.between(first, second);
+
+        // Then
+        assertThat(changes.getUpdated()).extracting(Parking::getId).containsExactly("1");
+        assertThat(changes.getAdded()).isEmpty();
+        assertThat(changes.getRemoved()).isEmpty();
+    }
+
+    @Test
+    void shouldBeEmptyBetweenSnapshotsOfSameParkings() {
+        // When
+        ParkingChanges changes = ParkingChanges.between(first, first.next(first.getParkings(), Instant.ofEpochSecond(1060)));
+
+        // Then
+        assertThat(changes.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldAddAllParkingsOfFirstSnapshot() {
+        // When
+        ParkingChanges changes = ParkingChanges.between(ParkingSnapshot.EMPTY, first);
+
+        // Then
+        assertThat(changes.getAdded()).isEqualTo(first.getParkings());
+        assertThat(changes.getFromVersion()).isZero();
+    }
+
+    @Test
+    void shouldListChangesAmongFoundParkings() {
+        // Given - parking 1 changes, parking 2 leaves the results and parking 3 enters them
+        ParkingSnapshot second = first.next(List.of(
+                parking("1", 49, ParkingStatus.OPEN),
+                parking("2", 9, ParkingStatus.OPEN),
+                parking("3", 0, ParkingStatus.FULL)
+        ), Instant.ofEpochSecond(1060));
+        List<Parking> firstParkings = List.of(found(first, 0, 0.5), found(first, 1, 1.5));
+        List<Parking> secondParkings = List.of(found(second, 0, 0.5), found(second, 2, 2.5));
+
+        // When
+        ParkingChanges changes = ParkingChanges.between(first.getVersion(), firstParkings, second, secondParkings);
+
+        // Then
+        assertThat(changes.getFromVersion()).isEqualTo(1L);
+        assertThat(changes.getToVersion()).isEqualTo(2L);
+        assertThat(changes.getUpdated()).extracting(Parking::getId).containsExactly("1");
+        assertThat(changes.getUpdated().get(0).getDistanceKm()).isEqualTo(0.5);
+        assertThat(changes.getAdded()).extracting(Parking::getId).containsExactly("3");
+        assertThat(changes.getRemoved()).containsExactly("2");
+    }
+
+    @Test
+    void shouldBeEmptyWhenFoundParkingsAreUnchanged() {
+        // Given - only parking 2, not found, changes
+        ParkingSnapshot second = first.next(List.of(
+                parking("1", 50, ParkingStatus.OPEN),
+                parking("2", 9, ParkingStatus.OPEN),
+                parking("3", 0, ParkingStatus.FULL)
+        ), Instant.ofEpochSecond(1060));
+
+        // When
+        ParkingChanges changes = ParkingChanges.between(
+                first.getVersion(), List.of(found(first, 0, 0.5)),
+                second, List.of(found(second, 0, 0.5)));
+
+        // Then
+        assertThat(changes.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldAddAllFoundParkingsFromVersionZero() {
+        // When
+        ParkingChanges changes = ParkingChanges.between(0L, List.of(), first, List.of(found(first, 2, 0.5)));
+
+        // Then
+        assertThat(changes.getFromVersion()).isZero();
+        assertThat(changes.getAdded()).extracting(Parking::getId).containsExactly("3");
+        assertThat(changes.getRemoved()).isEmpty();
+    }
+
+    @Test
+    void shouldCombineConsecutiveChanges() {
+        // Given - 1 changes twice, 2 is removed, 4 is added then changed, 5 is added then removed
+        ParkingSnapshot second = first.next(List.of(
+                parking("1", 49, ParkingStatus.OPEN),
+                parking("3", 0, ParkingStatus.FULL),
+                parking("4", 80, ParkingStatus.OPEN),
+                parking("5", 10, ParkingStatus.OPEN)
+        ), Instant.ofEpochSecond(1060));
+        ParkingSnapshot third = second.next(List.of(
+                parking("1", 48, ParkingStatus.OPEN),
+                parking("3", 0, ParkingStatus.FULL),
+                parking("4", 79, ParkingStatus.OPEN)
+        ), Instant.ofEpochSecond(1120));
+
+        // When
+        ParkingChanges changes = ParkingChanges.between(first, second).then(ParkingChanges.between(second, third));
+
+        // Then - same as the changes computed directly
+        ParkingChanges direct = ParkingChanges.between(first, third);
+        assertThat(changes.getFromVersion()).isEqualTo(1L);
+        assertThat(changes.getToVersion()).isEqualTo(3L);
+        assertThat(changes.getRefreshedAt()).isEqualTo(Instant.ofEpochSecond(1120));
+        assertThat(changes.getAdded()).isEqualTo(direct.getAdded());
+        assertThat(changes.getUpdated()).isEqualTo(direct.getUpdated());
+        assertThat(changes.getRemoved()).isEqualTo(direct.getRemoved());
+    }
+
+    @Test
+    void shouldUpdateParkingRemovedThenAddedBack() {
+        // Given
+        ParkingSnapshot second = first.next(List.of(
+                parking("1", 50, ParkingStatus.OPEN),
+                parking("3", 0, ParkingStatus.FULL)
+        ), Instant.ofEpochSecond(1060));
+        ParkingSnapshot third = second.next(first.getParkings(), Instant.ofEpochSecond(1120));
+
+        // When
+        ParkingChanges changes = ParkingChanges.between(first, second).then(ParkingChanges.between(second, third));
+
+        // Then
+        assertThat(changes.getUpdated()).extracting(Parking::getId).containsExactly("2");
+        assertThat(changes.getAdded()).isEmpty();
+        assertThat(changes.getRemoved()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectChangesNotFollowing() {
+        // Given
+        ParkingSnapshot second = first.next(first.getParkings(), Instant.ofEpochSecond(1060));
+        ParkingSnapshot third = second.next(first.getParkings(), Instant.ofEpochSecond(1120));
+
+        // When & Then
+        assertThatThrownBy(() -> ParkingChanges.between(second, third).then(ParkingChanges.between(first, second)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Parking found(ParkingSnapshot snapshot, int row, double distanceKm) {
+        return new ParkingMatch(snapshot.getTable(), row, distanceKm).toParking();
+    }
+
+    private static Parking parking(String id, int availableSpaces, ParkingStatus status) {
+        return Parking.builder()
+                .id(id)
+                .name("Parking " + id)
+                .latitude(46.58)
+                .longitude(0.34)
+                .totalSpaces(100)
+                .availableSpaces(availableSpaces)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.hugodorne.parkingapi.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ParkingMatch domain model
+ */
+class ParkingMatchTest {
+
+    private final ParkingTable table = ParkingTable.of(List.of(
+            Parking.builder()
+                    .id("1")
+                    .name("Parking Centre")
+                    .address("1 Rue du Centre")
+                    .latitude(46.5802)
+                    .longitude(0.3404)
+                    .totalSpaces(200)
+                    .availableSpaces(50)
+                    .status(ParkingStatus.OPEN)
+                    .build(),
+            Parking.builder()
+                    .id("2")
+                    .name("Parking Minimal")
+                    .build()
+    ));
+
+    @Test
+    void shouldReadFieldsFromTableRow() {
+        // Given
+        ParkingMatch match = new ParkingMatch(table, 0, 1.5);
+
+        // When & Then
+        assertThat(match.getId()).isEqualTo("1");
+        assertThat(match.getName()).isEqualTo("Parking Centre");
+        assertThat(match.getAddress()).isEqualTo("1 Rue du Centre");
+        assertThat(match.getLatitude()).isEqualTo(46.5802);
+        assertThat(match.getLongitude()).isEqualTo(0.3404);
+        assertThat(match.getTotalSpaces()).isEqualTo(200);
+        assertThat(match.getAvailableSpaces()).isEqualTo(50);
+        assertThat(match.isOpen()).isTrue();
+        assertThat(match.getOccupancyRate()).isEqualTo(75.0);
+        assertThat(match.getDistanceKm()).isEqualTo(1.5);
+    }
+
+    @Test
+    void shouldReturnNullForMissingValues() {
+        // Given
+        ParkingMatch match = new ParkingMatch(table, 1, 0.0);
+
+        // When & Then
+        assertThat(match.getLatitude()).isNull();
+        assertThat(match.getLongitude()).isNull();
+        assertThat(match.getTotalSpaces()).isNull();
+        assertThat(match.getAvailableSpaces()).isNull();
+        assertThat(match.getStatus()).isNull();
+        assertThat(match.isOpen()).isFalse();
+        assertThat(match.getOccupancyRate()).isEqualTo(0.0);
+    }
+
+    @Test
+    void shouldMaterializeParkingWithDistance() {
+        // Given
+        ParkingMatch match = new ParkingMatch(table, 0, 1.5);
+
+        // When
+        Parking parking = match.toParking();
+
+        // Then
+        assertThat(parking.getId()).isEqualTo("1");
+        assertThat(parking.getDistanceKm()).isEqualTo(1.5);
+        assertThat(parking.getOccupancyRate()).isEqualTo(match.getOccupancyRate());
+    }
+
+    @Test
+    void shouldCompareTablesByIdentity() {
+        // Given
+        ParkingTable sameRows = ParkingTable.of(table.toParkings());
+
+        // When & Then
+        assertThat(new ParkingMatch(table, 0, 1.5)).isEqualTo(new ParkingMatch(table, 0, 1.5));
+        assertThat(new ParkingMatch(table, 0, 1.5)).hasSameHashCodeAs(new ParkingMatch(table, 0, 1.5));
+        assertThat(new ParkingMatch(table, 0, 1.5)).isNotEqualTo(new ParkingMatch(table, 1, 1.5));
+        assertThat(new ParkingMatch(table, 0, 1.5)).isNotEqualTo(new ParkingMatch(table, 0, 2.0));
+        assertThat(new ParkingMatch(table, 0, 1.5)).isNotEqualTo(new ParkingMatch(sameRows, 0, 1.5));
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.hugodorne.parkingapi.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ParkingTable domain model
+ */
+class ParkingTableTest {
+
+    private final Parking complete = Parking.builder()
+            .id("1")
+            .name("Parking Centre")
+            .address("1 Rue du Centre")
+            .latitude(46.5802)
+            .longitude(0.3404)
+            .totalSpaces(100)
+            .availableSpaces(0)
+            .status(ParkingStatus.FULL)
+            .build();
+
+    private final Parking minimal = Parking.builder()
+            .id("2")
+            .name("Parking Minimal")
+            .build();
+
+    @Test
+    void shouldMaterializeSameParkingsInSameOrder() {
+        // Given
+        ParkingTable table = ParkingTable.of(List.of(complete, minimal));
+
+        // When
+        List<Parking> parkings = table.toParkings();
+
+        // Then
+        assertThat(table.size()).isEqualTo(2);
+        assertThat(parkings).containsExactly(complete, minimal);
+    }
+
+    @Test
+    void shouldExposePrimitiveColumns() {
+        // Given
+        ParkingTable table = ParkingTable.of(List.of(complete, minimal));
+
+        // When & Then
+        assertThat(table.getId(0)).isEqualTo("1");
+        assertThat(table.hasCoordinates(0)).isTrue();
+        assertThat(table.getLatitude(0)).isEqualTo(46.5802);
+        assertThat(table.getLongitude(0)).isEqualTo(0.3404);
+        assertThat(table.getTotalSpaces(0)).isEqualTo(100);
+        assertThat(table.getAvailableSpaces(0)).isZero();
+        assertThat(table.getStatus(0)).isEqualTo(ParkingStatus.FULL);
+    }
+
+    @Test
+    void shouldStoreMissingValuesAsSentinels() {
+        // Given
+        ParkingTable table = ParkingTable.of(List.of(minimal));
+
+        // When & Then
+        assertThat(table.hasCoordinates(0)).isFalse();
+        assertThat(table.getLatitude(0)).isNaN();
+        assertThat(table.getLongitude(0)).isNaN();
+        assertThat(table.getTotalSpaces(0)).isEqualTo(ParkingTable.NO_SPACES);
+        assertThat(table.getAvailableSpaces(0)).isEqualTo(ParkingTable.NO_SPACES);
+        assertThat(table.getStatus(0)).isNull();
+    }
+
+    @Test
+    void shouldNotStoreHalfCoordinates() {
+        // Given
+        Parking latitudeOnly = minimal.toBuilder().latitude(46.58).build();
+
+        // When
+        ParkingTable table = ParkingTable.of(List.of(latitudeOnly));
+
+        // Then
+        assertThat(table.hasCoordinates(0)).isFalse();
+        assertThat(table.toParking(0).getLatitude()).isNull();
+    }
+
+    @Test
+    void shouldMaterializeRowWithDistance() {
+        // Given
+        ParkingTable table = ParkingTable.of(List.of(complete));
+
+        // When
+        Parking parking = table.toParking(0, 1.25);
+
+        // Then
+        assertThat(parking).isEqualTo(complete.toBuilder().distanceKm(1.25).build());
+    }
+
+    @Test
+    void shouldBeEqualWhenBuiltFromSameParkings() {
+        // When & Then
+        assertThat(ParkingTable.of(List.of(complete, minimal)))
+                .isEqualTo(ParkingTable.of(List.of(complete, minimal)))
+                .isNotEqualTo(ParkingTable.of(List.of(minimal, complete)));
+        assertThat(ParkingTable.EMPTY.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldCompareRowsAcrossTables() {
+        // Given
+        ParkingTable table = ParkingTable.of(List.of(complete, minimal));
+        ParkingTable other = ParkingTable.of(List.of(
+                minimal,
+                complete.toBuilder().availableSpaces(1).status(ParkingStatus.OPEN).build()
+        ));
+
+        // When & Then
+        assertThat(table.rowEquals(1, other, 0)).isTrue();  // Missing values are equal
+        assertThat(table.rowEquals(0, other, 1)).isFalse();
+        assertThat(table.rowEquals(0, other, 0)).isFalse();
+    }
+}
@@ -1,18 +1,30 @@
 package com.github.hugodorne.parkingapi.domain.service;
 
+import com.github.hugodorne.parkingapi.AllocationMeter;
+import com.github.hugodorne.parkingapi.domain.model.NearbyQuery;
 import com.github.hugodorne.parkingapi.domain.model.Parking;
+import com.github.hugodorne.parkingapi.domain.model.ParkingChanges;
+import com.github.hugodorne.parkingapi.domain.model.ParkingMatch;
+import com.github.hugodorne.parkingapi.domain.model.ParkingSnapshot;
 import com.github.hugodorne.parkingapi.domain.model.ParkingStatus;
 import com.github.hugodorne.parkingapi.domain.port.out.ParkingDataPort;
+import com.github.hugodorne.parkingapi.domain.port.out.ParkingSnapshotListener;
+import com.github.hugodorne.parkingapi.domain.spatial.ScalarDistanceKernel;
+import com.github.hugodorne.parkingapi.domain.spatial.VectorDistanceKernel;
+import com.github.hugodorne.parkingapi.domain.spatial.VectorSupport;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.mockito.Mockito.*;
 
 /**
@@ -24,13 +36,17 @@ class ParkingServiceTest {
     @Mock
     private ParkingDataPort parkingDataPort;
 
-    @InjectMocks
+    @Mock
+    private ParkingSnapshotListener snapshotListener;
+
     private ParkingService parkingService;
 
     private List<Parking> mockParkings;
 
     @BeforeEach
     void setUp() {
+        parkingService = new ParkingService(parkingDataPort, new ScalarDistanceKernel(), List.of(snapshotListener), 1L);
+
         mockParkings = List.of(
                 Parking.builder()
                         .id("1")
@@ -74,7 +90,7 @@ class ParkingServiceTest {
     @Test
     void shouldReturnAllParkingsFromDataPort() {
         // Given
-        when(parkingDataPort.fetchParkings()).thenReturn(mockParkings);
+        givenPublishedSnapshot(mockParkings);
 
         // When
         List<Parking> result = parkingService.getAllParkings();
@@ -88,7 +104,7 @@ class ParkingServiceTest {
     @Test
     void shouldReturnEmptyListWhenNoDataAvailable() {
         // Given
-        when(parkingDataPort.fetchParkings()).thenReturn(List.of());
+        givenPublishedSnapshot(List.of());
 
         // When
         List<Parking> result = parkingService.getAllParkings();
@@ -105,14 +121,14 @@ class ParkingServiceTest {
         double userLon = 0.3404;
         double radiusKm = 5.0;
 
-        when(parkingDataPort.fetchParkings()).thenReturn(mockParkings);
+        givenPublishedSnapshot(mockParkings);
 
         // When
-        List<Parking> result = parkingService.getParkingsNearby(userLat, userLon, radiusKm);
+        List<ParkingMatch> result = parkingService.getParkingsNearby(userLat, userLon, radiusKm);
 
         // Then
         assertThat(result).isNotEmpty();
-        assertThat(result).allMatch(p -> p.getDistanceKm() != null);
+        assertThat(result).allMatch(p -> p.getDistanceKm() >= 0);
         assertThat(result).allMatch(p -> p.getDistanceKm() <= radiusKm);
         verify(parkingDataPort, times(1)).fetchParkings();
     }
@@ -124,10 +140,10 @@ class ParkingServiceTest {
         double userLon = 0.3404;
         double radiusKm = 10.0;
 
-        when(parkingDataPort.fetchParkings()).thenReturn(mockParkings);
+        givenPublishedSnapshot(mockParkings);
 
         // When
-        List<Parking> result = parkingService.getParkingsNearby(userLat, userLon, radiusKm);
+        List<ParkingMatch> result = parkingService.getParkingsNearby(userLat, userLon, radiusKm);
 
         // Then
         assertThat(result).noneMatch(p -> p.getLatitude() == null || p.getLongitude() == null);
@@ -141,10 +157,10 @@ class ParkingServiceTest {
         double userLon = 0.3404;
         double radiusKm = 10.0;
 
-        when(parkingDataPort.fetchParkings()).thenReturn(mockParkings);
+        givenPublishedSnapshot(mockParkings);
 
         // When
-        List<Parking> result = parkingService.getParkingsNearby(userLat, userLon, radiusKm);
+        List<ParkingMatch> result = parkingService.getParkingsNearby(userLat, userLon, radiusKm);
 
         // Then
         assertThat(result).isNotEmpty();
@@ -161,10 +177,10 @@ class ParkingServiceTest {
         double userLon = 0.3404;
         double radiusKm = 10.0;
 
-        when(parkingDataPort.fetchParkings()).thenReturn(mockParkings);
+        givenPublishedSnapshot(mockParkings);
 
         // When
-        List<Parking> result = parkingService.getParkingsNearby(userLat, userLon, radiusKm);
+        List<ParkingMatch> result = parkingService.getParkingsNearby(userLat, userLon, radiusKm);
 
         // Then
         assertThat(result).isNotEmpty();
@@ -183,10 +199,10 @@ class ParkingServiceTest {
         double userLon = 0.3404;
         double radiusKm = 0.5; // Very small radius
 
-        when(parkingDataPort.fetchParkings()).thenReturn(mockParkings);
+        givenPublishedSnapshot(mockParkings);
 
         // When
-        List<Parking> result = parkingService.getParkingsNearby(userLat, userLon, radiusKm);
+        List<ParkingMatch> result = parkingService.getParkingsNearby(userLat, userLon, radiusKm);
 
         // Then
         assertThat(result).allMatch(p -> p.getDistanceKm() <= radiusKm);
@@ -199,10 +215,10 @@ class ParkingServiceTest {
         double userLon = 0.0;
         double radiusKm = 0.1;
 
-        when(parkingDataPort.fetchParkings()).thenReturn(mockParkings);
+        givenPublishedSnapshot(mockParkings);
 
         // When
-        List<Parking> result = parkingService.getParkingsNearby(userLat, userLon, radiusKm);
+        List<ParkingMatch> result = parkingService.getParkingsNearby(userLat, userLon, radiusKm);
 
         // Then
         assertThat(result).isEmpty();
@@ -223,10 +239,10 @@ class ParkingServiceTest {
                 .status(ParkingStatus.OPEN)
                 .build();
 
-        when(parkingDataPort.fetchParkings()).thenReturn(List.of(nearbyParking));
+        givenPublishedSnapshot(List.of(nearbyParking));
 
         // When
-        List<Parking> result = parkingService.getParkingsNearby(userLat, userLon, radiusKm);
+        List<ParkingMatch> result = parkingService.getParkingsNearby(userLat, userLon, radiusKm);
 
         // Then
         assertThat(result).hasSize(1);
@@ -244,14 +260,397 @@ class ParkingServiceTest {
                 createParkingAt("5", 46.5700, 0.3300)
         );
 
-        when(parkingDataPort.fetchParkings()).thenReturn(largeParkingList);
+        givenPublishedSnapshot(largeParkingList);
 
         // When
-        List<Parking> result = parkingService.getParkingsNearby(46.5802, 0.3404, 5.0);
+        List<ParkingMatch> result = parkingService.getParkingsNearby(46.5802, 0.3404, 5.0);
 
         // Then
         assertThat(result).isNotEmpty();
-        assertThat(result).allMatch(p -> p.getDistanceKm() != null);
+        assertThat(result).allMatch(p -> p.getDistanceKm() >= 0);
+    }
+
+    @Test
+    void shouldServeQueriesFromSnapshotWithoutCallingDataPort() {
+        // Given
+        givenPublishedSnapshot(mockParkings);
+
+        // When
+        parkingService.getAllParkings();
+        parkingService.getParkingsNearby(46.5802, 0.3404, 5.0);
+
+        // Then - only the refresh hit the data port
+        verify(parkingDataPort, times(1)).fetchParkings();
+    }
+
+    @Test
+    void shouldExposeCurrentSnapshot() {
+        // Given
+        givenPublishedSnapshot(mockParkings);
+
+        // When
+        ParkingSnapshot snapshot = parkingService.getCurrentSnapshot();
+
+        // Then
+        assertThat(snapshot.getVersion()).isEqualTo(1L);
+        assertThat(snapshot.getParkings()).isEqualTo(mockParkings);
+    }
+
+    @Test
+    void shouldReturnEmptyListBeforeFirstRefresh() {
+        // When
+        List<Parking> result = parkingService.getAllParkings();
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(parkingDataPort);
+    }
+
+    @Test
+    void shouldPublishNewSnapshotVersionOnEachRefresh() {
+        // Given
+        List<Parking> updatedParkings = new ArrayList<>(mockParkings);
+        updatedParkings.set(0, mockParkings.get(0).toBuilder().availableSpaces(49).build());
+        when(parkingDataPort.fetchParkings()).thenReturn(mockParkings, updatedParkings);
+
+        // When
+        ParkingSnapshot first = parkingService.refreshParkings();
+        ParkingSnapshot second = parkingService.refreshParkings();
+
+        // Then
+        assertThat(first.getVersion()).isEqualTo(1);
+        assertThat(second.getVersion()).isEqualTo(2);
+        assertThat(second.getParkings()).isEqualTo(updatedParkings);
+        assertThat(second.getRefreshedAt()).isNotNull();
+    }
+
+    @Test
+    void shouldVersionFirstSnapshotWithBootTime() {
+        // Given
+        long before = System.currentTimeMillis();
+        ParkingService booted = new ParkingService(parkingDataPort, new ScalarDistanceKernel(), List.of());
+        long after = System.currentTimeMillis();
+        when(parkingDataPort.fetchParkings()).thenReturn(mockParkings);
+
+        // When
+        ParkingSnapshot first = booted.refreshParkings();
+
+        // Then - above the versions of a previous process, which published less than once per millisecond
+        assertThat(first.getVersion()).isBetween(before, after);
+    }
+
+    @Test
+    void shouldKeepSnapshotVersionWhenParkingsAreUnchanged() {
+        // Given
+        when(parkingDataPort.fetchParkings()).thenReturn(mockParkings, List.copyOf(mockParkings));
+        ParkingSnapshot first = parkingService.refreshParkings();
+
+        // When
+        ParkingSnapshot second = parkingService.refreshParkings();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(parkingService.getCurrentSnapshot().getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotifyListenersOfPublishedSnapshot() {
+        // Given
+        when(parkingDataPort.fetchParkings()).thenReturn(mockParkings);
+
+        // When
+        ParkingSnapshot published = parkingService.refreshParkings();
+
+        // Then
+        verify(snapshotListener).onSnapshotPublished(ParkingSnapshot.EMPTY, published, ParkingChanges.between(ParkingSnapshot.EMPTY, published));
+    }
+
+    @Test
+    void shouldNotNotifyListenersWhenSnapshotIsKept() {
+        // Given
+        when(parkingDataPort.fetchParkings()).thenReturn(mockParkings, List.copyOf(mockParkings));
+        parkingService.refreshParkings();
+
+        // When
+        parkingService.refreshParkings();
+
+        // Then
+        verify(snapshotListener, times(1)).onSnapshotPublished(any(), any(), any());
+    }
+
+    @Test
+    void shouldPublishSnapshotEvenWhenListenerFails() {
+        // Given
+        when(parkingDataPort.fetchParkings()).thenReturn(mockParkings);
+        doThrow(new IllegalStateException("Listener failure")).when(snapshotListener).onSnapshotPublished(any(), any(), any());
+
+        // When
+        ParkingSnapshot published = parkingService.refreshParkings();
+
+        // Then
+        assertThat(published.getVersion()).isEqualTo(1);
+        assertThat(parkingService.getCurrentSnapshot()).isSameAs(published);
+    }
+
+    @Test
+    void shouldKeepLastSnapshotWhenRefreshFails() {
+        // Given
+        givenPublishedSnapshot(mockParkings);
+        when(parkingDataPort.fetchParkings()).thenThrow(new IllegalStateException("Data source unavailable"));
+
+        // When
+        ParkingSnapshot snapshot = parkingService.refreshParkings();
+
+        // Then
+        assertThat(snapshot.getVersion()).isEqualTo(1);
+        assertThat(parkingService.getAllParkings()).isEqualTo(mockParkings);
+    }
+
+    @Test
+    void shouldKeepLastSnapshotWhenRefreshReturnsNoData() {
+        // Given
+        givenPublishedSnapshot(mockParkings);
+        when(parkingDataPort.fetchParkings()).thenReturn(List.of());
+
+        // When
+        ParkingSnapshot snapshot = parkingService.refreshParkings();
+
+        // Then
+        assertThat(snapshot.getVersion()).isEqualTo(1);
+        assertThat(parkingService.getAllParkings()).isEqualTo(mockParkings);
+    }
+
+    @Test
+    void shouldKeepSnapshotWhenDataSourceServesAlreadyPublishedParkings() {
+        // Given - the data source falls back to the parkings it fetched at the same time
+        Instant fetchedAt = Instant.parse("2025-10-23T09:21:00Z");
+        when(parkingDataPort.getLastSuccessfulFetchTime()).thenReturn(Optional.of(fetchedAt));
+        givenPublishedSnapshot(mockParkings);
+
+        // When
+        ParkingSnapshot snapshot = parkingService.refreshParkings();
+
+        // Then
+        assertThat(snapshot.getVersion()).isEqualTo(1);
+        assertThat(snapshot.getRefreshedAt()).isEqualTo(fetchedAt);
+    }
+
+    @Test
+    void shouldReturnParkingsNearbyInGivenSnapshot() {
+        // Given - a later snapshot is published, where Centre is full
+        ParkingSnapshot first = new ParkingSnapshot(1L, Instant.ofEpochSecond(1000), mockParkings);
+        List<Parking> updatedParkings = new ArrayList<>(mockParkings);
+        updatedParkings.set(0, mockParkings.get(0).toBuilder().availableSpaces(0).build());
+        givenPublishedSnapshot(updatedParkings);
+
+        // When
+        List<ParkingMatch> result = parkingService.getParkingsNearby(first, 46.5802, 0.3404, 1.0);
+
+        // Then - closest first, from the given snapshot
+        assertThat(result).extracting(ParkingMatch::getId).containsExactly("1", "2");
+        assertThat(result.get(0).toParking().getAvailableSpaces()).isEqualTo(50);
+        assertThat(result.get(0).getDistanceKm()).isEqualTo(0.0);
+    }
+
+    @Test
+    void shouldReturnNearestParkingsClosestFirst() {
+        // Given
+        givenPublishedSnapshot(mockParkings);
+
+        // When
+        List<Parking> result = parkingService.getNearestParkings(46.5802, 0.3404, 2, false);
+
+        // Then
+        assertThat(result).extracting(Parking::getId).containsExactly("1", "2");
+        assertThat(result.get(0).getDistanceKm()).isEqualTo(0.0);
+        assertThat(result.get(1).getDistanceKm()).isGreaterThan(0.0);
+    }
+
+    @Test
+    void shouldReturnAllLocatedParkingsWhenFewerThanRequested() {
+        // Given
+        givenPublishedSnapshot(mockParkings);
+
+        // When
+        List<Parking> result = parkingService.getNearestParkings(46.5802, 0.3404, 10, false);
+
+        // Then
+        assertThat(result).extracting(Parking::getId).containsExactly("1", "2", "3");
+    }
+
+    @Test
+    void shouldSkipFullAndUnknownParkingsWhenOnlyAvailableRequested() {
+        // Given
+        givenPublishedSnapshot(List.of(
+                createParkingAt("full", 46.5802, 0.3404).toBuilder().status(ParkingStatus.FULL).build(),
+                createParkingAt("unknown", 46.5803, 0.3404).toBuilder().status(ParkingStatus.UNKNOWN).build(),
+                createParkingAt("open", 46.5900, 0.3404),
+                createParkingAt("far", 46.7000, 0.3404)
+        ));
+
+        // When
+        List<Parking> result = parkingService.getNearestParkings(46.5802, 0.3404, 1, true);
+
+        // Then
+        assertThat(result).extracting(Parking::getId).containsExactly("open");
+    }
+
+    @Test
+    void shouldMatchFullSortWhenSelectingNearestParkings() {
+        // Given
+        List<Parking> parkings = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            parkings.add(createParkingAt(String.valueOf(i), 46.5 + (i * 37 % 200) * 0.001, 0.3 + (i * 53 % 200) * 0.001));
+        }
+        givenPublishedSnapshot(parkings);
+
+        // When
+        List<Parking> nearest = parkingService.getNearestParkings(46.58, 0.34, 5, false);
+
+        // Then
+        List<ParkingMatch> sorted = parkingService.getParkingsNearby(46.58, 0.34, 1_000);
+        assertThat(nearest).extracting(Parking::getDistanceKm)
+                .containsExactlyElementsOf(sorted.subList(0, 5).stream().map(ParkingMatch::getDistanceKm).toList());
+    }
+
+    @Test
+    void shouldReturnNoNearestParkingsBeforeFirstRefresh() {
+        // When
+        List<Parking> result = parkingService.getNearestParkings(46.5802, 0.3404, 5, false);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void shouldReturnParkingsWithinBoxInSnapshotOrder() {
+        // Given
+        givenPublishedSnapshot(mockParkings);
+
+        // When
+        List<Parking> result = parkingService.getParkingsWithin(46.58, 0.34, 46.59, 0.35);
+
+        // Then
+        assertThat(result).extracting(Parking::getId).containsExactly("1", "2");
+        assertThat(result).allMatch(p -> p.getDistanceKm() == null);
+    }
+
+    @Test
+    void shouldIncludeParkingsOnBoxEdges() {
+        // Given
+        givenPublishedSnapshot(mockParkings);
+
+        // When
+        List<Parking> result = parkingService.getParkingsWithin(46.5802, 0.3404, 46.6000, 0.3500);
+
+        // Then
+        assertThat(result).extracting(Parking::getId).containsExactly("1", "2", "3");
+    }
+
+    @Test
+    void shouldReturnParkingsWithinBoxCrossingAntimeridian() {
+        // Given
+        givenPublishedSnapshot(List.of(
+                createParkingAt("east", -17.0, 179.5),
+                createParkingAt("west", -17.0, -179.5),
+                createParkingAt("elsewhere", -17.0, 0.0)
+        ));
+
+        // When
+        List<Parking> result = parkingService.getParkingsWithin(-18.0, 179.0, -16.0, -179.0);
+
+        // Then
+        assertThat(result).extracting(Parking::getId).containsExactly("east", "west");
+    }
+
+    @Test
+    void shouldReturnNoParkingsWhenBoxIsEmpty() {
+        // Given
+        givenPublishedSnapshot(mockParkings);
+
+        // When
+        List<Parking> result = parkingService.getParkingsWithin(10.0, 10.0, 11.0, 11.0);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void shouldAnswerEachBatchQueryLikeSingleQuery() {
+        // Given
+        givenPublishedSnapshot(mockParkings);
+        List<NearbyQuery> queries = List.of(
+                new NearbyQuery(46.5802, 0.3404, 0.5),
+                new NearbyQuery(46.6000, 0.3500, 10.0),
+                new NearbyQuery(10.0, 10.0, 1.0)
+        );
+
+        // When
+        List<List<ParkingMatch>> result = parkingService.getParkingsNearby(queries);
+
+        // Then
+        assertThat(result).hasSize(3);
+        for (int i = 0; i < queries.size(); i++) {
+            NearbyQuery query = queries.get(i);
+            assertThat(result.get(i)).isEqualTo(
+                    parkingService.getParkingsNearby(query.getLatitude(), query.getLongitude(), query.getRadiusKm()));
+        }
+        assertThat(result.get(2)).isEmpty();
+    }
+
+    @Test
+    void shouldReturnNoResultsForEmptyBatch() {
+        // When
+        List<List<ParkingMatch>> result = parkingService.getParkingsNearby(List.of());
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void shouldReturnSameNearbyParkingsWithVectorKernel() {
+        // Given
+        assumeTrue(VectorSupport.isAvailable(), "JVM started without jdk.incubator.vector");
+        List<Parking> parkings = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            parkings.add(createParkingAt(String.valueOf(i), 46.5 + (i * 37 % 1000) * 0.0002, 0.3 + (i * 53 % 1000) * 0.0002));
+        }
+        givenPublishedSnapshot(parkings);
+        List<ParkingMatch> scalarResult = parkingService.getParkingsNearby(46.58, 0.34, 3.0);
+
+        ParkingService vectorService = new ParkingService(parkingDataPort, new VectorDistanceKernel(), List.of());
+        vectorService.refreshParkings();
+
+        // When
+        List<ParkingMatch> vectorResult = vectorService.getParkingsNearby(46.58, 0.34, 3.0);
+
+        // Then
+        assertThat(vectorResult).isNotEmpty()
+                .map(ParkingMatch::toParking)
+                .isEqualTo(scalarResult.stream().map(ParkingMatch::toParking).toList());
+    }
+
+    @Test
+    void shouldAllocateInProportionToResultsNotCandidates() {
+        // Given - 20,000 parkings packed in a few grid cells, only a handful within the radius
+        List<Parking> parkings = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            parkings.add(createParkingAt(String.valueOf(i), 46.58 + (i % 200) * 0.0001, 0.34 + (i / 200) * 0.0001));
+        }
+        givenPublishedSnapshot(parkings);
+
+        // When - warmed up until the search is compiled
+        long allocated = AllocationMeter.allocatedBytes(5_000, () -> parkingService.getParkingsNearby(46.58, 0.34, 0.01));
+        List<ParkingMatch> result = parkingService.getParkingsNearby(46.58, 0.34, 0.01);
+
+        // Then - a Parking per candidate alone would be about 1 MB
+        assertThat(result).hasSizeBetween(1, 10);
+        assertThat(allocated).isLessThan(16 * 1024);
+    }
+
+    private void givenPublishedSnapshot(List<Parking> parkings) {
+        when(parkingDataPort.fetchParkings()).thenReturn(parkings);
+        parkingService.refreshParkings();
     }
 
     private Parking createParkingAt(String id, double lat, double lon) {
@@ -0,0 +1,129 @@
+package com.github.hugodorne.parkingapi.domain.spatial;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for GeoAreaIndex
+ */
+class GeoAreaIndexTest {
+
+    @Test
+    void shouldVisitExactlyTheAreasContainingPoint() {
+        // Given - random areas around Poitiers, some wider than the cell limit
+        Random random = new Random(42);
+        int count = 2_000;
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        double[] radiuses = new double[count];
+        GeoAreaIndex<Integer> index = new GeoAreaIndex<>();
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = 46.58 + (random.nextDouble() - 0.5) * 0.5;
+            longitudes[i] = 0.34 + (random.nextDouble() - 0.5) * 0.7;
+            radiuses[i] = i % 100 == 0 ? 50 : 0.1 + random.nextDouble() * 5;
+            index.put(i, latitudes[i], longitudes[i], radiuses[i]);
+        }
+
+        for (int point = 0; point < 200; point++) {
+            double latitude = 46.58 + (random.nextDouble() - 0.5) * 0.5;
+            double longitude = 0.34 + (random.nextDouble() - 0.5) * 0.7;
+
+            // When
+            Set<Integer> visited = containing(index, latitude, longitude);
+
+            // Then
+            Set<Integer> expected = new HashSet<>();
+            for (int i = 0; i < count; i++) {
+                double distance = haversine(latitudes[i], longitudes[i], latitude, longitude);
+                if (distance <= radiuses[i] - 1e-6) {
+                    expected.add(i);
+                }
+                if (distance > radiuses[i] + 1e-6) {
+                    assertThat(visited).doesNotContain(i);
+                }
+            }
+            assertThat(visited).containsAll(expected);
+        }
+    }
+
+    @Test
+    void shouldReplacePreviousAreaOfKey() {
+        // Given
+        GeoAreaIndex<String> index = new GeoAreaIndex<>();
+        index.put("driver", 46.58, 0.34, 1);
+
+        // When
+        index.put("driver", 46.0, 1.0, 1);
+
+        // Then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(containing(index, 46.58, 0.34)).isEmpty();
+        assertThat(containing(index, 46.0, 1.0)).containsExactly("driver");
+    }
+
+    @Test
+    void shouldNotVisitRemovedAreas() {
+        // Given
+        GeoAreaIndex<String> index = new GeoAreaIndex<>();
+        index.put("near", 46.58, 0.34, 1);
+        index.put("wide", 46.58, 0.34, 500);
+
+        // When
+        boolean removedNear = index.remove("near");
+        boolean removedWide = index.remove("wide");
+
+        // Then
+        assertThat(removedNear).isTrue();
+        assertThat(removedWide).isTrue();
+        assertThat(index.remove("near")).isFalse();
+        assertThat(index.size()).isZero();
+        assertThat(containing(index, 46.58, 0.34)).isEmpty();
+    }
+
+    @Test
+    void shouldVisitAreasAcrossAntimeridian() {
+        // Given
+        GeoAreaIndex<String> index = new GeoAreaIndex<>();
+        index.put("east", 0.0, 179.99, 5);
+        index.put("elsewhere", 0.0, 90.0, 5);
+
+        // When
+        Set<String> visited = containing(index, 0.0, -179.99);
+
+        // Then
+        assertThat(visited).containsExactly("east");
+    }
+
+    @Test
+    void shouldVisitAreasCoveringPole() {
+        // Given
+        GeoAreaIndex<String> index = new GeoAreaIndex<>();
+        index.put("pole", 89.99, 0.0, 5);
+
+        // When
+        Set<String> visited = containing(index, 89.99, 180.0);
+
+        // Then
+        assertThat(visited).containsExactly("pole");
+    }
+
+    private static <K> Set<K> containing(GeoAreaIndex<K> index, double latitude, double longitude) {
+        Set<K> visited = new HashSet<>();
+        index.forEachAreaContaining(latitude, longitude, key -> assertThat(visited.add(key)).isTrue());
+        return visited;
+    }
+
+    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                   Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                   Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 6371 * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+}
@@ -0,0 +1,170 @@
+package com.github.hugodorne.parkingapi.domain.spatial;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for GeoGridIndex
+ */
+class GeoGridIndexTest {
+
+    @Test
+    void shouldVisitEveryPointWithinRadius() {
+        // Given - random points around Poitiers
+        Random random = new Random(42);
+        int count = 2_000;
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = 46.58 + (random.nextDouble() - 0.5) * 0.2;
+            longitudes[i] = 0.34 + (random.nextDouble() - 0.5) * 0.3;
+        }
+        GeoGridIndex index = new GeoGridIndex(latitudes, longitudes);
+
+        for (int query = 0; query < 50; query++) {
+            double latitude = 46.58 + (random.nextDouble() - 0.5) * 0.2;
+            double longitude = 0.34 + (random.nextDouble() - 0.5) * 0.3;
+            double radiusKm = 0.1 + random.nextDouble() * 3;
+
+            // When
+            Set<Integer> candidates = candidates(index, latitude, longitude, radiusKm);
+
+            // Then
+            for (int i = 0; i < count; i++) {
+                if (haversine(latitude, longitude, latitudes[i], longitudes[i]) <= radiusKm) {
+                    assertThat(candidates).contains(i);
+                }
+            }
+            assertThat(candidates.size()).isLessThan(count);
+        }
+    }
+
+    @Test
+    void shouldVisitPointsAcrossAntimeridian() {
+        // Given
+        double[] latitudes = {0.0, 0.0, 0.0};
+        double[] longitudes = {179.999, -179.999, 90.0};
+        GeoGridIndex index = new GeoGridIndex(latitudes, longitudes);
+
+        // When
+        Set<Integer> candidates = candidates(index, 0.0, 180.0, 1);
+
+        // Then
+        assertThat(candidates).containsExactlyInAnyOrder(0, 1);
+    }
+
+    @Test
+    void shouldVisitAllLongitudesNearPole() {
+        // Given
+        double[] latitudes = {89.999, 89.999, 0.0};
+        double[] longitudes = {0.0, 180.0, 0.0};
+        GeoGridIndex index = new GeoGridIndex(latitudes, longitudes);
+
+        // When
+        Set<Integer> candidates = candidates(index, 90.0, 0.0, 1);
+
+        // Then
+        assertThat(candidates).containsExactlyInAnyOrder(0, 1);
+    }
+
+    @Test
+    void shouldVisitEveryPointWithinBox() {
+        // Given
+        Random random = new Random(7);
+        int count = 2_000;
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = 46.5 + random.nextDouble() * 0.2;
+            longitudes[i] = 0.2 + random.nextDouble() * 0.3;
+        }
+        GeoGridIndex index = new GeoGridIndex(latitudes, longitudes);
+
+        // When
+        Set<Integer> candidates = new HashSet<>();
+        index.forEachCandidateInBox(46.55, 0.3, 46.6, 0.35, candidates::add);
+
+        // Then
+        for (int i = 0; i < count; i++) {
+            if (latitudes[i] >= 46.55 && latitudes[i] <= 46.6 && longitudes[i] >= 0.3 && longitudes[i] <= 0.35) {
+                assertThat(candidates).contains(i);
+            }
+        }
+        assertThat(candidates.size()).isLessThan(count);
+    }
+
+    @Test
+    void shouldVisitPointsInBoxCrossingAntimeridian() {
+        // Given
+        double[] latitudes = {0.0, 0.0, 0.0};
+        double[] longitudes = {179.5, -179.5, 90.0};
+        GeoGridIndex index = new GeoGridIndex(latitudes, longitudes);
+
+        // When
+        Set<Integer> candidates = new HashSet<>();
+        index.forEachCandidateInBox(-1, 179, 1, -179, candidates::add);
+
+        // Then
+        assertThat(candidates).containsExactlyInAnyOrder(0, 1);
+    }
+
+    @Test
+    void shouldNotIndexPointsWithoutCoordinates() {
+        // Given
+        double[] latitudes = {46.58, Double.NaN, 46.58};
+        double[] longitudes = {0.34, 0.34, Double.NaN};
+
+        // When
+        GeoGridIndex index = new GeoGridIndex(latitudes, longitudes);
+
+        // Then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(candidates(index, 46.58, 0.34, 1)).containsExactly(0);
+    }
+
+    @Test
+    void shouldVisitNothingWhenIndexIsEmpty() {
+        // Given
+        GeoGridIndex index = new GeoGridIndex(new double[0], new double[0]);
+
+        // When
+        Set<Integer> candidates = candidates(index, 46.58, 0.34, 100);
+
+        // Then
+        assertThat(index.size()).isZero();
+        assertThat(candidates).isEmpty();
+    }
+
+    @Test
+    void shouldRejectMismatchedArrays() {
+        assertThatThrownBy(() -> new GeoGridIndex(new double[1], new double[2]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRejectTooSmallCellSize() {
+        assertThatThrownBy(() -> new GeoGridIndex(new double[0], new double[0], 0.00001))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Set<Integer> candidates(GeoGridIndex index, double latitude, double longitude, double radiusKm) {
+        Set<Integer> candidates = new HashSet<>();
+        index.forEachCandidate(latitude, longitude, radiusKm, candidates::add);
+        return candidates;
+    }
+
+    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                   Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                   Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 6371 * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+}
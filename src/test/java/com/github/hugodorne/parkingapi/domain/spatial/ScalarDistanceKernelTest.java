@@ -0,0 +1,53 @@
+package com.github.hugodorne.parkingapi.domain.spatial;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ScalarDistanceKernel
+ */
+class ScalarDistanceKernelTest {
+
+    private final ScalarDistanceKernel kernel = new ScalarDistanceKernel();
+
+    @Test
+    void shouldKeepRowsWithinDistanceInOrder() {
+        // Given - rows 0 and 2 are about 0.37 km away, row 1 about 2.2 km away
+        double[] latitudes = {46.5835, 46.6000, 46.5835};
+        double[] longitudes = {0.3442, 0.3500, 0.3442};
+        int[] rows = {2, 1, 0};
+
+        // When
+        int kept = kernel.retainWithin(46.5802, 0.3404, DistanceKernel.maxHaversine(1.0),
+                latitudes, longitudes, rows, rows.length);
+
+        // Then
+        assertThat(kept).isEqualTo(2);
+        assertThat(rows).startsWith(2, 0);
+    }
+
+    @Test
+    void shouldOnlyConsiderCountFirstRows() {
+        // Given
+        double[] latitudes = {46.5802, 46.5802};
+        double[] longitudes = {0.3404, 0.3404};
+        int[] rows = {0, 1};
+
+        // When
+        int kept = kernel.retainWithin(46.5802, 0.3404, DistanceKernel.maxHaversine(1.0),
+                latitudes, longitudes, rows, 1);
+
+        // Then
+        assertThat(kept).isEqualTo(1);
+        assertThat(rows).containsExactly(0, 1);
+    }
+
+    @Test
+    void shouldIncreaseThresholdWithDistance() {
+        // When & Then
+        assertThat(DistanceKernel.maxHaversine(0)).isZero();
+        assertThat(DistanceKernel.maxHaversine(1)).isLessThan(DistanceKernel.maxHaversine(2));
+        assertThat(DistanceKernel.maxHaversine(100_000)).isGreaterThanOrEqualTo(1);
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.hugodorne.parkingapi.domain.spatial;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for VectorDistanceKernel
+ */
+class VectorDistanceKernelTest {
+
+    private static final int POINT_COUNT = 100_000;
+
+    private double[] latitudes;
+    private double[] longitudes;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(VectorSupport.isAvailable(), "JVM started without jdk.incubator.vector");
+
+        Random random = new Random(42);
+        latitudes = new double[POINT_COUNT];
+        longitudes = new double[POINT_COUNT];
+        for (int i = 0; i < POINT_COUNT; i++) {
+            latitudes[i] = 46.58 + (random.nextDouble() - 0.5) * 0.5;
+            longitudes[i] = 0.34 + (random.nextDouble() - 0.5) * 0.7;
+        }
+    }
+
+    @Test
+    void shouldKeepSameRowsAsScalarKernel() {
+        // Given
+        DistanceKernel vector = new VectorDistanceKernel();
+        DistanceKernel scalar = new ScalarDistanceKernel();
+
+        for (double radiusKm : new double[]{0.1, 1, 5, 20}) {
+            int[] vectorRows = IntStream.range(0, POINT_COUNT).toArray();
+            int[] scalarRows = vectorRows.clone();
+            double maxHaversine = DistanceKernel.maxHaversine(radiusKm);
+
+            // When
+            int vectorKept = vector.retainWithin(46.58, 0.34, maxHaversine, latitudes, longitudes, vectorRows, POINT_COUNT);
+            int scalarKept = scalar.retainWithin(46.58, 0.34, maxHaversine, latitudes, longitudes, scalarRows, POINT_COUNT);
+
+            // Then
+            assertThat(vectorKept).isEqualTo(scalarKept);
+            assertThat(Arrays.copyOf(vectorRows, vectorKept)).containsExactly(Arrays.copyOf(scalarRows, scalarKept));
+        }
+    }
+
+    @Test
+    void shouldHandleCountNotMultipleOfVectorLength() {
+        // Given
+        DistanceKernel vector = new VectorDistanceKernel();
+        int[] rows = {5, 3, 1, 0, 2, 4, 6};
+        double[] sameLatitudes = new double[7];
+        double[] sameLongitudes = new double[7];
+
+        // When
+        int kept = vector.retainWithin(0, 0, DistanceKernel.maxHaversine(1), sameLatitudes, sameLongitudes, rows, rows.length);
+
+        // Then
+        assertThat(kept).isEqualTo(7);
+        assertThat(rows).containsExactly(5, 3, 1, 0, 2, 4, 6);
+    }
+}
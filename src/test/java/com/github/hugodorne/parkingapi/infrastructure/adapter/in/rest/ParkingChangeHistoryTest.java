@@ -0,0 +1,271 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
+
+import com.github.hugodorne.parkingapi.domain.model.Parking;
+import com.github.hugodorne.parkingapi.domain.model.ParkingChanges;
+import com.github.hugodorne.parkingapi.domain.model.ParkingSnapshot;
+import com.github.hugodorne.parkingapi.domain.model.ParkingStatus;
+import com.github.hugodorne.parkingapi.domain.port.out.ParkingDataPort;
+import com.github.hugodorne.parkingapi.domain.port.out.ParkingSnapshotListener;
+import com.github.hugodorne.parkingapi.domain.service.ParkingService;
+import com.github.hugodorne.parkingapi.domain.spatial.ScalarDistanceKernel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ParkingChangeHistory
+ */
+class ParkingChangeHistoryTest {
+
+    private ParkingChangeHistory history;
+    private ParkingSnapshot current;
+
+    @BeforeEach
+    void setUp() {
+        ParkingChangeHistoryProperties properties = new ParkingChangeHistoryProperties();
+        properties.setHistorySize(3);
+        history = new ParkingChangeHistory(properties);
+        current = ParkingSnapshot.EMPTY;
+    }
+
+    @Test
+    void shouldReturnChangesOfLastPublication() {
+        // Given
+        publish(parking("1", 50), parking("2", 10));
+        publish(parking("1", 49), parking("2", 10));
+
+        // When
+        ParkingChanges changes = history.getChangesSince(1);
+
+        // Then
+        assertThat(changes.getFromVersion()).isEqualTo(1);
+        assertThat(changes.getToVersion()).isEqualTo(2);
+        assertThat(changes.getUpdated()).containsExactly(parking("1", 49));
+        assertThat(changes.getAdded()).isEmpty();
+        assertThat(changes.getRemoved()).isEmpty();
+    }
+
+    @Test
+    void shouldCombineChangesOfSeveralPublications() {
+        // Given
+        publish(parking("1", 50), parking("2", 10));
+        publish(parking("1", 49), parking("2", 10));
+        publish(parking("1", 48), parking("3", 5));
+
+        // When
+        ParkingChanges changes = history.getChangesSince(1);
+
+        // Then
+        assertThat(changes.getFromVersion()).isEqualTo(1);
+        assertThat(changes.getToVersion()).isEqualTo(3);
+        assertThat(changes.getUpdated()).containsExactly(parking("1", 48));
+        assertThat(changes.getAdded()).containsExactly(parking("3", 5));
+        assertThat(changes.getRemoved()).containsExactly("2");
+    }
+
+    @Test
+    void shouldReturnNoChangesToClientUpToDate() {
+        // Given
+        publish(parking("1", 50));
+
+        // When
+        ParkingChanges changes = history.getChangesSince(1);
+
+        // Then
+        assertThat(changes.getFromVersion()).isEqualTo(1);
+        assertThat(changes.getToVersion()).isEqualTo(1);
+        assertThat(changes.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldFullyResyncVersionEvictedFromHistory() {
+        // Given - the history keeps the changes of the last 3 publications
+        for (int availableSpaces = 50; availableSpaces > 45; availableSpaces--) {
+            publish(parking("1", availableSpaces), parking("2", 10));
+        }
+
+        // When
+        ParkingChanges evicted = history.getChangesSince(1);
+        ParkingChanges kept = history.getChangesSince(2);
+
+        // Then
+        assertThat(evicted.getFromVersion()).isZero();
+        assertThat(evicted.getToVersion()).isEqualTo(5);
+        assertThat(evicted.getAdded()).containsExactly(parking("1", 46), parking("2", 10));
+        assertThat(kept.getFromVersion()).isEqualTo(2);
+        assertThat(kept.getUpdated()).containsExactly(parking("1", 46));
+    }
+
+    @Test
+    void shouldFullyResyncUnknownVersion() {
+        // Given - versions recorded from 99
+        current = new ParkingSnapshot(99L, Instant.ofEpochSecond(1000), List.of());
+        publish(parking("1", 50));
+
+        // When
+        ParkingChanges changes = history.getChangesSince(42);
+
+        // Then
+        assertThat(changes.getFromVersion()).isZero();
+        assertThat(changes.getAdded()).containsExactly(parking("1", 50));
+    }
+
+    @Test
+    void shouldFullyResyncWhenPublicationsWereMissed() {
+        // Given - version 2 was never recorded
+        publish(parking("1", 50));
+        ParkingSnapshot second = current.next(List.of(parking("1", 49)), Instant.ofEpochSecond(2000));
+        ParkingSnapshot third = second.next(List.of(parking("1", 48)), Instant.ofEpochSecond(2060));
+        history.onSnapshotPublished(second, third, ParkingChanges.between(second, third));
+
+        // When
+        ParkingChanges changes = history.getChangesSince(1);
+
+        // Then
+        assertThat(changes.getFromVersion()).isZero();
+        assertThat(history.getChangesSince(2).getFromVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReturnEmptyChangesBeforeFirstPublication() {
+        // When
+        ParkingChanges changes = history.getChangesSince(0);
+
+        // Then
+        assertThat(changes.isEmpty()).isTrue();
+        assertThat(changes.getToVersion()).isZero();
+    }
+
+    @Test
+    void shouldCompleteWaitRightAwayWhenNewerSnapshotExists() {
+        // Given
+        publish(parking("1", 50));
+        publish(parking("1", 49));
+
+        // When
+        CompletableFuture<ParkingChanges> changes = history.awaitChangesSince(1);
+
+        // Then
+        assertThat(changes).isCompleted();
+        assertThat(changes.join().getUpdated()).containsExactly(parking("1", 49));
+        assertThat(history.getWaiterCount()).isZero();
+    }
+
+    @Test
+    void shouldCompleteWaitOnNextPublication() {
+        // Given
+        publish(parking("1", 50));
+        CompletableFuture<ParkingChanges> first = history.awaitChangesSince(1);
+        CompletableFuture<ParkingChanges> second = history.awaitChangesSince(1);
+        assertThat(first).isNotDone();
+        assertThat(history.getWaiterCount()).isEqualTo(2);
+
+        // When
+        publish(parking("1", 49));
+
+        // Then - both get the same changes, computed once
+        assertThat(first.join().getToVersion()).isEqualTo(2);
+        assertThat(first.join().getUpdated()).containsExactly(parking("1", 49));
+        assertThat(second.join()).isSameAs(first.join());
+        assertThat(history.getWaiterCount()).isZero();
+    }
+
+    @Test
+    void shouldStopWaitingOnceCancelled() {
+        // Given
+        publish(parking("1", 50));
+        CompletableFuture<ParkingChanges> changes = history.awaitChangesSince(1);
+
+        // When
+        changes.cancel(false);
+
+        // Then
+        assertThat(history.getWaiterCount()).isZero();
+    }
+
+    @Test
+    void shouldFullyResyncClientOfPreviousProcess() {
+        // Given - the client is up to date with a process since restarted, which published as many snapshots
+        long bootedAt = Instant.parse("2025-10-23T08:00:00Z").toEpochMilli();
+        ParkingService previous = process(bootedAt, List.of(),
+                List.of(parking("1", 50)), List.of(parking("1", 49)));
+        long clientVersion = previous.getCurrentSnapshot().getVersion();
+        process(bootedAt + 60_000, List.of(history),
+                List.of(parking("1", 40)), List.of(parking("1", 39), parking("2", 5)));
+
+        // When
+        ParkingChanges changes = history.getChangesSince(clientVersion);
+        CompletableFuture<ParkingChanges> waited = history.awaitChangesSince(clientVersion);
+
+        // Then - neither taken for up to date nor for a version of the history
+        assertThat(changes.getFromVersion()).isZero();
+        assertThat(changes.getAdded()).containsExactly(parking("1", 39), parking("2", 5));
+        assertThat(waited).isCompleted();
+        assertThat(waited.join().getFromVersion()).isZero();
+    }
+
+    @Test
+    void shouldNotResyncClientAheadOfHistory() {
+        // Given - a client reads the published version before the history is notified of it
+        List<ParkingChanges> changes = new ArrayList<>();
+        List<CompletableFuture<ParkingChanges>> waits = new ArrayList<>();
+        ParkingSnapshotListener client = (previous, published, publishedChanges) -> {
+            changes.add(history.getChangesSince(published.getVersion()));
+            waits.add(history.awaitChangesSince(published.getVersion()));
+        };
+
+        // When
+        ParkingService parkingService = process(1L, List.of(client, history),
+                List.of(parking("1", 50)), List.of(parking("1", 49)));
+
+        // Then - no changes yet rather than a full resync to the previous version
+        assertThat(changes).extracting(ParkingChanges::getFromVersion).containsExactly(1L, 2L);
+        assertThat(changes).extracting(ParkingChanges::getToVersion).containsExactly(1L, 2L);
+        assertThat(changes).allMatch(ParkingChanges::isEmpty);
+        // The client of version 1 is answered by version 2, the client of version 2 waits for the next one
+        assertThat(waits.get(0).join().getUpdated()).containsExactly(parking("1", 49));
+        assertThat(waits.get(1)).isNotDone();
+        assertThat(history.getWaiterCount()).isEqualTo(1);
+        assertThat(parkingService.getCurrentSnapshot().getVersion()).isEqualTo(2L);
+    }
+
+    /**
+     * Service of a process booted at a given time, having refreshed once per list of parkings
+     */
+    @SafeVarargs
+    private static ParkingService process(long bootedAt, List<ParkingSnapshotListener> listeners, List<Parking>... refreshes) {
+        ParkingDataPort parkingDataPort = mock(ParkingDataPort.class);
+        ParkingService parkingService = new ParkingService(parkingDataPort, new ScalarDistanceKernel(), listeners, bootedAt);
+        for (List<Parking> parkings : refreshes) {
+            when(parkingDataPort.fetchParkings()).thenReturn(parkings);
+            parkingService.refreshParkings();
+        }
+        return parkingService;
+    }
+
+    private void publish(Parking... parkings) {
+        ParkingSnapshot next = current.next(List.of(parkings), Instant.ofEpochSecond(1000 + current.getVersion() * 60));
+        history.onSnapshotPublished(current, next, ParkingChanges.between(current, next));
+        current = next;
+    }
+
+    private static Parking parking(String id, int availableSpaces) {
+        return Parking.builder()
+                .id(id)
+                .name("Parking " + id)
+                .latitude(46.58)
+                .longitude(0.34)
+                .totalSpaces(100)
+                .availableSpaces(availableSpaces)
+                .status(ParkingStatus.OPEN)
+                .build();
+    }
+}
@@ -0,0 +1,315 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.hugodorne.parkingapi.domain.model.Parking;
+import com.github.hugodorne.parkingapi.domain.model.ParkingChanges;
+import com.github.hugodorne.parkingapi.domain.model.ParkingSnapshot;
+import com.github.hugodorne.parkingapi.domain.model.ParkingStatus;
+import com.github.hugodorne.parkingapi.domain.port.out.ParkingDataPort;
+import com.github.hugodorne.parkingapi.domain.port.out.ParkingSnapshotListener;
+import com.github.hugodorne.parkingapi.domain.service.ParkingService;
+import com.github.hugodorne.parkingapi.domain.spatial.ScalarDistanceKernel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ParkingChangeStream
+ */
+class ParkingChangeStreamTest {
+
+    private final ParkingSnapshot first = new ParkingSnapshot(1L, Instant.ofEpochSecond(1000), List.of(
+            parking("1", 50, ParkingStatus.OPEN),
+            parking("2", 10, ParkingStatus.OPEN)
+    ));
+
+    private ParkingChangeStream stream;
+
+    @BeforeEach
+    void setUp() {
+        stream = stream(new ParkingStreamProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void shouldSendFullSnapshotOnSubscribe() {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        // When
+        stream.subscribe(emitter, null);
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> emitter.events.size() == 1);
+        assertThat(emitter.events.get(0))
+                .startsWith("event:snapshot\nid:1\ndata:[{\"id\":\"1\"")
+                .contains("{\"id\":\"2\"");
+        assertThat(stream.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSendOnlyChangedParkings() {
+        // Given
+        RecordingEmitter emitter = subscribed(null);
+        ParkingSnapshot second = first.next(List.of(
+                parking("1", 49, ParkingStatus.OPEN),
+                parking("2", 10, ParkingStatus.OPEN),
+                parking("3", 0, ParkingStatus.FULL)
+        ), Instant.ofEpochSecond(1060));
+
+        // When
+        stream.onSnapshotPublished(first, second, ParkingChanges.between(first, second));
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> emitter.events.size() == 2);
+        assertThat(emitter.events.get(1))
+                .startsWith("event:changes\nid:2\ndata:{\"fromVersion\":1,\"toVersion\":2,")
+                .contains("\"added\":[{\"id\":\"3\"")
+                .contains("\"updated\":[{\"id\":\"1\"")
+                .contains("\"availableSpaces\":49")
+                .contains("\"removed\":[]")
+                .doesNotContain("\"id\":\"2\"");
+    }
+
+    @Test
+    void shouldNotSendFullSnapshotAgainToClientUpToDate() throws Exception {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        // When
+        stream.subscribe(emitter, "1");
+
+        // Then
+        Thread.sleep(100);
+        assertThat(emitter.events).isEmpty();
+    }
+
+    @Test
+    void shouldSendFullSnapshotToClientOfPreviousProcess() {
+        // Given - the client received the last event of a process since restarted, which published as many snapshots
+        long bootedAt = Instant.parse("2025-10-23T08:00:00Z").toEpochMilli();
+        ParkingSnapshot previous = process(bootedAt, List.of(),
+                List.of(parking("1", 50, ParkingStatus.OPEN)), List.of(parking("1", 49, ParkingStatus.OPEN)));
+        ParkingSnapshot restarted = process(bootedAt + 60_000, List.of(stream),
+                List.of(parking("1", 40, ParkingStatus.OPEN)), List.of(parking("1", 39, ParkingStatus.OPEN)));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        // When
+        stream.subscribe(emitter, String.valueOf(previous.getVersion()));
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> !emitter.events.isEmpty());
+        assertThat(emitter.events.get(0)).startsWith("event:snapshot\nid:" + restarted.getVersion() + "\n");
+    }
+
+    @Test
+    void shouldCoalesceChangesForSlowSubscriber() {
+        // Given - the subscriber is still receiving the first snapshot
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.blockNextSend();
+        stream.subscribe(emitter, null);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> emitter.sending);
+
+        // When
+        ParkingSnapshot previous = first;
+        for (int availableSpaces = 40; availableSpaces > 35; availableSpaces--) {
+            ParkingSnapshot next = previous.next(List.of(
+                    parking("1", availableSpaces, ParkingStatus.OPEN),
+                    parking("2", 10, ParkingStatus.OPEN)
+            ), Instant.ofEpochSecond(2000 + availableSpaces));
+            stream.onSnapshotPublished(previous, next, ParkingChanges.between(previous, next));
+            previous = next;
+        }
+        emitter.release();
+
+        // Then - a single event brings it from the first snapshot to the last one
+        await().atMost(5, TimeUnit.SECONDS).until(() -> emitter.events.size() == 2);
+        assertThat(emitter.events.get(1))
+                .startsWith("event:changes\nid:6\ndata:{\"fromVersion\":1,\"toVersion\":6,")
+                .contains("\"availableSpaces\":36");
+    }
+
+    @Test
+    void shouldNotSendEventWhenPublishedParkingsAreUnchanged() throws Exception {
+        // Given
+        RecordingEmitter emitter = subscribed(null);
+
+        // When
+        publish(stream, first, first.next(first.getTable(), Instant.ofEpochSecond(1060)));
+
+        // Then
+        Thread.sleep(100);
+        assertThat(emitter.events).hasSize(1);
+    }
+
+    @Test
+    void shouldDropSubscriberOnceDisconnected() {
+        // Given
+        RecordingEmitter emitter = subscribed(null);
+        emitter.disconnected = true;
+
+        // When
+        publish(stream, first, first.next(List.of(parking("1", 0, ParkingStatus.FULL)), Instant.ofEpochSecond(1060)));
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> stream.getSubscriberCount() == 0);
+    }
+
+    @Test
+    void shouldSendHeartbeatToIdleSubscriber() {
+        // Given
+        ParkingStreamProperties properties = new ParkingStreamProperties();
+        properties.setHeartbeatInterval(Duration.ofMillis(50));
+        stream = stream(properties);
+
+        // When
+        RecordingEmitter emitter = subscribed(null);
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> emitter.events.size() >= 2);
+        assertThat(emitter.events.get(1)).isEqualTo(":heartbeat\n\n");
+    }
+
+    @Test
+    void shouldDropStalledSubscriberWithoutDelayingOthers() {
+        // Given - the single sender thread is stuck writing to a stalled client
+        ParkingStreamProperties properties = new ParkingStreamProperties();
+        properties.setSenderThreads(1);
+        properties.setSendTimeout(Duration.ofMillis(100));
+        properties.setHeartbeatInterval(Duration.ofMillis(50));
+        stream = stream(properties);
+        RecordingEmitter stalled = new RecordingEmitter();
+        stalled.blockNextSend();
+        stream.subscribe(stalled, null);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> stalled.sending);
+
+        // When
+        RecordingEmitter other = new RecordingEmitter();
+        stream.subscribe(other, null);
+
+        // Then - the other subscriber is sent the snapshot, the stalled one is dropped then completed
+        await().atMost(5, TimeUnit.SECONDS).until(() -> !other.events.isEmpty());
+        assertThat(other.events.get(0)).startsWith("event:snapshot\nid:1\n");
+        assertThat(stream.getSubscriberCount()).isEqualTo(1);
+        stalled.release();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> stalled.failure != null);
+        assertThat(stalled.failure).isInstanceOf(TimeoutException.class);
+    }
+
+    private ParkingChangeStream stream(ParkingStreamProperties properties) {
+        if (stream != null) {
+            stream.shutdown();
+        }
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ParkingChangeStream created = new ParkingChangeStream(new ParkingListRenderer(objectMapper), objectMapper, properties);
+        created.onSnapshotPublished(ParkingSnapshot.EMPTY, first, ParkingChanges.between(ParkingSnapshot.EMPTY, first));
+        return created;
+    }
+
+    /**
+     * Current snapshot of a process booted at a given time, having refreshed once per list of parkings
+     */
+    @SafeVarargs
+    private static ParkingSnapshot process(long bootedAt, List<ParkingSnapshotListener> listeners, List<Parking>... refreshes) {
+        ParkingDataPort parkingDataPort = mock(ParkingDataPort.class);
+        ParkingService parkingService = new ParkingService(parkingDataPort, new ScalarDistanceKernel(), listeners, bootedAt);
+        for (List<Parking> parkings : refreshes) {
+            when(parkingDataPort.fetchParkings()).thenReturn(parkings);
+            parkingService.refreshParkings();
+        }
+        return parkingService.getCurrentSnapshot();
+    }
+
+    private RecordingEmitter subscribed(String lastEventId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.subscribe(emitter, lastEventId);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> !emitter.events.isEmpty());
+        return emitter;
+    }
+
+    private static Parking parking(String id, int availableSpaces, ParkingStatus status) {
+        return Parking.builder()
+                .id(id)
+                .name("Parking " + id)
+                .latitude(46.58)
+                .longitude(0.34)
+                .totalSpaces(100)
+                .availableSpaces(availableSpaces)
+                .status(status)
+                .build();
+    }
+
+    /**
+     * Emitter recording the events sent, as written on the connection
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch blocked;
+        private volatile boolean sending;
+        private volatile boolean disconnected;
+        private volatile Throwable failure;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (disconnected) {
+                throw new IOException("Broken pipe");
+            }
+            sending = true;
+            CountDownLatch latch = blocked;
+            if (latch != null) {
+                try {
+                    latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                blocked = null;
+            }
+
+            StringBuilder event = new StringBuilder();
+            for (DataWithMediaType data : builder.build()) {
+                event.append(data.getData() instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : data.getData());
+            }
+            events.add(event.toString());
+        }
+
+        @Override
+        public void completeWithError(Throwable failure) {
+            this.failure = failure;
+        }
+
+        private void blockNextSend() {
+            blocked = new CountDownLatch(1);
+        }
+
+        private void release() {
+            blocked.countDown();
+        }
+    }
+
+    private static void publish(ParkingSnapshotListener listener, ParkingSnapshot previous, ParkingSnapshot published) {
+        listener.onSnapshotPublished(previous, published, ParkingChanges.between(previous, published));
+    }
+}
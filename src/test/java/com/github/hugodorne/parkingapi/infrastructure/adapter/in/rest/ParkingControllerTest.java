@@ -1,32 +1,70 @@
 package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
 
+import com.github.hugodorne.parkingapi.domain.model.NearbyQuery;
 import com.github.hugodorne.parkingapi.domain.model.Parking;
+import com.github.hugodorne.parkingapi.domain.model.ParkingMatch;
+import com.github.hugodorne.parkingapi.domain.model.ParkingChanges;
+import com.github.hugodorne.parkingapi.domain.model.ParkingSnapshot;
 import com.github.hugodorne.parkingapi.domain.model.ParkingStatus;
+import com.github.hugodorne.parkingapi.domain.model.ParkingTable;
 import com.github.hugodorne.parkingapi.domain.port.in.GetParkingsUseCase;
+import com.github.hugodorne.parkingapi.domain.port.out.ParkingSnapshotListener;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
-
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
  * Unit tests for ParkingController
  */
 @WebMvcTest(ParkingController.class)
+@Import({NearbyBatchProperties.class, ParkingListRenderer.class, ParkingChangeStream.class, ParkingStreamProperties.class,
+        ParkingChangeHistory.class, ParkingChangeHistoryProperties.class, ParkingWatchProperties.class})
 class ParkingControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private NearbyBatchProperties nearbyBatchProperties;
+
+    @Autowired
+    private ParkingChangeStream parkingChangeStream;
+
+    @Autowired
+    private ParkingChangeHistory parkingChangeHistory;
+
     @MockBean
     private GetParkingsUseCase getParkingsUseCase;
 
@@ -61,7 +99,7 @@ class ParkingControllerTest {
     @Test
     void shouldReturnAllParkings() throws Exception {
         // Given
-        when(getParkingsUseCase.getAllParkings()).thenReturn(mockParkings);
+        when(getParkingsUseCase.getCurrentSnapshot()).thenReturn(snapshotOf(mockParkings));
 
         // When & Then
         mockMvc.perform(get("/api/parkings"))
@@ -85,7 +123,7 @@ class ParkingControllerTest {
     @Test
     void shouldReturnEmptyListWhenNoParkingsAvailable() throws Exception {
         // Given
-        when(getParkingsUseCase.getAllParkings()).thenReturn(List.of());
+        when(getParkingsUseCase.getCurrentSnapshot()).thenReturn(snapshotOf(List.of()));
 
         // When & Then
         mockMvc.perform(get("/api/parkings"))
@@ -93,11 +131,171 @@ class ParkingControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    void shouldReturnChangesSinceVersion() throws Exception {
+        // Given
+        ParkingSnapshot first = snapshotOf(mockParkings);
+        List<Parking> changed = new ArrayList<>(mockParkings);
+        changed.set(0, mockParkings.get(0).toBuilder().availableSpaces(49).build());
+        parkingChangeHistory.onSnapshotPublished(ParkingSnapshot.EMPTY, first, ParkingChanges.between(ParkingSnapshot.EMPTY, first));
+        publish(parkingChangeHistory, first, first.next(changed, Instant.ofEpochSecond(1060)));
+
+        // When & Then
+        mockMvc.perform(get("/api/parkings/changes").param("since", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromVersion", is(1)))
+                .andExpect(jsonPath("$.toVersion", is(2)))
+                .andExpect(jsonPath("$.fullResync", is(false)))
+                .andExpect(jsonPath("$.added", hasSize(0)))
+                .andExpect(jsonPath("$.updated", hasSize(1)))
+                .andExpect(jsonPath("$.updated[0].id", is("1")))
+                .andExpect(jsonPath("$.updated[0].availableSpaces", is(49)))
+                .andExpect(jsonPath("$.removed", hasSize(0)));
+    }
+
+    @Test
+    void shouldReturnFullResyncForUnknownVersion() throws Exception {
+        // Given - version 7 is older than the history
+        publish(parkingChangeHistory, ParkingSnapshot.EMPTY, new ParkingSnapshot(8L, Instant.EPOCH, mockParkings));
+
+        // When & Then
+        mockMvc.perform(get("/api/parkings/changes").param("since", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromVersion", is(0)))
+                .andExpect(jsonPath("$.toVersion", is(8)))
+                .andExpect(jsonPath("$.fullResync", is(true)))
+                .andExpect(jsonPath("$.added", hasSize(2)));
+    }
+
+    @Test
+    void shouldReturnNoChangesForVersionNotRecordedYet() throws Exception {
+        // Given - version 2 is served, the history is not notified yet
+        publish(parkingChangeHistory, ParkingSnapshot.EMPTY, snapshotOf(mockParkings));
+
+        // When & Then
+        mockMvc.perform(get("/api/parkings/changes").param("since", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromVersion", is(2)))
+                .andExpect(jsonPath("$.toVersion", is(2)))
+                .andExpect(jsonPath("$.fullResync", is(false)))
+                .andExpect(jsonPath("$.added", hasSize(0)));
+    }
+
+    @Test
+    void shouldReturn400WhenSinceIsNegative() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/parkings/changes").param("since", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldAnswerWatchRightAwayWhenNewerSnapshotExists() throws Exception {
+        // Given
+        ParkingSnapshot first = snapshotOf(mockParkings);
+        parkingChangeHistory.onSnapshotPublished(ParkingSnapshot.EMPTY, first, ParkingChanges.between(ParkingSnapshot.EMPTY, first));
+        publish(parkingChangeHistory, first, first.next(List.of(mockParkings.get(0)), Instant.ofEpochSecond(1060)));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/parkings/watch").param("version", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromVersion", is(1)))
+                .andExpect(jsonPath("$.toVersion", is(2)))
+                .andExpect(jsonPath("$.removed[0]", is("2")));
+    }
+
+    @Test
+    void shouldAnswerWatchOnNextPublication() throws Exception {
+        // Given
+        ParkingSnapshot first = snapshotOf(mockParkings);
+        parkingChangeHistory.onSnapshotPublished(ParkingSnapshot.EMPTY, first, ParkingChanges.between(ParkingSnapshot.EMPTY, first));
+        MvcResult result = mockMvc.perform(get("/api/parkings/watch").param("version", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(parkingChangeHistory.getWaiterCount()).isEqualTo(1);
+
+        // When
+        List<Parking> changed = new ArrayList<>(mockParkings);
+        changed.set(1, mockParkings.get(1).toBuilder().availableSpaces(3).status(ParkingStatus.OPEN).build());
+        publish(parkingChangeHistory, first, first.next(changed, Instant.ofEpochSecond(1060)));
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.toVersion", is(2)))
+                .andExpect(jsonPath("$.fullResync", is(false)))
+                .andExpect(jsonPath("$.updated[0].id", is("2")))
+                .andExpect(jsonPath("$.updated[0].availableSpaces", is(3)));
+        assertThat(parkingChangeHistory.getWaiterCount()).isZero();
+    }
+
+    @Test
+    void shouldAnswerWatchWithoutChangesOnTimeout() throws Exception {
+        // Given
+        publish(parkingChangeHistory, ParkingSnapshot.EMPTY, snapshotOf(mockParkings));
+        MvcResult result = mockMvc.perform(get("/api/parkings/watch").param("version", "1").param("timeout", "5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(5000);
+
+        // When
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromVersion", is(1)))
+                .andExpect(jsonPath("$.toVersion", is(1)))
+                .andExpect(jsonPath("$.updated", hasSize(0)));
+        assertThat(parkingChangeHistory.getWaiterCount()).isZero();
+    }
+
+    @Test
+    void shouldReturn400WhenWatchTimeoutIsTooLong() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/parkings/watch").param("version", "1").param("timeout", "3600"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldStreamSnapshotThenChanges() throws Exception {
+        // Given
+        ParkingSnapshot first = new ParkingSnapshot(1L, Instant.ofEpochSecond(1000), mockParkings);
+        parkingChangeStream.onSnapshotPublished(ParkingSnapshot.EMPTY, first, ParkingChanges.between(ParkingSnapshot.EMPTY, first));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/parkings/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        List<Parking> changed = new ArrayList<>(mockParkings);
+        changed.set(0, mockParkings.get(0).toBuilder().availableSpaces(49).build());
+        ParkingSnapshot second = first.next(changed, Instant.ofEpochSecond(1060));
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> result.getResponse().getContentAsString().contains("event:snapshot"));
+        parkingChangeStream.onSnapshotPublished(first, second, ParkingChanges.between(first, second));
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> result.getResponse().getContentAsString().contains("event:changes"));
+        String events = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(events).contains("event:snapshot\nid:1\ndata:[{\"id\":\"1\"");
+        assertThat(events).contains("event:changes\nid:2\ndata:{\"fromVersion\":1,\"toVersion\":2,");
+        assertThat(events).contains("\"updated\":[{\"id\":\"1\"");
+    }
+
     @Test
     void shouldReturnParkingsNearbyWithDefaultRadius() throws Exception {
         // Given
-        List<Parking> nearbyParkings = List.of(
-                mockParkings.get(0).toBuilder().distanceKm(2.5).build()
+        List<ParkingMatch> nearbyParkings = List.of(
+                matchOf(mockParkings.get(0), 2.5)
         );
 
         when(getParkingsUseCase.getParkingsNearby(46.5802, 0.3404, 5.0))
@@ -116,9 +314,9 @@ class ParkingControllerTest {
     @Test
     void shouldReturnParkingsNearbyWithCustomRadius() throws Exception {
         // Given
-        List<Parking> nearbyParkings = List.of(
-                mockParkings.get(0).toBuilder().distanceKm(0.8).build(),
-                mockParkings.get(1).toBuilder().distanceKm(0.5).build()
+        List<ParkingMatch> nearbyParkings = List.of(
+                matchOf(mockParkings.get(0), 0.8),
+                matchOf(mockParkings.get(1), 0.5)
         );
 
         when(getParkingsUseCase.getParkingsNearby(46.5802, 0.3404, 1.0))
@@ -216,7 +414,7 @@ class ParkingControllerTest {
                 .status(ParkingStatus.UNKNOWN)
                 .build();
 
-        when(getParkingsUseCase.getAllParkings()).thenReturn(List.of(parkingWithNulls));
+        when(getParkingsUseCase.getCurrentSnapshot()).thenReturn(snapshotOf(List.of(parkingWithNulls)));
 
         // When & Then
         mockMvc.perform(get("/api/parkings"))
@@ -267,5 +465,299 @@ class ParkingControllerTest {
                         .param("longitude", "180.0"))
                 .andExpect(status().isOk());
     }
-}
 
+    @Test
+    void shouldReturnNearestParkingsWithDefaultCount() throws Exception {
+        // Given
+        List<Parking> nearestParkings = List.of(
+                mockParkings.get(0).toBuilder().distanceKm(0.0).build(),
+                mockParkings.get(1).toBuilder().distanceKm(0.45).build()
+        );
+
+        when(getParkingsUseCase.getNearestParkings(46.5802, 0.3404, 5, false))
+                .thenReturn(nearestParkings);
+
+        // When & Then
+        mockMvc.perform(get("/api/parkings/nearest")
+                        .param("latitude", "46.5802")
+                        .param("longitude", "0.3404"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is("1")))
+                .andExpect(jsonPath("$[1].distanceKm", is(0.45)));
+    }
+
+    @Test
+    void shouldReturnNearestAvailableParkings() throws Exception {
+        // Given
+        when(getParkingsUseCase.getNearestParkings(46.5802, 0.3404, 1, true))
+                .thenReturn(List.of(mockParkings.get(0).toBuilder().distanceKm(0.0).build()));
+
+        // When & Then
+        mockMvc.perform(get("/api/parkings/nearest")
+                        .param("latitude", "46.5802")
+                        .param("longitude", "0.3404")
+                        .param("k", "1")
+                        .param("onlyAvailable", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].status", is("OPEN")));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenNearestCountIsZero() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/parkings/nearest")
+                        .param("latitude", "46.5802")
+                        .param("longitude", "0.3404")
+                        .param("k", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenNearestCountIsTooHigh() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/parkings/nearest")
+                        .param("latitude", "46.5802")
+                        .param("longitude", "0.3404")
+                        .param("k", "101"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnParkingsWithinViewport() throws Exception {
+        // Given
+        when(getParkingsUseCase.getParkingsWithin(46.57, 0.33, 46.59, 0.35))
+                .thenReturn(mockParkings);
+
+        // When & Then
+        mockMvc.perform(get("/api/parkings/within")
+                        .param("minLat", "46.57")
+                        .param("minLon", "0.33")
+                        .param("maxLat", "46.59")
+                        .param("maxLon", "0.35"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is("1")))
+                .andExpect(jsonPath("$[0].distanceKm").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenViewportLatitudeIsInvalid() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/parkings/within")
+                        .param("minLat", "-91.0") // Invalid: < -90
+                        .param("minLon", "0.33")
+                        .param("maxLat", "46.59")
+                        .param("maxLon", "0.35"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenViewportLongitudeIsInvalid() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/parkings/within")
+                        .param("minLat", "46.57")
+                        .param("minLon", "0.33")
+                        .param("maxLat", "46.59")
+                        .param("maxLon", "181.0")) // Invalid: > 180
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenViewportLatitudesAreInverted() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/parkings/within")
+                        .param("minLat", "46.59")
+                        .param("minLon", "0.33")
+                        .param("maxLat", "46.57")
+                        .param("maxLon", "0.35"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.maxLat").exists());
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenViewportBoundIsMissing() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/parkings/within")
+                        .param("minLat", "46.57")
+                        .param("minLon", "0.33")
+                        .param("maxLat", "46.59"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnParkingsNearbyForEachBatchQuery() throws Exception {
+        // Given
+        when(getParkingsUseCase.getParkingsNearby(List.of(
+                new NearbyQuery(46.5802, 0.3404, 1.0),
+                new NearbyQuery(46.6, 0.35, 5.0))))
+                .thenReturn(List.of(
+                        List.of(matchOf(mockParkings.get(0), 0.0),
+                                matchOf(mockParkings.get(1), 0.45)),
+                        List.of()));
+
+        // When & Then
+        mockMvc.perform(post("/api/parkings/nearby:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"latitude": 46.5802, "longitude": 0.3404, "radius": 1.0},
+                                  {"latitude": 46.6, "longitude": 0.35}
+                                ]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0]", hasSize(2)))
+                .andExpect(jsonPath("$[0][0].id", is("1")))
+                .andExpect(jsonPath("$[0][1].distanceKm", is(0.45)))
+                .andExpect(jsonPath("$[1]", hasSize(0)));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenBatchQueryIsInvalid() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/parkings/nearby:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"latitude": 46.5802, "longitude": 0.3404},
+                                  {"latitude": 100.0, "longitude": 0.3404}
+                                ]
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.latitude").exists());
+
+        verifyNoInteractions(getParkingsUseCase);
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenBatchQueryHasNoPosition() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/parkings/nearby:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"radius\": 1.0}]"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(getParkingsUseCase);
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenBatchIsTooLarge() throws Exception {
+        // Given
+        String query = "{\"latitude\": 46.5802, \"longitude\": 0.3404}";
+        String batch = "[" + String.join(",", Collections.nCopies(nearbyBatchProperties.getMaxSize() + 1, query)) + "]";
+
+        // When & Then
+        mockMvc.perform(post("/api/parkings/nearby:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.queries").exists());
+
+        verifyNoInteractions(getParkingsUseCase);
+    }
+
+    @Test
+    void shouldAcceptBatchAtSizeLimit() throws Exception {
+        // Given
+        when(getParkingsUseCase.getParkingsNearby(anyList())).thenReturn(List.of());
+        String query = "{\"latitude\": 46.5802, \"longitude\": 0.3404}";
+        String batch = "[" + String.join(",", Collections.nCopies(nearbyBatchProperties.getMaxSize(), query)) + "]";
+
+        // When & Then
+        mockMvc.perform(post("/api/parkings/nearby:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch))
+                .andExpect(status().isOk());
+
+        verify(getParkingsUseCase).getParkingsNearby(anyList());
+    }
+
+    private static ParkingMatch matchOf(Parking parking, double distanceKm) {
+        return new ParkingMatch(ParkingTable.of(List.of(parking)), 0, distanceKm);
+    }
+
+    @Test
+    void shouldTagParkingListWithSnapshotVersion() throws Exception {
+        // Given
+        when(getParkingsUseCase.getCurrentSnapshot())
+                .thenReturn(new ParkingSnapshot(3L, Instant.ofEpochSecond(1_000), mockParkings));
+
+        // When & Then
+        mockMvc.perform(get("/api/parkings"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, 1_000_000L))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void shouldReturnNotModifiedWhenParkingListIsUnchanged() throws Exception {
+        // Given
+        when(getParkingsUseCase.getCurrentSnapshot()).thenReturn(snapshotOf(mockParkings));
+
+        // When & Then
+        mockMvc.perform(get("/api/parkings")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void shouldReturnParkingListWhenEtagIsOutdated() throws Exception {
+        // Given
+        when(getParkingsUseCase.getCurrentSnapshot())
+                .thenReturn(new ParkingSnapshot(2L, Instant.EPOCH, mockParkings));
+
+        // When & Then
+        mockMvc.perform(get("/api/parkings")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void shouldReturnGzippedParkingListWhenAccepted() throws Exception {
+        // Given
+        when(getParkingsUseCase.getCurrentSnapshot()).thenReturn(snapshotOf(mockParkings));
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/parkings")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-gzip\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String json = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+            org.assertj.core.api.Assertions.assertThat(json).startsWith("[{\"id\":\"1\"");
+        }
+    }
+
+    @Test
+    void shouldNotGzipParkingListWhenRefused() throws Exception {
+        // Given
+        when(getParkingsUseCase.getCurrentSnapshot()).thenReturn(snapshotOf(mockParkings));
+
+        // When & Then
+        mockMvc.perform(get("/api/parkings")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    private static ParkingSnapshot snapshotOf(List<Parking> parkings) {
+        return new ParkingSnapshot(1L, Instant.EPOCH, parkings);
+    }
+
+    private static void publish(ParkingSnapshotListener listener, ParkingSnapshot previous, ParkingSnapshot published) {
+        listener.onSnapshotPublished(previous, published, ParkingChanges.between(previous, published));
+    }
+}
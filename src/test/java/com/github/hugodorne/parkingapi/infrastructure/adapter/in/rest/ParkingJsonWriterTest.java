@@ -0,0 +1,74 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.hugodorne.parkingapi.domain.model.Parking;
+import com.github.hugodorne.parkingapi.domain.model.ParkingStatus;
+import com.github.hugodorne.parkingapi.domain.model.ParkingTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ParkingJsonWriter
+ */
+class ParkingJsonWriterTest {
+
+    private final List<Parking> parkings = List.of(
+            Parking.builder()
+                    .id("1")
+                    .name("Parking Centre")
+                    .address("1 Rue du \"Centre\"")
+                    .latitude(46.5802)
+                    .longitude(0.3404)
+                    .totalSpaces(100)
+                    .availableSpaces(33)
+                    .status(ParkingStatus.OPEN)
+                    .build(),
+            Parking.builder()
+                    .id("2")
+                    .name("Parking Gare")
+                    .latitude(46.5835)
+                    .longitude(0.3442)
+                    .totalSpaces(0)
+                    .status(ParkingStatus.FULL)
+                    .build(),
+            Parking.builder()
+                    .id("3")
+                    .name("Parking Sans Données")
+                    .build()
+    );
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldWriteTableLikeParkingResponses() throws Exception {
+        // Given
+        ParkingTable table = ParkingTable.of(parkings);
+        List<ParkingResponse> responses = parkings.stream().map(ParkingResponse::fromDomain).toList();
+
+        // When
+        String json = writeTable(table);
+
+        // Then
+        assertThat(json).isEqualTo(objectMapper.writeValueAsString(responses));
+    }
+
+    @Test
+    void shouldWriteEmptyTableAsEmptyArray() throws Exception {
+        // When & Then
+        assertThat(writeTable(ParkingTable.EMPTY)).isEqualTo("[]");
+    }
+
+    private String writeTable(ParkingTable table) throws IOException {
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = objectMapper.createGenerator(json)) {
+            ParkingJsonWriter.writeTable(generator, table);
+        }
+        return json.toString();
+    }
+}
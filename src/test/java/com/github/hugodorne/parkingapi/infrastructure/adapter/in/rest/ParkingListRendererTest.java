@@ -0,0 +1,98 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.hugodorne.parkingapi.domain.model.Parking;
+import com.github.hugodorne.parkingapi.domain.model.ParkingSnapshot;
+import com.github.hugodorne.parkingapi.domain.model.ParkingStatus;
+import com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest.ParkingListRenderer.RenderedParkingList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ParkingListRenderer
+ */
+class ParkingListRendererTest {
+
+    private final List<Parking> parkings = List.of(
+            Parking.builder()
+                    .id("1")
+                    .name("Parking Centre")
+                    .latitude(46.5802)
+                    .longitude(0.3404)
+                    .totalSpaces(100)
+                    .availableSpaces(50)
+                    .status(ParkingStatus.OPEN)
+                    .build()
+    );
+
+    private ObjectMapper objectMapper;
+    private ParkingListRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        renderer = new ParkingListRenderer(objectMapper);
+    }
+
+    @Test
+    void shouldRenderSnapshotParkingsAsJson() throws Exception {
+        // Given
+        ParkingSnapshot snapshot = new ParkingSnapshot(1L, Instant.EPOCH, parkings);
+
+        // When
+        RenderedParkingList rendered = renderer.render(snapshot);
+
+        // Then
+        assertThat(rendered.getVersion()).isEqualTo(1L);
+        assertThat(rendered.getJson()).isEqualTo(objectMapper.writeValueAsBytes(
+                parkings.stream().map(ParkingResponse::fromDomain).toList()));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(rendered.getGzippedJson()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(rendered.getJson());
+        }
+    }
+
+    @Test
+    void shouldReuseRenderingWhileSnapshotIsUnchanged() {
+        // Given
+        ParkingSnapshot snapshot = new ParkingSnapshot(1L, Instant.EPOCH, parkings);
+        RenderedParkingList first = renderer.render(snapshot);
+
+        // When
+        RenderedParkingList second = renderer.render(snapshot);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(second.getJson()).isSameAs(first.getJson());
+    }
+
+    @Test
+    void shouldRenderAgainWhenSnapshotChanges() {
+        // Given
+        RenderedParkingList first = renderer.render(new ParkingSnapshot(1L, Instant.EPOCH, parkings));
+
+        // When
+        RenderedParkingList second = renderer.render(new ParkingSnapshot(2L, Instant.EPOCH, List.of()));
+
+        // Then
+        assertThat(second.getVersion()).isEqualTo(2L);
+        assertThat(new String(second.getJson())).isEqualTo("[]");
+        assertThat(second.getEtag(false)).isNotEqualTo(first.getEtag(false));
+    }
+
+    @Test
+    void shouldTagEncodingsDifferently() {
+        // Given
+        RenderedParkingList rendered = renderer.render(new ParkingSnapshot(1L, Instant.ofEpochSecond(60), parkings));
+
+        // When & Then
+        assertThat(rendered.getEtag(false)).isEqualTo("\"1\"");
+        assertThat(rendered.getEtag(true)).isEqualTo("\"1-gzip\"");
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.hugodorne.parkingapi.domain.model.Parking;
+import com.github.hugodorne.parkingapi.domain.model.ParkingMatch;
+import com.github.hugodorne.parkingapi.domain.model.ParkingStatus;
+import com.github.hugodorne.parkingapi.domain.model.ParkingTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ParkingMatchesResponse
+ */
+class ParkingMatchesResponseTest {
+
+    private final List<Parking> parkings = List.of(
+            Parking.builder()
+                    .id("1")
+                    .name("Parking Centre")
+                    .address("1 Rue du \"Centre\"")
+                    .latitude(46.5802)
+                    .longitude(0.3404)
+                    .totalSpaces(100)
+                    .availableSpaces(33)
+                    .status(ParkingStatus.OPEN)
+                    .build(),
+            Parking.builder()
+                    .id("2")
+                    .name("Parking Gare")
+                    .latitude(46.5835)
+                    .longitude(0.3442)
+                    .totalSpaces(0)
+                    .status(ParkingStatus.FULL)
+                    .build(),
+            Parking.builder()
+                    .id("3")
+                    .name("Parking Sans Données")
+                    .build()
+    );
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldWriteMatchesLikeParkingResponsesWithDistance() throws Exception {
+        // Given
+        ParkingTable table = ParkingTable.of(parkings);
+        List<ParkingMatch> matches = List.of(
+                new ParkingMatch(table, 1, 0.45),
+                new ParkingMatch(table, 0, 1.0),
+                new ParkingMatch(table, 2, 12.34)
+        );
+        List<ParkingResponse> responses = matches.stream()
+                .map(match -> ParkingResponse.fromDomain(match.toParking()))
+                .toList();
+
+        // When
+        String json = objectMapper.writeValueAsString(ParkingMatchesResponse.fromDomain(matches));
+
+        // Then
+        assertThat(json).isEqualTo(objectMapper.writeValueAsString(responses));
+    }
+
+    @Test
+    void shouldWriteNoMatchAsEmptyArray() throws Exception {
+        // When & Then
+        assertThat(objectMapper.writeValueAsString(ParkingMatchesResponse.fromDomain(List.of()))).isEqualTo("[]");
+    }
+}
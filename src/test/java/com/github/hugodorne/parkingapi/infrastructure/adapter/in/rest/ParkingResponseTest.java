@@ -142,4 +142,3 @@ class ParkingResponseTest {
         assertThat(response.getDistanceKm()).isNull();
     }
 }
-
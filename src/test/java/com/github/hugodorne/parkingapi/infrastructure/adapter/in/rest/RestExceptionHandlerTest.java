@@ -142,4 +142,21 @@ class RestExceptionHandlerTest {
         // Then
         assertThat(response.getBody().getErrors()).containsKey("latitude");
     }
+
+    @Test
+    void shouldHandleInvalidParameterException() {
+        // Given
+        InvalidParameterException exception =
+                new InvalidParameterException("maxLat", "must be greater than or equal to minLat");
+
+        // When
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleInvalidParameterException(exception);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getError()).isEqualTo("Validation Error");
+        assertThat(response.getBody().getErrors())
+                .containsEntry("maxLat", "must be greater than or equal to minLat");
+    }
 }
@@ -0,0 +1,34 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.scheduler;
+
+import com.github.hugodorne.parkingapi.domain.port.in.RefreshParkingsUseCase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for ParkingSnapshotRefresher
+ */
+@ExtendWith(MockitoExtension.class)
+class ParkingSnapshotRefresherTest {
+
+    @Mock
+    private RefreshParkingsUseCase refreshParkingsUseCase;
+
+    @InjectMocks
+    private ParkingSnapshotRefresher refresher;
+
+    @Test
+    void shouldRefreshParkingsOnEachRun() {
+        // When
+        refresher.refresh();
+        refresher.refresh();
+
+        // Then
+        verify(refreshParkingsUseCase, times(2)).refreshParkings();
+    }
+}
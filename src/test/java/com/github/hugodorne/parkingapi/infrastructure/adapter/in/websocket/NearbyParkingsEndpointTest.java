@@ -0,0 +1,326 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.in.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.hugodorne.parkingapi.domain.model.Parking;
+import com.github.hugodorne.parkingapi.domain.model.ParkingStatus;
+import com.github.hugodorne.parkingapi.domain.port.out.ParkingDataPort;
+import com.github.hugodorne.parkingapi.domain.port.out.ParkingSnapshotListener;
+import com.github.hugodorne.parkingapi.domain.service.ParkingService;
+import com.github.hugodorne.parkingapi.domain.spatial.ScalarDistanceKernel;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for NearbyParkingsEndpoint
+ */
+class NearbyParkingsEndpointTest {
+
+    private final ParkingDataPort parkingDataPort = mock(ParkingDataPort.class);
+    private final List<Parking> parkings = List.of(
+            parking("1", 46.5802, 0.3404, 50),   // Centre
+            parking("2", 46.5835, 0.3442, 100),  // Gare, about 450 m from Centre
+            parking("3", 46.6000, 0.3500, 0),    // Nord, about 2.3 km from Centre
+            parking("4", 46.8170, 0.5450, 20)    // Châtellerault, about 30 km away
+    );
+
+    private ParkingService parkingService;
+    private NearbyParkingsEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        List<ParkingSnapshotListener> listeners = new ArrayList<>();
+        parkingService = new ParkingService(parkingDataPort, new ScalarDistanceKernel(), listeners, 1L);
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        endpoint = new NearbyParkingsEndpoint(parkingService, objectMapper, new NearbyLiveProperties());
+        listeners.add(endpoint);
+        publish(parkings);
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.shutdown();
+    }
+
+    @Test
+    void shouldSendParkingsOfAreaOnOpen() {
+        // Given
+        FakeSession session = new FakeSession("46.5802", "0.3404", "1");
+
+        // When
+        endpoint.onOpen(session.session, null);
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> session.messages.size() == 1);
+        assertThat(session.messages.get(0))
+                .startsWith("{\"fromVersion\":0,\"toVersion\":1,")
+                .contains("\"added\":[{\"id\":\"1\"")
+                .contains("{\"id\":\"2\"")
+                .contains("\"distanceKm\":0.0")
+                .doesNotContain("\"id\":\"3\"")
+                .doesNotContain("\"id\":\"4\"");
+        assertThat(endpoint.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldUseDefaultRadiusOfNearbySearch() {
+        // Given
+        FakeSession session = new FakeSession("46.5802", "0.3404", null);
+
+        // When
+        endpoint.onOpen(session.session, null);
+
+        // Then - Nord is within 5 km
+        await().atMost(5, TimeUnit.SECONDS).until(() -> session.messages.size() == 1);
+        assertThat(session.messages.get(0)).contains("{\"id\":\"3\"").doesNotContain("\"id\":\"4\"");
+    }
+
+    @Test
+    void shouldSendEmptyAreaOnOpen() {
+        // Given
+        FakeSession session = new FakeSession("45.0", "0.0", "1");
+
+        // When
+        endpoint.onOpen(session.session, null);
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> session.messages.size() == 1);
+        assertThat(session.messages.get(0)).contains("\"added\":[]");
+    }
+
+    @Test
+    void shouldSendChangesOnlyToSubscribersOfChangedArea() throws Exception {
+        // Given
+        FakeSession centre = opened("46.5802", "0.3404", "1");
+        FakeSession chatellerault = opened("46.8170", "0.5450", "1");
+
+        // When
+        publish(List.of(parkings.get(0).toBuilder().availableSpaces(49).build(), parkings.get(1), parkings.get(2), parkings.get(3)));
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> centre.messages.size() == 2);
+        assertThat(centre.messages.get(1))
+                .startsWith("{\"fromVersion\":1,\"toVersion\":2,")
+                .contains("\"updated\":[{\"id\":\"1\"")
+                .contains("\"availableSpaces\":49")
+                .doesNotContain("\"id\":\"2\"");
+        Thread.sleep(100);
+        assertThat(chatellerault.messages).hasSize(1);
+    }
+
+    @Test
+    void shouldSendRemovedParkingsOfArea() {
+        // Given
+        FakeSession centre = opened("46.5802", "0.3404", "1");
+
+        // When
+        publish(List.of(parkings.get(0), parkings.get(2), parkings.get(3)));
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> centre.messages.size() == 2);
+        assertThat(centre.messages.get(1)).contains("\"removed\":[\"2\"]").contains("\"updated\":[]");
+    }
+
+    @Test
+    void shouldSendParkingsMovingIntoArea() {
+        // Given
+        FakeSession centre = opened("46.5802", "0.3404", "1");
+
+        // When - Nord moves next to Centre
+        publish(List.of(parkings.get(0), parkings.get(1),
+                parkings.get(2).toBuilder().latitude(46.5810).longitude(0.3410).build(), parkings.get(3)));
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> centre.messages.size() == 2);
+        assertThat(centre.messages.get(1)).contains("\"added\":[{\"id\":\"3\"");
+    }
+
+    @Test
+    void shouldCoalesceChangesWhileMessageIsSent() {
+        // Given - the first message is still being sent
+        FakeSession centre = new FakeSession("46.5802", "0.3404", "1");
+        centre.holdSends = true;
+        endpoint.onOpen(centre.session, null);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> centre.pending.size() == 1);
+
+        // When
+        for (int availableSpaces = 40; availableSpaces > 35; availableSpaces--) {
+            publish(List.of(parkings.get(0).toBuilder().availableSpaces(availableSpaces).build(),
+                    parkings.get(1), parkings.get(2), parkings.get(3)));
+        }
+        centre.holdSends = false;
+        centre.completePending();
+
+        // Then - a single message brings it from the first snapshot to the last one
+        await().atMost(5, TimeUnit.SECONDS).until(() -> centre.messages.size() == 2);
+        assertThat(centre.messages.get(1))
+                .startsWith("{\"fromVersion\":1,\"toVersion\":6,")
+                .contains("\"availableSpaces\":36");
+    }
+
+    @Test
+    void shouldRejectInvalidArea() throws Exception {
+        // Given
+        FakeSession session = new FakeSession("91", "0.3404", "1");
+
+        // When
+        endpoint.onOpen(session.session, null);
+
+        // Then
+        verify(session.session).close(argThat(reason ->
+                reason.getCloseCode() == CloseReason.CloseCodes.CANNOT_ACCEPT
+                        && reason.getReasonPhrase().startsWith("latitude")));
+        assertThat(endpoint.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void shouldRejectRadiusAboveMaximum() throws Exception {
+        // Given
+        FakeSession session = new FakeSession("46.5802", "0.3404", "50.1");
+
+        // When
+        endpoint.onOpen(session.session, null);
+
+        // Then
+        verify(session.session).close(argThat(reason ->
+                reason.getCloseCode() == CloseReason.CloseCodes.CANNOT_ACCEPT
+                        && reason.getReasonPhrase().equals("radius: must be at most 50.0")));
+        assertThat(endpoint.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void shouldRejectMissingLongitude() throws Exception {
+        // Given
+        FakeSession session = new FakeSession("46.5802", null, "1");
+
+        // When
+        endpoint.onOpen(session.session, null);
+
+        // Then
+        verify(session.session).close(argThat(reason -> reason.getReasonPhrase().equals("longitude: is required")));
+    }
+
+    @Test
+    void shouldDropSubscriberOnClose() {
+        // Given
+        FakeSession centre = opened("46.5802", "0.3404", "1");
+
+        // When
+        endpoint.onClose(centre.session, new CloseReason(CloseReason.CloseCodes.NORMAL_CLOSURE, null));
+
+        // Then
+        assertThat(endpoint.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void shouldDropSubscriberWhenSendFails() {
+        // Given
+        FakeSession centre = opened("46.5802", "0.3404", "1");
+        centre.failSends = true;
+
+        // When
+        publish(List.of(parkings.get(0).toBuilder().availableSpaces(0).build(), parkings.get(1), parkings.get(2), parkings.get(3)));
+
+        // Then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> endpoint.getSubscriberCount() == 0);
+    }
+
+    private FakeSession opened(String latitude, String longitude, String radius) {
+        FakeSession session = new FakeSession(latitude, longitude, radius);
+        endpoint.onOpen(session.session, null);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> session.messages.size() == 1);
+        return session;
+    }
+
+    private void publish(List<Parking> published) {
+        when(parkingDataPort.fetchParkings()).thenReturn(published);
+        parkingService.refreshParkings();
+    }
+
+    private static Parking parking(String id, double latitude, double longitude, int availableSpaces) {
+        return Parking.builder()
+                .id(id)
+                .name("Parking " + id)
+                .latitude(latitude)
+                .longitude(longitude)
+                .totalSpaces(100)
+                .availableSpaces(availableSpaces)
+                .status(availableSpaces > 0 ? ParkingStatus.OPEN : ParkingStatus.FULL)
+                .build();
+    }
+
+    /**
+     * Mocked session recording the messages sent, whose sends can be held or failed
+     */
+    private static class FakeSession {
+        private final Session session = mock(Session.class);
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+        private final List<Runnable> pending = new CopyOnWriteArrayList<>();
+        private volatile boolean holdSends;
+        private volatile boolean failSends;
+
+        private FakeSession(String latitude, String longitude, String radius) {
+            Map<String, List<String>> parameters = new HashMap<>();
+            if (latitude != null) {
+                parameters.put("latitude", List.of(latitude));
+            }
+            if (longitude != null) {
+                parameters.put("longitude", List.of(longitude));
+            }
+            if (radius != null) {
+                parameters.put("radius", List.of(radius));
+            }
+            RemoteEndpoint.Async remote = mock(RemoteEndpoint.Async.class);
+            when(session.getRequestParameterMap()).thenReturn(parameters);
+            when(session.getUserProperties()).thenReturn(new HashMap<>());
+            when(session.getAsyncRemote()).thenReturn(remote);
+            doAnswer(invocation -> {
+                String message = invocation.getArgument(0);
+                SendHandler handler = invocation.getArgument(1);
+                Runnable completion = () -> {
+                    messages.add(message);
+                    handler.onResult(new SendResult());
+                };
+                if (failSends) {
+                    handler.onResult(new SendResult(new IOException("Broken pipe")));
+                } else if (holdSends) {
+                    pending.add(completion);
+                } else {
+                    completion.run();
+                }
+                return null;
+            }).when(remote).sendText(anyString(), any(SendHandler.class));
+        }
+
+        private void completePending() {
+            pending.forEach(Runnable::run);
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.common;
+
+import com.github.hugodorne.parkingapi.AllocationMeter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for GeoPointParser
+ */
+class GeoPointParserTest {
+
+    private static final Pattern PLAIN_GEOPOINT = Pattern.compile(
+            "[ \\t]*[+-]?(\\d+\\.?\\d*|\\.\\d+)[ \\t]*,[ \\t]*[+-]?(\\d+\\.?\\d*|\\.\\d+)[ \\t]*");
+
+    private final GeoPointParser parser = new GeoPointParser();
+    private final double[] coordinates = new double[2];
+
+    @Test
+    void shouldParseGeopoint() {
+        // When
+        boolean parsed = parser.parse("46.58383455409422, 0.33779491061805567", coordinates);
+
+        // Then
+        assertThat(parsed).isTrue();
+        assertThat(coordinates[0]).isEqualTo(46.58383455409422);
+        assertThat(coordinates[1]).isEqualTo(0.33779491061805567);
+        assertThat(parser.getRejectCount()).isZero();
+    }
+
+    @Test
+    void shouldParseSignsAndWhitespace() {
+        // When & Then
+        assertThat(parser.parse(" -33.8688 ,\t+151.2093 ", coordinates)).isTrue();
+        assertThat(coordinates).containsExactly(-33.8688, 151.2093);
+        assertThat(parser.parse("90,-180", coordinates)).isTrue();
+        assertThat(coordinates).containsExactly(90.0, -180.0);
+        assertThat(parser.parse(".5,5.", coordinates)).isTrue();
+        assertThat(coordinates).containsExactly(0.5, 5.0);
+    }
+
+    @Test
+    void shouldKeepNegativeZero() {
+        // When
+        parser.parse("-0.0,0", coordinates);
+
+        // Then
+        assertThat(Double.doubleToRawLongBits(coordinates[0])).isEqualTo(Double.doubleToRawLongBits(-0.0));
+    }
+
+    @Test
+    void shouldParseCoordinatesWithManyDigits() {
+        // When
+        boolean parsed = parser.parse("46.583834554094221234567, 0.000000000000000000001", coordinates);
+
+        // Then
+        assertThat(parsed).isTrue();
+        assertThat(coordinates[0]).isEqualTo(Double.parseDouble("46.583834554094221234567"));
+        assertThat(coordinates[1]).isEqualTo(1e-21);
+    }
+
+    @Test
+    void shouldRejectMalformedGeopoints() {
+        // Given
+        String[] malformed = {
+                "invalid_format", "46.5802", "46.5802,", ",0.3404", "46.5802,0.3404,1", "46.5802;0.3404",
+                "4.6e1,0.3", "NaN,0", "Infinity,0", "--46.5,0.3", "46..5,0.3", "46.5.1,0.3", ".,0.3", "-,0.3",
+                "46.5d,0.3", "0x1p4,0.3", "46 5,0.3"
+        };
+
+        // When & Then
+        for (String geopoint : malformed) {
+            assertThat(parser.parse(geopoint, coordinates)).as(geopoint).isFalse();
+        }
+        assertThat(parser.getRejectCount()).isEqualTo(malformed.length);
+    }
+
+    @Test
+    void shouldRejectOutOfRangeCoordinates() {
+        // When & Then
+        assertThat(parser.parse("90.0001, 0", coordinates)).isFalse();
+        assertThat(parser.parse("-91, 0", coordinates)).isFalse();
+        assertThat(parser.parse("0, 180.5", coordinates)).isFalse();
+        assertThat(parser.parse("0, -181", coordinates)).isFalse();
+        assertThat(parser.getRejectCount()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldNotCountMissingGeopointsAsRejects() {
+        // When & Then
+        assertThat(parser.parse(null, coordinates)).isFalse();
+        assertThat(parser.parse("", coordinates)).isFalse();
+        assertThat(parser.getRejectCount()).isZero();
+    }
+
+    @Test
+    void shouldLeaveCoordinatesUntouchedOnReject() {
+        // Given
+        coordinates[0] = 1.0;
+        coordinates[1] = 2.0;
+
+        // When
+        parser.parse("46.5802, oops", coordinates);
+
+        // Then
+        assertThat(coordinates).containsExactly(1.0, 2.0);
+    }
+
+    @Test
+    void shouldMatchSplitAndParseDoubleOnRandomCoordinates() {
+        // Given
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            String geopoint = randomCoordinate(random, 90) + "," + (random.nextBoolean() ? " " : "")
+                    + randomCoordinate(random, 180);
+
+            // When
+            boolean parsed = parser.parse(geopoint, coordinates);
+
+            // Then - bit for bit the coordinates of the previous split/trim/parseDouble implementation
+            double[] expected = legacyParse(geopoint);
+            assertThat(parsed).as(geopoint).isTrue();
+            assertThat(Double.doubleToRawLongBits(coordinates[0])).as(geopoint)
+                    .isEqualTo(Double.doubleToRawLongBits(expected[0]));
+            assertThat(Double.doubleToRawLongBits(coordinates[1])).as(geopoint)
+                    .isEqualTo(Double.doubleToRawLongBits(expected[1]));
+        }
+    }
+
+    @Test
+    void shouldOnlyAcceptWhatSplitAndParseDoubleAccepts() {
+        // Given
+        Random random = new Random(7);
+        String alphabet = "0123456789012345678901234567890123456789..,,--++  \teExdNa";
+
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder fuzz = new StringBuilder();
+            int length = random.nextInt(16);
+            for (int j = 0; j < length; j++) {
+                fuzz.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String geopoint = fuzz.toString();
+
+            // When
+            boolean parsed = parser.parse(geopoint, coordinates);
+
+            // Then - accepted geopoints are accepted alike by the previous implementation, and plain
+            // in-range decimals accepted by the previous implementation are accepted alike
+            double[] expected = legacyParse(geopoint);
+            if (parsed) {
+                assertThat(expected).as(geopoint).isNotNull();
+                assertThat(coordinates).as(geopoint).containsExactly(expected);
+            } else if (expected != null && PLAIN_GEOPOINT.matcher(geopoint).matches()) {
+                assertThat(Math.abs(expected[0]) > 90 || Math.abs(expected[1]) > 180).as(geopoint).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void shouldParseWithoutAllocating() {
+        // Given
+        String[] geopoints = {"46.58383455409422, 0.33779491061805567", "46.583793004495156,0.3349825350533068", "invalid"};
+
+        // When - 1,000 geopoints, warmed up until the parser is compiled
+        long allocated = AllocationMeter.allocatedBytes(50, () -> {
+            for (int i = 0; i < 1_000; i++) {
+                parser.parse(geopoints[i % geopoints.length], coordinates);
+            }
+        });
+
+        // Then - split and trim alone allocate more than 100 bytes per geopoint
+        assertThat(allocated).isLessThan(1024);
+    }
+
+    private static String randomCoordinate(Random random, int bound) {
+        double value = (random.nextDouble() * 2 - 1) * bound;
+        return switch (random.nextInt(4)) {
+            case 0 -> Double.toString(value).contains("E") ? "0" : Double.toString(value);
+            case 1 -> String.format(java.util.Locale.ROOT, "%." + random.nextInt(19) + "f", value);
+            case 2 -> String.valueOf((long) value);
+            default -> String.format(java.util.Locale.ROOT, "%.17f", value).replaceFirst("0+$", "");
+        };
+    }
+
+    /**
+     * Parsing of PoitiersParkingAdapter before the parser was introduced
+     */
+    private static double[] legacyParse(String geopoint) {
+        try {
+            String[] coords = geopoint.split(",");
+            if (coords.length == 2) {
+                return new double[]{Double.parseDouble(coords[0].trim()), Double.parseDouble(coords[1].trim())};
+            }
+        } catch (NumberFormatException e) {
+            // Rejected
+        }
+        return null;
+    }
+}
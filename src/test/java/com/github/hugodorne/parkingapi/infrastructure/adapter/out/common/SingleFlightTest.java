@@ -0,0 +1,205 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Unit tests for SingleFlight
+ */
+class SingleFlightTest {
+
+    private SingleFlight<String> singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight<>();
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldRunLoaderOnceForConcurrentCallers() throws Exception {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute(() -> {
+            loads.incrementAndGet();
+            awaitQuietly(release);
+            return "parkings";
+        }, Duration.ofSeconds(5)));
+        await().atMost(5, TimeUnit.SECONDS).until(singleFlight::isInFlight);
+
+        // When
+        CountDownLatch arrived = new CountDownLatch(7);
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            followers.add(executor.submit(() -> {
+                arrived.countDown();
+                return singleFlight.execute(() -> {
+                    loads.incrementAndGet();
+                    return "other";
+                }, Duration.ofSeconds(5));
+            }));
+        }
+        arrived.await(5, TimeUnit.SECONDS);
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("parkings");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("parkings");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlight.isInFlight()).isFalse();
+    }
+
+    @Test
+    void shouldRunLoaderAgainOnceCallCompleted() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        singleFlight.execute(() -> "call-" + loads.incrementAndGet(), null);
+        String second = singleFlight.execute(() -> "call-" + loads.incrementAndGet(), null);
+
+        // Then
+        assertThat(second).isEqualTo("call-2");
+    }
+
+    @Test
+    void shouldPropagateLoaderFailureToWaitingCallers() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.execute(() -> {
+            awaitQuietly(release);
+            throw new IllegalStateException("Upstream down");
+        }, null));
+        await().atMost(5, TimeUnit.SECONDS).until(singleFlight::isInFlight);
+
+        // When
+        CountDownLatch arrived = new CountDownLatch(1);
+        Future<String> follower = executor.submit(() -> {
+            arrived.countDown();
+            return singleFlight.execute(() -> "other", null);
+        });
+        arrived.await(5, TimeUnit.SECONDS);
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldStopWaitingWhenDeadlineElapses() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.execute(() -> {
+            awaitQuietly(release);
+            return "parkings";
+        }, null));
+        await().atMost(5, TimeUnit.SECONDS).until(singleFlight::isInFlight);
+
+        // When & Then
+        assertThatThrownBy(() -> singleFlight.execute(() -> "other", Duration.ofMillis(50)))
+                .isInstanceOf(SingleFlight.SingleFlightTimeoutException.class);
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("parkings");
+    }
+
+    @Test
+    void shouldShareAsyncLoadUntilItCompletes() throws Exception {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> load = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.executeAsync(() -> {
+            loads.incrementAndGet();
+            return load;
+        });
+
+        // When
+        CompletableFuture<String> second = singleFlight.executeAsync(() -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        load.complete("parkings");
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("parkings");
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlight.isInFlight()).isFalse();
+    }
+
+    @Test
+    void shouldStartNewAsyncLoadOnceCallCompleted() {
+        // Given
+        singleFlight.executeAsync(() -> CompletableFuture.completedFuture("first"));
+
+        // When
+        CompletableFuture<String> second = singleFlight.executeAsync(() -> CompletableFuture.completedFuture("second"));
+
+        // Then
+        assertThat(second).isCompletedWithValue("second");
+    }
+
+    @Test
+    void shouldPropagateAsyncLoaderFailure() {
+        // When
+        CompletableFuture<String> failed = singleFlight.executeAsync(() -> {
+            throw new IllegalStateException("Upstream down");
+        });
+
+        // Then
+        assertThatThrownBy(() -> SingleFlight.await(failed, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Upstream down");
+        assertThat(singleFlight.isInFlight()).isFalse();
+    }
+
+    @Test
+    void shouldStopAwaitingAsyncLoadWhenDeadlineElapses() {
+        // Given
+        CompletableFuture<String> load = singleFlight.executeAsync(CompletableFuture::new);
+
+        // When & Then
+        assertThatThrownBy(() -> SingleFlight.await(load, Duration.ofMillis(50)))
+                .isInstanceOf(SingleFlight.SingleFlightTimeoutException.class);
+        assertThat(singleFlight.isInFlight()).isTrue();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
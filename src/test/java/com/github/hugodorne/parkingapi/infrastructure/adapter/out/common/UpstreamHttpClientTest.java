@@ -0,0 +1,248 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.common;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for UpstreamHttpClient
+ */
+class UpstreamHttpClientTest {
+
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+    private HttpServer server;
+    private String baseUrl;
+    private UpstreamHttpClient client;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        client = new UpstreamHttpClient(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void shouldPassResponseToReader() throws Exception {
+        // Given
+        AtomicReference<String> acceptEncoding = new AtomicReference<>();
+        AtomicReference<String> accept = new AtomicReference<>();
+        server.createContext("/lines", exchange -> {
+            acceptEncoding.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            accept.set(exchange.getRequestHeaders().getFirst("Accept"));
+            exchange.getResponseHeaders().set("ETag", "\"v1\"");
+            respond(exchange, 200, "{\"total\": 0}".getBytes(StandardCharsets.UTF_8));
+        });
+
+        // When
+        String body = client.get(baseUrl + "/lines", Duration.ofSeconds(5), Map.of("Accept", "application/json"),
+                (status, headers, stream) -> status + " " + headers.firstValue("ETag").orElseThrow() + " "
+                        + new String(stream.readAllBytes(), StandardCharsets.UTF_8)
+        ).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(body).isEqualTo("200 \"v1\" {\"total\": 0}");
+        assertThat(acceptEncoding.get()).isEqualTo("gzip");
+        assertThat(accept.get()).isEqualTo("application/json");
+    }
+
+    @Test
+    void shouldDecompressGzippedResponse() throws Exception {
+        // Given
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write("{\"results\": []}".getBytes(StandardCharsets.UTF_8));
+        }
+        server.createContext("/lines", exchange -> {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            respond(exchange, 200, compressed.toByteArray());
+        });
+
+        // When
+        String body = client.get(baseUrl + "/lines", Duration.ofSeconds(5), Map.of(),
+                (status, headers, stream) -> new String(stream.readAllBytes(), StandardCharsets.UTF_8)
+        ).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(body).isEqualTo("{\"results\": []}");
+    }
+
+    @Test
+    void shouldPassNotModifiedResponseToReader() throws Exception {
+        // Given
+        server.createContext("/lines", exchange -> respond(exchange, 304, new byte[0]));
+
+        // When
+        Integer status = client.get(baseUrl + "/lines", Duration.ofSeconds(5), Map.of("If-None-Match", "\"v1\""),
+                (code, headers, stream) -> code
+        ).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(status).isEqualTo(304);
+    }
+
+    @Test
+    void shouldFailOnErrorStatus() {
+        // Given
+        server.createContext("/lines", exchange -> respond(exchange, 503, "down".getBytes(StandardCharsets.UTF_8)));
+
+        // When
+        CompletableFuture<String> response = client.get(baseUrl + "/lines", Duration.ofSeconds(5), Map.of(),
+                (status, headers, stream) -> "read");
+
+        // Then
+        assertThatThrownBy(() -> response.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseInstanceOf(UpstreamHttpClient.UpstreamHttpException.class)
+                .hasRootCauseMessage("GET " + baseUrl + "/lines returned HTTP 503");
+    }
+
+    @Test
+    void shouldFailWhenTimeoutElapses() {
+        // Given
+        server.createContext("/lines", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, new byte[0]);
+        });
+
+        // When
+        CompletableFuture<String> response = client.get(baseUrl + "/lines", Duration.ofMillis(200), Map.of(),
+                (status, headers, stream) -> "read");
+
+        // Then
+        assertThatThrownBy(() -> response.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOfAny(TimeoutException.class, HttpTimeoutException.class);
+    }
+
+    @Test
+    void shouldNotBlockCallerWhileWaitingForResponse() throws Exception {
+        // Given
+        server.createContext("/lines", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "ok".getBytes(StandardCharsets.UTF_8));
+        });
+
+        // When
+        CompletableFuture<String> response = client.get(baseUrl + "/lines", Duration.ofSeconds(5), Map.of(),
+                (status, headers, stream) -> new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+
+        // Then
+        assertThat(response).isNotDone();
+        release.countDown();
+        assertThat(response.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+    }
+
+    @Test
+    void shouldReadBodyAsItIsReceived() throws Exception {
+        // Given - the server sends the first part of the body, then waits for the reader to get it
+        CountDownLatch firstPartRead = new CountDownLatch(1);
+        server.createContext("/lines", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write("{\"total\"".getBytes(StandardCharsets.UTF_8));
+                output.flush();
+                firstPartRead.await(5, TimeUnit.SECONDS);
+                output.write(": 0}".getBytes(StandardCharsets.UTF_8));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // When
+        String body = client.get(baseUrl + "/lines", Duration.ofSeconds(5), Map.of(), (status, headers, stream) -> {
+            byte[] firstPart = stream.readNBytes(8);
+            firstPartRead.countDown();
+            return new String(firstPart, StandardCharsets.UTF_8) + new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(body).isEqualTo("{\"total\": 0}");
+    }
+
+    @Test
+    void shouldStopReaderWhenTimeoutElapsesDuringBody() {
+        // Given - the headers are sent in time, but not the whole body
+        server.createContext("/lines", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write("{\"total\"".getBytes(StandardCharsets.UTF_8));
+                output.flush();
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CompletableFuture<IOException> readerFailure = new CompletableFuture<>();
+
+        // When
+        CompletableFuture<String> response = client.get(baseUrl + "/lines", Duration.ofMillis(300), Map.of(),
+                (status, headers, stream) -> {
+                    try {
+                        return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+                    } catch (IOException e) {
+                        readerFailure.complete(e);
+                        throw e;
+                    }
+                });
+
+        // Then
+        assertThatThrownBy(() -> response.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(TimeoutException.class);
+        assertThat(readerFailure).succeedsWithin(Duration.ofSeconds(2));
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.composite;
+
+import com.github.hugodorne.parkingapi.domain.model.Parking;
+import com.github.hugodorne.parkingapi.domain.model.ParkingStatus;
+import com.github.hugodorne.parkingapi.domain.port.out.ParkingDataPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CompositeParkingDataAdapter
+ */
+@ExtendWith(MockitoExtension.class)
+class CompositeParkingDataAdapterTest {
+
+    @Mock
+    private ParkingDataPort poitiers;
+
+    @Mock
+    private ParkingDataPort nantes;
+
+    private final CompositeParkingDataProperties properties = new CompositeParkingDataProperties();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(poitiers.getName()).thenReturn("poitiers");
+        lenient().when(nantes.getName()).thenReturn("nantes");
+        properties.setDeadline(Duration.ofMillis(200));
+    }
+
+    @Test
+    void shouldMergeParkingsOfAllSourcesInOrder() {
+        // Given
+        when(poitiers.fetchParkingsAsync()).thenReturn(CompletableFuture.completedFuture(List.of(parking("p1"), parking("p2"))));
+        when(nantes.fetchParkingsAsync()).thenReturn(CompletableFuture.completedFuture(List.of(parking("n1"))));
+        CompositeParkingDataAdapter adapter = new CompositeParkingDataAdapter(List.of(poitiers, nantes), properties);
+
+        // When
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then
+        assertThat(parkings).extracting(Parking::getId).containsExactly("p1", "p2", "n1");
+    }
+
+    @Test
+    void shouldKeepParkingOfFirstSourceWhenIdsCollide() {
+        // Given - both sources number their parkings from 1
+        when(poitiers.fetchParkingsAsync()).thenReturn(CompletableFuture.completedFuture(List.of(parking("1"), parking("2"))));
+        when(nantes.fetchParkingsAsync()).thenReturn(CompletableFuture.completedFuture(
+                List.of(parking("1").toBuilder().name("Nantes 1").build(), parking("3"))));
+        CompositeParkingDataAdapter adapter = new CompositeParkingDataAdapter(List.of(poitiers, nantes), properties);
+
+        // When
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then - ids stay unique within the snapshot
+        assertThat(parkings).extracting(Parking::getId).containsExactly("1", "2", "3");
+        assertThat(parkings.get(0).getName()).isEqualTo("Parking 1");
+    }
+
+    @Test
+    void shouldFetchSourcesConcurrently() {
+        // Given
+        CompletableFuture<List<Parking>> poitiersResponse = new CompletableFuture<>();
+        CompletableFuture<List<Parking>> nantesResponse = new CompletableFuture<>();
+        when(poitiers.fetchParkingsAsync()).thenReturn(poitiersResponse);
+        when(nantes.fetchParkingsAsync()).thenReturn(nantesResponse);
+        CompositeParkingDataAdapter adapter = new CompositeParkingDataAdapter(List.of(poitiers, nantes), properties);
+
+        // When
+        CompletableFuture<List<Parking>> parkings = adapter.fetchParkingsAsync();
+
+        // Then - both sources are requested before either one answers
+        verify(poitiers).fetchParkingsAsync();
+        verify(nantes).fetchParkingsAsync();
+        nantesResponse.complete(List.of(parking("n1")));
+        poitiersResponse.complete(List.of(parking("p1")));
+        assertThat(parkings.join()).extracting(Parking::getId).containsExactly("p1", "n1");
+    }
+
+    @Test
+    void shouldServeOtherSourcesWhenOneMissesItsDeadline() throws Exception {
+        // Given
+        CompletableFuture<List<Parking>> lateResponse = new CompletableFuture<>();
+        when(poitiers.fetchParkingsAsync()).thenReturn(CompletableFuture.completedFuture(List.of(parking("p1"))));
+        when(nantes.fetchParkingsAsync()).thenReturn(lateResponse);
+        CompositeParkingDataAdapter adapter = new CompositeParkingDataAdapter(List.of(poitiers, nantes), properties);
+
+        // When
+        List<Parking> parkings = adapter.fetchParkingsAsync().get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(parkings).extracting(Parking::getId).containsExactly("p1");
+    }
+
+    @Test
+    void shouldKeepLateResponseForNextFetch() {
+        // Given
+        CompletableFuture<List<Parking>> lateResponse = new CompletableFuture<>();
+        when(poitiers.fetchParkingsAsync()).thenReturn(CompletableFuture.completedFuture(List.of(parking("p1"))));
+        when(nantes.fetchParkingsAsync()).thenReturn(lateResponse);
+        CompositeParkingDataAdapter adapter = new CompositeParkingDataAdapter(List.of(poitiers, nantes), properties);
+        adapter.fetchParkings();
+
+        // When
+        lateResponse.complete(List.of(parking("n1")));
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then
+        assertThat(parkings).extracting(Parking::getId).containsExactly("p1", "n1");
+    }
+
+    @Test
+    void shouldNotFetchSourceAgainWhileItsRequestIsInFlight() {
+        // Given
+        when(poitiers.fetchParkingsAsync()).thenReturn(new CompletableFuture<>());
+        CompositeParkingDataAdapter adapter = new CompositeParkingDataAdapter(List.of(poitiers), properties);
+
+        // When
+        adapter.fetchParkings();
+        adapter.fetchParkings();
+
+        // Then
+        verify(poitiers, times(1)).fetchParkingsAsync();
+    }
+
+    @Test
+    void shouldMergeLastParkingsOfFailingSource() {
+        // Given
+        when(poitiers.fetchParkingsAsync())
+                .thenReturn(CompletableFuture.completedFuture(List.of(parking("p1"))))
+                .thenReturn(CompletableFuture.failedFuture(new ConnectException("Connection error")));
+        when(nantes.fetchParkingsAsync())
+                .thenReturn(CompletableFuture.completedFuture(List.of(parking("n1"))))
+                .thenReturn(CompletableFuture.completedFuture(List.of(parking("n2"))));
+        CompositeParkingDataAdapter adapter = new CompositeParkingDataAdapter(List.of(poitiers, nantes), properties);
+        adapter.fetchParkings();
+
+        // When
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then
+        assertThat(parkings).extracting(Parking::getId).containsExactly("p1", "n2");
+    }
+
+    @Test
+    void shouldMergeLastParkingsOfSourceThrowingOrReturningNothing() {
+        // Given
+        when(poitiers.fetchParkingsAsync())
+                .thenReturn(CompletableFuture.completedFuture(List.of(parking("p1"))))
+                .thenThrow(new IllegalStateException("Broken source"));
+        when(nantes.fetchParkingsAsync())
+                .thenReturn(CompletableFuture.completedFuture(List.of(parking("n1"))))
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+        CompositeParkingDataAdapter adapter = new CompositeParkingDataAdapter(List.of(poitiers, nantes), properties);
+        adapter.fetchParkings();
+
+        // When
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then
+        assertThat(parkings).extracting(Parking::getId).containsExactly("p1", "n1");
+    }
+
+    @Test
+    void shouldFetchSourceOnItsOwnInterval() {
+        // Given
+        CompositeParkingDataProperties.Source nantesSettings = new CompositeParkingDataProperties.Source();
+        nantesSettings.setInterval(Duration.ofHours(1));
+        properties.getSources().put("nantes", nantesSettings);
+        when(poitiers.fetchParkingsAsync()).thenReturn(CompletableFuture.completedFuture(List.of(parking("p1"))));
+        when(nantes.fetchParkingsAsync()).thenReturn(CompletableFuture.completedFuture(List.of(parking("n1"))));
+        CompositeParkingDataAdapter adapter = new CompositeParkingDataAdapter(List.of(poitiers, nantes), properties);
+
+        // When
+        adapter.fetchParkings();
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then
+        assertThat(parkings).extracting(Parking::getId).containsExactly("p1", "n1");
+        verify(poitiers, times(2)).fetchParkingsAsync();
+        verify(nantes, times(1)).fetchParkingsAsync();
+    }
+
+    @Test
+    void shouldNotReportUpdateWhenSourcesServeLastKnownParkings() {
+        // Given
+        Instant fetchedAt = Instant.parse("2025-10-23T09:00:00Z");
+        when(poitiers.fetchParkingsAsync()).thenReturn(CompletableFuture.completedFuture(List.of(parking("p1"))));
+        when(poitiers.getLastSuccessfulFetchTime()).thenReturn(Optional.of(fetchedAt));
+        CompositeParkingDataAdapter adapter = new CompositeParkingDataAdapter(List.of(poitiers), properties);
+        adapter.fetchParkings();
+        Optional<Instant> updatedAt = adapter.getLastSuccessfulFetchTime();
+
+        // When
+        adapter.fetchParkings();
+
+        // Then
+        assertThat(updatedAt).isPresent();
+        assertThat(adapter.getLastSuccessfulFetchTime()).isEqualTo(updatedAt);
+    }
+
+    @Test
+    void shouldNotReportUpdateBeforeFirstParkings() {
+        // Given
+        when(poitiers.fetchParkingsAsync()).thenReturn(CompletableFuture.completedFuture(List.of()));
+        CompositeParkingDataAdapter adapter = new CompositeParkingDataAdapter(List.of(poitiers), properties);
+
+        // When
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then
+        assertThat(parkings).isEmpty();
+        assertThat(adapter.getLastSuccessfulFetchTime()).isEmpty();
+    }
+
+    private static Parking parking(String id) {
+        return Parking.builder()
+                .id(id)
+                .name("Parking " + id)
+                .latitude(46.58)
+                .longitude(0.34)
+                .totalSpaces(100)
+                .availableSpaces(10)
+                .status(ParkingStatus.OPEN)
+                .build();
+    }
+}
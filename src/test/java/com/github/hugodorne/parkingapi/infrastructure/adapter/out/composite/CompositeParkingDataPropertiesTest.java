@@ -0,0 +1,43 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.composite;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for CompositeParkingDataProperties
+ */
+class CompositeParkingDataPropertiesTest {
+
+    @Test
+    void shouldUseDefaultsForSourceWithoutSettings() {
+        // Given
+        CompositeParkingDataProperties properties = new CompositeParkingDataProperties();
+
+        // When
+        CompositeParkingDataProperties.Source source = properties.getSource("poitiers");
+
+        // Then
+        assertThat(source.getDeadline()).isEqualTo(Duration.ofSeconds(15));
+        assertThat(source.getInterval()).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    void shouldOverrideDefaultsWithSourceSettings() {
+        // Given
+        CompositeParkingDataProperties properties = new CompositeParkingDataProperties();
+        properties.setDeadline(Duration.ofSeconds(5));
+        CompositeParkingDataProperties.Source settings = new CompositeParkingDataProperties.Source();
+        settings.setInterval(Duration.ofMinutes(5));
+        properties.getSources().put("nantes", settings);
+
+        // When
+        CompositeParkingDataProperties.Source source = properties.getSource("nantes");
+
+        // Then
+        assertThat(source.getDeadline()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(source.getInterval()).isEqualTo(Duration.ofMinutes(5));
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.history;
+
+import com.github.hugodorne.parkingapi.domain.model.Parking;
+import com.github.hugodorne.parkingapi.domain.model.ParkingChanges;
+import com.github.hugodorne.parkingapi.domain.model.ParkingSnapshot;
+import com.github.hugodorne.parkingapi.domain.model.ParkingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for OccupancyHistoryRecorder
+ */
+class OccupancyHistoryRecorderTest {
+
+    private final OccupancyHistoryStore store = mock(OccupancyHistoryStore.class);
+    private final OccupancyHistoryRecorder recorder = new OccupancyHistoryRecorder(store);
+
+    @Test
+    void shouldRecordPublishedSnapshotAtRefreshTime() {
+        // Given
+        Instant refreshedAt = Instant.parse("2025-10-01T08:00:00Z");
+        ParkingSnapshot published = ParkingSnapshot.EMPTY.next(List.of(Parking.builder()
+                .id("1")
+                .name("Parking 1")
+                .availableSpaces(50)
+                .totalSpaces(100)
+                .status(ParkingStatus.OPEN)
+                .build()), refreshedAt);
+
+        // When
+        recorder.onSnapshotPublished(ParkingSnapshot.EMPTY, published, ParkingChanges.between(ParkingSnapshot.EMPTY, published));
+
+        // Then
+        verify(store).append(refreshedAt.toEpochMilli(), published.getTable());
+    }
+
+    @Test
+    void shouldNotFailPublicationWhenRecordingFails() {
+        // Given
+        ParkingSnapshot published = ParkingSnapshot.EMPTY.next(List.of(), Instant.now());
+        doThrow(new UncheckedIOException(new IOException("No space left on device")))
+                .when(store).append(anyLong(), any());
+
+        // When
+        recorder.onSnapshotPublished(ParkingSnapshot.EMPTY, published, ParkingChanges.between(ParkingSnapshot.EMPTY, published));
+
+        // Then - the error is only logged
+        verify(store).append(anyLong(), any());
+    }
+}
@@ -0,0 +1,329 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.history;
+
+import com.github.hugodorne.parkingapi.AllocationMeter;
+import com.github.hugodorne.parkingapi.domain.model.Parking;
+import com.github.hugodorne.parkingapi.domain.model.ParkingStatus;
+import com.github.hugodorne.parkingapi.domain.model.ParkingTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for OccupancyHistoryStore
+ */
+class OccupancyHistoryStoreTest {
+
+    private static final long START = Instant.parse("2025-10-01T08:00:00Z").toEpochMilli();
+
+    @TempDir
+    Path directory;
+
+    private final MutableClock clock = new MutableClock(START);
+    private final List<OccupancyHistoryStore> stores = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        stores.forEach(OccupancyHistoryStore::close);
+    }
+
+    @Test
+    void shouldScanRecordsWithinRange() {
+        // Given
+        OccupancyHistoryStore store = store(properties());
+        store.append(START, table(parking("1", 50, 100, ParkingStatus.OPEN), parking("2", 0, 80, ParkingStatus.FULL)));
+        store.append(START + 60_000, table(parking("1", 49, 100, ParkingStatus.OPEN), parking("2", 1, 80, ParkingStatus.OPEN)));
+        store.append(START + 120_000, table(parking("1", 48, 100, ParkingStatus.OPEN)));
+
+        // When
+        List<String> records = scan(store, START + 60_000, START + 120_000);
+
+        // Then - from inclusive, to exclusive
+        assertThat(records).containsExactly(
+                (START + 60_000) + " 1 49/100 OPEN",
+                (START + 60_000) + " 2 1/80 OPEN");
+    }
+
+    @Test
+    void shouldRecordMissingSpacesAndStatus() {
+        // Given
+        OccupancyHistoryStore store = store(properties());
+        store.append(START, table(Parking.builder().id("1").name("Parking 1").build()));
+
+        // When
+        List<String> records = scan(store, START, START + 1);
+
+        // Then
+        assertThat(records).containsExactly(START + " 1 " + ParkingTable.NO_SPACES + "/" + ParkingTable.NO_SPACES + " null");
+    }
+
+    @Test
+    void shouldScanNarrowRangeAcrossIndexedBlocks() {
+        // Given - 1,000 timestamps of 3 parkings, several index entries per segment
+        OccupancyHistoryStore store = store(properties());
+        for (int minute = 0; minute < 1_000; minute++) {
+            store.append(START + minute * 60_000L, table(parking("1", minute % 100, 100, ParkingStatus.OPEN),
+                    parking("2", 10, 100, ParkingStatus.OPEN), parking("3", 20, 100, ParkingStatus.OPEN)));
+        }
+
+        // When
+        List<String> records = scan(store, START + 500 * 60_000L, START + 502 * 60_000L);
+
+        // Then
+        assertThat(records).hasSize(6).first().isEqualTo((START + 500 * 60_000L) + " 1 0/100 OPEN");
+        assertThat(scan(store, START - 60_000, START)).isEmpty();
+        assertThat(scan(store, START + 1_000 * 60_000L, Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepRecordsOrderedWhenTimestampGoesBack() {
+        // Given
+        OccupancyHistoryStore store = store(properties());
+        store.append(START + 60_000, table(parking("1", 50, 100, ParkingStatus.OPEN)));
+
+        // When
+        store.append(START, table(parking("1", 40, 100, ParkingStatus.OPEN)));
+
+        // Then
+        assertThat(scan(store, START, START + 60_000)).isEmpty();
+        assertThat(scan(store, START + 60_000, START + 60_001)).hasSize(2).last().isEqualTo((START + 60_000) + " 1 40/100 OPEN");
+    }
+
+    @Test
+    void shouldRollSegmentOnceFull() throws Exception {
+        // Given - about 39 records per segment
+        OccupancyHistoryProperties properties = properties();
+        properties.setSegmentSize(DataSize.ofKilobytes(1));
+        OccupancyHistoryStore store = store(properties);
+
+        // When
+        for (int minute = 0; minute < 30; minute++) {
+            store.append(START + minute * 60_000L, table(parking("1", minute, 100, ParkingStatus.OPEN),
+                    parking("2", minute, 100, ParkingStatus.OPEN)));
+        }
+
+        // Then
+        assertThat(store.getSegmentCount()).isEqualTo(2);
+        assertThat(scan(store, START, Long.MAX_VALUE)).hasSize(60);
+        assertThat(Files.size(directory.resolve("00000000000000000001.occ"))).isLessThanOrEqualTo(1024);
+    }
+
+    @Test
+    void shouldRollSegmentOnceOld() {
+        // Given
+        OccupancyHistoryStore store = store(properties());
+        store.append(START, table(parking("1", 50, 100, ParkingStatus.OPEN)));
+
+        // When
+        clock.advance(Duration.ofDays(1));
+        store.append(clock.millis(), table(parking("1", 40, 100, ParkingStatus.OPEN)));
+
+        // Then
+        assertThat(store.getSegmentCount()).isEqualTo(2);
+        assertThat(scan(store, START, Long.MAX_VALUE)).hasSize(2);
+    }
+
+    @Test
+    void shouldDeleteSegmentsOlderThanMaxAge() {
+        // Given - a segment per day, kept 2 days
+        OccupancyHistoryProperties properties = properties();
+        properties.setMaxAge(Duration.ofDays(2));
+        OccupancyHistoryStore store = store(properties);
+
+        // When
+        for (int day = 0; day < 5; day++) {
+            store.append(clock.millis(), table(parking("1", day, 100, ParkingStatus.OPEN)));
+            clock.advance(Duration.ofDays(1));
+        }
+
+        // Then - the last 3 days are at most 2 days old when the last one is recorded
+        assertThat(store.getSegmentCount()).isEqualTo(3);
+        assertThat(scan(store, START, Long.MAX_VALUE)).hasSize(3).first()
+                .isEqualTo((START + Duration.ofDays(2).toMillis()) + " 1 2/100 OPEN");
+        assertThat(directory.resolve("00000000000000000002.occ")).doesNotExist();
+    }
+
+    @Test
+    void shouldDeleteOldestSegmentsBeyondMaxSize() {
+        // Given - segments of about 1 KB, at most 2 KB kept
+        OccupancyHistoryProperties properties = properties();
+        properties.setSegmentSize(DataSize.ofKilobytes(1));
+        properties.setMaxSize(DataSize.ofKilobytes(2));
+        OccupancyHistoryStore store = store(properties);
+
+        // When
+        for (int minute = 0; minute < 200; minute++) {
+            store.append(START + minute * 60_000L, table(parking("1", minute, 1_000, ParkingStatus.OPEN)));
+        }
+
+        // Then - the last records are still there
+        assertThat(store.getSegmentCount()).isEqualTo(2);
+        List<String> records = scan(store, START, Long.MAX_VALUE);
+        assertThat(records).hasSizeLessThan(200).last().isEqualTo((START + 199 * 60_000L) + " 1 199/1000 OPEN");
+    }
+
+    @Test
+    void shouldReopenRecordsAfterRestart() {
+        // Given
+        OccupancyHistoryStore store = store(properties());
+        store.append(START, table(parking("1", 50, 100, ParkingStatus.OPEN), parking("2", 0, 80, ParkingStatus.FULL)));
+        store.close();
+
+        // When
+        OccupancyHistoryStore reopened = store(properties());
+        reopened.append(START + 60_000, table(parking("2", 5, 80, ParkingStatus.OPEN), parking("3", 10, 10, ParkingStatus.CLOSED)));
+
+        // Then - the appends go on in the last segment, with the parking indexes recorded before
+        assertThat(reopened.getSegmentCount()).isEqualTo(1);
+        assertThat(scan(reopened, START, Long.MAX_VALUE)).containsExactly(
+                START + " 1 50/100 OPEN",
+                START + " 2 0/80 FULL",
+                (START + 60_000) + " 2 5/80 OPEN",
+                (START + 60_000) + " 3 10/10 CLOSED");
+    }
+
+    @Test
+    void shouldScanAcrossEmptySegment() {
+        // Given - the second segment is rolled without any record, then rolled once old
+        OccupancyHistoryStore store = store(properties());
+        store.append(START, table(parking("1", 50, 100, ParkingStatus.OPEN)));
+        clock.advance(Duration.ofDays(1));
+        store.append(clock.millis(), ParkingTable.EMPTY);
+        clock.advance(Duration.ofDays(1));
+
+        // When
+        store.append(clock.millis(), table(parking("1", 40, 100, ParkingStatus.OPEN)));
+
+        // Then - the records after the empty segment are scanned too
+        assertThat(store.getSegmentCount()).isEqualTo(3);
+        assertThat(scan(store, START, Long.MAX_VALUE)).containsExactly(
+                START + " 1 50/100 OPEN",
+                clock.millis() + " 1 40/100 OPEN");
+    }
+
+    @Test
+    void shouldRejectAppendOnceClosed() {
+        // Given
+        OccupancyHistoryStore store = store(properties());
+        store.close();
+
+        // When / Then
+        assertThatThrownBy(() -> store.append(START, table(parking("1", 50, 100, ParkingStatus.OPEN))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldNotCreateDirectoryBeforeFirstRecord() {
+        // Given
+        OccupancyHistoryProperties properties = properties();
+        properties.setDirectory(directory.resolve("history"));
+
+        // When
+        OccupancyHistoryStore store = store(properties);
+
+        // Then
+        assertThat(properties.getDirectory()).doesNotExist();
+        assertThat(store.getSegmentCount()).isZero();
+        assertThat(scan(store, Long.MIN_VALUE, Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void shouldNotAllocateWhenAppendingKnownParkings() {
+        // Given - 1,000 parkings already recorded
+        List<Parking> parkings = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            parkings.add(parking(String.valueOf(i), i % 100, 100, ParkingStatus.OPEN));
+        }
+        ParkingTable table = ParkingTable.of(parkings);
+        OccupancyHistoryProperties properties = properties();
+        properties.setSegmentSize(DataSize.ofMegabytes(64));
+        OccupancyHistoryStore store = store(properties);
+
+        // When - warmed up until the append is compiled
+        long allocated = AllocationMeter.allocatedBytes(200, () -> store.append(START, table));
+
+        // Then - a record object per parking alone would be about 24 KB
+        assertThat(allocated).isLessThan(1024);
+    }
+
+    private OccupancyHistoryStore store(OccupancyHistoryProperties properties) {
+        OccupancyHistoryStore store = new OccupancyHistoryStore(properties, clock);
+        stores.add(store);
+        return store;
+    }
+
+    private OccupancyHistoryProperties properties() {
+        OccupancyHistoryProperties properties = new OccupancyHistoryProperties();
+        properties.setDirectory(directory);
+        return properties;
+    }
+
+    private static List<String> scan(OccupancyHistoryStore store, long from, long to) {
+        List<String> records = new ArrayList<>();
+        store.scan(from, to, (timestamp, parkingId, availableSpaces, totalSpaces, status) ->
+                records.add(timestamp + " " + parkingId + " " + availableSpaces + "/" + totalSpaces + " " + status));
+        return records;
+    }
+
+    private static ParkingTable table(Parking... parkings) {
+        return ParkingTable.of(List.of(parkings));
+    }
+
+    private static Parking parking(String id, int availableSpaces, int totalSpaces, ParkingStatus status) {
+        return Parking.builder()
+                .id(id)
+                .name("Parking " + id)
+                .availableSpaces(availableSpaces)
+                .totalSpaces(totalSpaces)
+                .status(status)
+                .build();
+    }
+
+    /**
+     * Clock advanced by the tests, to roll and expire segments
+     */
+    private static class MutableClock extends Clock {
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        private void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.github.hugodorne.parkingapi.infrastructure.adapter.out.poitiers;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -81,5 +86,18 @@ class PoitiersApiResponseTest {
         assertThat(parkingData.getTauxOccupation()).isEqualTo(50.0);
         assertThat(parkingData.getDerniereMiseAJour()).isEqualTo("2025-10-23");
     }
-}
 
+    @Test
+    void shouldOnlyReadMappedFields() {
+        // Given
+        List<String> mappedFields = Arrays.stream(PoitiersApiResponse.ParkingData.class.getDeclaredFields())
+                .map(field -> field.getAnnotation(JsonProperty.class))
+                .filter(Objects::nonNull)
+                .map(JsonProperty::value)
+                .toList();
+
+        // When & Then
+        assertThat(mappedFields).containsAll(PoitiersApiResponse.ParkingData.READ_FIELDS);
+        assertThat(PoitiersApiResponse.ParkingData.READ_FIELDS).doesNotContain("taux_doccupation");
+    }
+}
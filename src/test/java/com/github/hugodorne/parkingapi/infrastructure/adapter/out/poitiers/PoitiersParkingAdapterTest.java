@@ -1,17 +1,36 @@
 package com.github.hugodorne.parkingapi.infrastructure.adapter.out.poitiers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.hugodorne.parkingapi.domain.model.Parking;
 import com.github.hugodorne.parkingapi.domain.model.ParkingStatus;
+import com.github.hugodorne.parkingapi.infrastructure.adapter.out.common.UpstreamHttpClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
-
+import org.mockito.stubbing.Answer;
+import org.mockito.stubbing.OngoingStubbing;
+import org.mockito.verification.VerificationMode;
+
+import java.io.ByteArrayInputStream;
+import java.net.ConnectException;
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -23,7 +42,7 @@ import static org.mockito.Mockito.*;
 class PoitiersParkingAdapterTest {
 
     @Mock
-    private RestTemplate restTemplate;
+    private UpstreamHttpClient upstreamHttpClient;
 
     @Mock
     private PoitiersParkingProperties properties;
@@ -31,20 +50,27 @@ class PoitiersParkingAdapterTest {
     @InjectMocks
     private PoitiersParkingAdapter adapter;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Map<String, String>> sentHeaders = new CopyOnWriteArrayList<>();
+
     private String apiUrl;
+    private String firstPageUrl;
 
     @BeforeEach
     void setUp() {
         apiUrl = "https://data.grandpoitiers.fr/data-fair/api/v1/datasets/mobilites-stationnement-des-parkings-en-temps-reel/lines";
+        firstPageUrl = apiUrl + "?size=1000";
         when(properties.getUrl()).thenReturn(apiUrl);
+        lenient().when(properties.getPageSize()).thenReturn(1000);
+        lenient().when(properties.getMaxConcurrentPages()).thenReturn(4);
     }
 
     @Test
     void shouldFetchAndMapParkingsCorrectly() {
         // Given
         PoitiersApiResponse response = createMockApiResponse();
-        when(restTemplate.getForObject(apiUrl, PoitiersApiResponse.class))
-                .thenReturn(response);
+        whenApiCalled()
+                .thenAnswer(respondWith(response));
 
         // When
         List<Parking> parkings = adapter.fetchParkings();
@@ -61,14 +87,14 @@ class PoitiersParkingAdapterTest {
         assertThat(parking1.getAvailableSpaces()).isEqualTo(50);
         assertThat(parking1.getStatus()).isEqualTo(ParkingStatus.OPEN);
 
-        verify(restTemplate, times(1)).getForObject(apiUrl, PoitiersApiResponse.class);
+        verifyApiCalled(times(1));
     }
 
     @Test
     void shouldReturnEmptyListWhenApiReturnsNull() {
         // Given
-        when(restTemplate.getForObject(apiUrl, PoitiersApiResponse.class))
-                .thenReturn(null);
+        whenApiCalled()
+                .thenAnswer(respondWith(null));
 
         // When
         List<Parking> parkings = adapter.fetchParkings();
@@ -84,8 +110,8 @@ class PoitiersParkingAdapterTest {
         response.setTotal(0);
         response.setResults(null);
 
-        when(restTemplate.getForObject(apiUrl, PoitiersApiResponse.class))
-                .thenReturn(response);
+        whenApiCalled()
+                .thenAnswer(respondWith(response));
 
         // When
         List<Parking> parkings = adapter.fetchParkings();
@@ -97,8 +123,8 @@ class PoitiersParkingAdapterTest {
     @Test
     void shouldReturnEmptyListWhenApiThrowsException() {
         // Given
-        when(restTemplate.getForObject(apiUrl, PoitiersApiResponse.class))
-                .thenThrow(new RestClientException("Connection error"));
+        whenApiCalled()
+                .thenReturn(CompletableFuture.failedFuture(new ConnectException("Connection error")));
 
         // When
         List<Parking> parkings = adapter.fetchParkings();
@@ -122,8 +148,8 @@ class PoitiersParkingAdapterTest {
         response.setTotal(1);
         response.setResults(List.of(data));
 
-        when(restTemplate.getForObject(apiUrl, PoitiersApiResponse.class))
-                .thenReturn(response);
+        whenApiCalled()
+                .thenAnswer(respondWith(response));
 
         // When
         List<Parking> parkings = adapter.fetchParkings();
@@ -149,8 +175,8 @@ class PoitiersParkingAdapterTest {
         response.setTotal(1);
         response.setResults(List.of(data));
 
-        when(restTemplate.getForObject(apiUrl, PoitiersApiResponse.class))
-                .thenReturn(response);
+        whenApiCalled()
+                .thenAnswer(respondWith(response));
 
         // When
         List<Parking> parkings = adapter.fetchParkings();
@@ -175,8 +201,8 @@ class PoitiersParkingAdapterTest {
         response.setTotal(1);
         response.setResults(List.of(data));
 
-        when(restTemplate.getForObject(apiUrl, PoitiersApiResponse.class))
-                .thenReturn(response);
+        whenApiCalled()
+                .thenAnswer(respondWith(response));
 
         // When
         List<Parking> parkings = adapter.fetchParkings();
@@ -201,8 +227,8 @@ class PoitiersParkingAdapterTest {
         response.setTotal(1);
         response.setResults(List.of(data));
 
-        when(restTemplate.getForObject(apiUrl, PoitiersApiResponse.class))
-                .thenReturn(response);
+        whenApiCalled()
+                .thenAnswer(respondWith(response));
 
         // When
         List<Parking> parkings = adapter.fetchParkings();
@@ -226,8 +252,8 @@ class PoitiersParkingAdapterTest {
         response.setTotal(1);
         response.setResults(List.of(data));
 
-        when(restTemplate.getForObject(apiUrl, PoitiersApiResponse.class))
-                .thenReturn(response);
+        whenApiCalled()
+                .thenAnswer(respondWith(response));
 
         // When
         List<Parking> parkings = adapter.fetchParkings();
@@ -251,8 +277,8 @@ class PoitiersParkingAdapterTest {
         response.setTotal(1);
         response.setResults(List.of(data));
 
-        when(restTemplate.getForObject(apiUrl, PoitiersApiResponse.class))
-                .thenReturn(response);
+        whenApiCalled()
+                .thenAnswer(respondWith(response));
 
         // When
         List<Parking> parkings = adapter.fetchParkings();
@@ -276,8 +302,8 @@ class PoitiersParkingAdapterTest {
         response.setTotal(1);
         response.setResults(List.of(data));
 
-        when(restTemplate.getForObject(apiUrl, PoitiersApiResponse.class))
-                .thenReturn(response);
+        whenApiCalled()
+                .thenAnswer(respondWith(response));
 
         // When
         List<Parking> parkings = adapter.fetchParkings();
@@ -301,8 +327,8 @@ class PoitiersParkingAdapterTest {
         response.setTotal(1);
         response.setResults(List.of(data));
 
-        when(restTemplate.getForObject(apiUrl, PoitiersApiResponse.class))
-                .thenReturn(response);
+        whenApiCalled()
+                .thenAnswer(respondWith(response));
 
         // When
         List<Parking> parkings = adapter.fetchParkings();
@@ -327,8 +353,8 @@ class PoitiersParkingAdapterTest {
         response.setTotal(1);
         response.setResults(List.of(data));
 
-        when(restTemplate.getForObject(apiUrl, PoitiersApiResponse.class))
-                .thenReturn(response);
+        whenApiCalled()
+                .thenAnswer(respondWith(response));
 
         // When
         List<Parking> parkings = adapter.fetchParkings();
@@ -343,8 +369,8 @@ class PoitiersParkingAdapterTest {
     void shouldParseRealPoitiersApiDataCorrectly() {
         // Given - Real data from Poitiers API
         PoitiersApiResponse response = createRealPoitiersApiResponse();
-        when(restTemplate.getForObject(apiUrl, PoitiersApiResponse.class))
-                .thenReturn(response);
+        whenApiCalled()
+                .thenAnswer(respondWith(response));
 
         // When
         List<Parking> parkings = adapter.fetchParkings();
@@ -391,8 +417,8 @@ class PoitiersParkingAdapterTest {
     void shouldHandleParkingsWithoutGeopointFromRealData() {
         // Given - Real data includes parkings without geopoint (GARE EFFIA, CORDELIERS)
         PoitiersApiResponse response = createRealPoitiersApiResponse();
-        when(restTemplate.getForObject(apiUrl, PoitiersApiResponse.class))
-                .thenReturn(response);
+        whenApiCalled()
+                .thenAnswer(respondWith(response));
 
         // When
         List<Parking> parkings = adapter.fetchParkings();
@@ -422,8 +448,8 @@ class PoitiersParkingAdapterTest {
     void shouldCalculateOccupancyFromRealData() {
         // Given
         PoitiersApiResponse response = createRealPoitiersApiResponse();
-        when(restTemplate.getForObject(apiUrl, PoitiersApiResponse.class))
-                .thenReturn(response);
+        whenApiCalled()
+                .thenAnswer(respondWith(response));
 
         // When
         List<Parking> parkings = adapter.fetchParkings();
@@ -448,8 +474,8 @@ class PoitiersParkingAdapterTest {
     void shouldUseInfoParkingsGeoPointFieldFromRealData() {
         // Given - Real data uses "infos_parkingsgeo_point" field
         PoitiersApiResponse response = createRealPoitiersApiResponse();
-        when(restTemplate.getForObject(apiUrl, PoitiersApiResponse.class))
-                .thenReturn(response);
+        whenApiCalled()
+                .thenAnswer(respondWith(response));
 
         // When
         List<Parking> parkings = adapter.fetchParkings();
@@ -461,6 +487,386 @@ class PoitiersParkingAdapterTest {
         assertThat(parkingsWithCoordinates).isEqualTo(6); // 6 out of 8 have coordinates
     }
 
+    @Test
+    void shouldServeLastKnownParkingsWhenApiFails() {
+        // Given
+        whenApiCalled()
+                .thenAnswer(respondWith(createMockApiResponse()))
+                .thenReturn(CompletableFuture.failedFuture(new ConnectException("Connection error")));
+        List<Parking> fetched = adapter.fetchParkings();
+        Instant fetchedAt = adapter.getLastSuccessfulFetchTime().orElseThrow();
+
+        // When
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then
+        assertThat(parkings).isEqualTo(fetched);
+        assertThat(adapter.getLastSuccessfulFetchTime()).contains(fetchedAt);
+    }
+
+    @Test
+    void shouldServeLastKnownParkingsWhenApiReturnsNoData() {
+        // Given
+        whenApiCalled()
+                .thenAnswer(respondWith(createMockApiResponse()))
+                .thenAnswer(respondWith(null));
+        List<Parking> fetched = adapter.fetchParkings();
+
+        // When
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then
+        assertThat(parkings).isEqualTo(fetched);
+    }
+
+    @Test
+    void shouldNotCallApiAgainDuringFailureBackoff() {
+        // Given
+        when(properties.getFailureBackoff()).thenReturn(Duration.ofMinutes(1));
+        whenApiCalled()
+                .thenReturn(CompletableFuture.failedFuture(new ConnectException("Connection error")));
+        adapter.fetchParkings();
+
+        // When
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then
+        assertThat(parkings).isEmpty();
+        verifyApiCalled(times(1));
+    }
+
+    @Test
+    void shouldCallApiAgainOnceFailureBackoffElapsed() {
+        // Given
+        when(properties.getFailureBackoff()).thenReturn(Duration.ZERO);
+        whenApiCalled()
+                .thenReturn(CompletableFuture.failedFuture(new ConnectException("Connection error")))
+                .thenAnswer(respondWith(createMockApiResponse()));
+        adapter.fetchParkings();
+
+        // When
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then
+        assertThat(parkings).hasSize(2);
+        verifyApiCalled(times(2));
+    }
+
+    @Test
+    void shouldNotReportFetchTimeBeforeFirstSuccessfulFetch() {
+        // Given
+        whenApiCalled()
+                .thenReturn(CompletableFuture.failedFuture(new ConnectException("Connection error")));
+
+        // When
+        adapter.fetchParkings();
+
+        // Then
+        assertThat(adapter.getLastSuccessfulFetchTime()).isEmpty();
+    }
+
+    @Test
+    void shouldShareSingleUpstreamRequestBetweenConcurrentCallers() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(properties.getFetchDeadline()).thenReturn(Duration.ofSeconds(5));
+        whenApiCalled().thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return respondWith(createMockApiResponse()).answer(invocation);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<List<Parking>> first = executor.submit(adapter::fetchParkings);
+            verifyApiCalled(timeout(5000));
+
+            // When
+            List<Future<List<Parking>>> others = List.of(
+                    executor.submit(adapter::fetchParkings),
+                    executor.submit(adapter::fetchParkings),
+                    executor.submit(adapter::fetchParkings)
+            );
+            Thread.sleep(100);
+            release.countDown();
+
+            // Then
+            assertThat(first.get(5, TimeUnit.SECONDS)).hasSize(2);
+            for (Future<List<Parking>> other : others) {
+                assertThat(other.get(5, TimeUnit.SECONDS)).hasSize(2);
+            }
+            verifyApiCalled(times(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldSendValidatorsOfLastResponseOnNextFetch() {
+        // Given
+        whenApiCalled()
+                .thenAnswer(respondWith(200, Map.of(
+                        "ETag", "\"v42\"",
+                        "Last-Modified", "Thu, 23 Oct 2025 09:21:00 GMT"
+                ), createMockApiResponse()));
+        adapter.fetchParkings();
+
+        // When
+        adapter.fetchParkings();
+
+        // Then
+        Map<String, String> first = sentHeaders.get(0);
+        Map<String, String> second = sentHeaders.get(1);
+        assertThat(first).doesNotContainKeys("If-None-Match", "If-Modified-Since");
+        assertThat(second).containsEntry("If-None-Match", "\"v42\"")
+                .containsEntry("If-Modified-Since", "Thu, 23 Oct 2025 09:21:00 GMT");
+    }
+
+    @Test
+    void shouldReturnLastFetchedParkingsWhenNotModified() {
+        // Given
+        whenApiCalled()
+                .thenAnswer(respondWith(200, Map.of("ETag", "\"v42\""), createMockApiResponse()))
+                .thenAnswer(respondWith(304, Map.of(), null));
+        List<Parking> fetched = adapter.fetchParkings();
+        Instant fetchedAt = adapter.getLastSuccessfulFetchTime().orElseThrow();
+
+        // When
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then
+        assertThat(parkings).isSameAs(fetched);
+        assertThat(adapter.getLastSuccessfulFetchTime().orElseThrow()).isAfterOrEqualTo(fetchedAt);
+    }
+
+    @Test
+    void shouldReuseParkingsNotUpdatedSinceLastFetch() {
+        // Given
+        PoitiersApiResponse updated = createRealPoitiersApiResponse();
+        PoitiersApiResponse.ParkingData theatre = updated.getResults().get(0);
+        theatre.setPlaces(31);
+        theatre.setDerniereMiseAJour("2025-10-23T11:22:00+02:00");
+        whenApiCalled()
+                .thenAnswer(respondWith(createRealPoitiersApiResponse()))
+                .thenAnswer(respondWith(updated));
+        List<Parking> fetched = adapter.fetchParkings();
+
+        // When
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then
+        assertThat(parkings).hasSize(8);
+        assertThat(parkings.get(0)).isNotSameAs(fetched.get(0));
+        assertThat(parkings.get(0).getAvailableSpaces()).isEqualTo(31);
+        for (int i = 1; i < parkings.size(); i++) {
+            assertThat(parkings.get(i)).isSameAs(fetched.get(i));
+        }
+    }
+
+    @Test
+    void shouldMapParkingsAgainWhenUpdateTimeIsMissing() {
+        // Given
+        whenApiCalled()
+                .thenAnswer(respondWith(createMockApiResponse()))
+                .thenAnswer(respondWith(createMockApiResponse()));
+        List<Parking> fetched = adapter.fetchParkings();
+
+        // When
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then
+        assertThat(parkings).isEqualTo(fetched);
+        assertThat(parkings.get(0)).isNotSameAs(fetched.get(0));
+    }
+
+    @Test
+    void shouldFetchParkingsWithoutBlocking() throws Exception {
+        // Given
+        CompletableFuture<Object> response = new CompletableFuture<>();
+        when(properties.getRequestTimeout()).thenReturn(Duration.ofSeconds(3));
+        when(upstreamHttpClient.get(eq(firstPageUrl), eq(Duration.ofSeconds(3)), anyMap(), any())).thenReturn(response);
+
+        // When
+        CompletableFuture<List<Parking>> parkings = adapter.fetchParkingsAsync();
+
+        // Then
+        assertThat(parkings).isNotDone();
+        response.complete(null);
+        assertThat(parkings.get(5, TimeUnit.SECONDS)).isEmpty();
+    }
+
+    @Test
+    void shouldServeLastKnownParkingsWhenAsyncFetchFails() throws Exception {
+        // Given
+        whenApiCalled()
+                .thenAnswer(respondWith(createMockApiResponse()))
+                .thenReturn(CompletableFuture.failedFuture(new UpstreamHttpClient.UpstreamHttpException(apiUrl, 503)));
+        List<Parking> fetched = adapter.fetchParkingsAsync().get(5, TimeUnit.SECONDS);
+
+        // When
+        List<Parking> parkings = adapter.fetchParkingsAsync().get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(parkings).isEqualTo(fetched);
+    }
+
+    @Test
+    void shouldFetchRemainingPagesWhenTotalExceedsPageSize() {
+        // Given
+        when(properties.getPageSize()).thenReturn(2);
+        whenPageCalled(apiUrl + "?size=2").thenAnswer(respondWith(createPage(5, 1, 2)));
+        whenPageCalled(apiUrl + "?size=2&page=2").thenAnswer(respondWith(createPage(5, 3, 4)));
+        whenPageCalled(apiUrl + "?size=2&page=3").thenAnswer(respondWith(createPage(5, 5)));
+
+        // When
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then
+        assertThat(parkings).extracting(Parking::getId).containsExactly("1", "2", "3", "4", "5");
+        verify(upstreamHttpClient, times(3)).get(anyString(), any(), anyMap(), any());
+    }
+
+    @Test
+    void shouldLimitPagesFetchedConcurrently() throws Throwable {
+        // Given
+        when(properties.getPageSize()).thenReturn(1);
+        when(properties.getMaxConcurrentPages()).thenReturn(2);
+        whenPageCalled(apiUrl + "?size=1").thenAnswer(respondWith(createPage(5, 1)));
+        List<InvocationOnMock> pageCalls = new CopyOnWriteArrayList<>();
+        List<CompletableFuture<Object>> pageResponses = new CopyOnWriteArrayList<>();
+        when(upstreamHttpClient.get(startsWith(apiUrl + "?size=1&page="), any(), anyMap(), any()))
+                .thenAnswer(invocation -> {
+                    CompletableFuture<Object> response = new CompletableFuture<>();
+                    pageCalls.add(invocation);
+                    pageResponses.add(response);
+                    return response;
+                });
+
+        // When
+        CompletableFuture<List<Parking>> parkings = adapter.fetchParkingsAsync();
+
+        // Then - pages are answered one at a time, never more than two are requested at once
+        while (!parkings.isDone()) {
+            int next = 0;
+            while (pageResponses.get(next).isDone()) {
+                next++;
+            }
+            assertThat(pageResponses.stream().filter(response -> !response.isDone())).hasSizeBetween(1, 2);
+            String url = pageCalls.get(next).getArgument(0);
+            int page = Integer.parseInt(url.substring(url.lastIndexOf('=') + 1));
+            pageResponses.get(next).complete(respondWith(createPage(5, page)).answer(pageCalls.get(next)).join());
+        }
+        assertThat(parkings.join()).extracting(Parking::getId).containsExactly("1", "2", "3", "4", "5");
+        assertThat(pageCalls).hasSize(4);
+    }
+
+    @Test
+    void shouldServeLastKnownParkingsWhenAPageFails() {
+        // Given
+        when(properties.getPageSize()).thenReturn(2);
+        whenPageCalled(apiUrl + "?size=2")
+                .thenAnswer(respondWith(createPage(2, 1, 2)))
+                .thenAnswer(respondWith(createPage(4, 1, 2)));
+        whenPageCalled(apiUrl + "?size=2&page=2")
+                .thenReturn(CompletableFuture.failedFuture(new ConnectException("Connection error")));
+        List<Parking> fetched = adapter.fetchParkings();
+
+        // When
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then - a truncated dataset is never served
+        assertThat(parkings).isEqualTo(fetched);
+    }
+
+    @Test
+    void shouldServeLastKnownParkingsWhenDatasetExceedsPagingLimit() {
+        // Given - data-fair pages at most 10,000 rows
+        when(properties.getPageSize()).thenReturn(2);
+        whenPageCalled(apiUrl + "?size=2")
+                .thenAnswer(respondWith(createPage(2, 1, 2)))
+                .thenAnswer(respondWith(createPage(10_001, 1, 2)));
+        List<Parking> fetched = adapter.fetchParkings();
+
+        // When
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then - the remaining pages are not fetched, a truncated dataset is never served
+        assertThat(parkings).isEqualTo(fetched);
+        verify(upstreamHttpClient, times(2)).get(anyString(), any(), anyMap(), any());
+    }
+
+    @Test
+    void shouldKeepRowsShiftedBetweenPagesOnce() {
+        // Given - a row inserted while paging shifts row 2 to the second page
+        when(properties.getPageSize()).thenReturn(2);
+        whenPageCalled(apiUrl + "?size=2").thenAnswer(respondWith(createPage(4, 1, 2)));
+        whenPageCalled(apiUrl + "?size=2&page=2").thenAnswer(respondWith(createPage(4, 2, 3)));
+
+        // When
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then
+        assertThat(parkings).extracting(Parking::getId).containsExactly("1", "2", "3");
+    }
+
+    @Test
+    void shouldNotFetchMorePagesWhenPageSizeIsNotHonoured() {
+        // Given
+        when(properties.getPageSize()).thenReturn(20);
+        whenPageCalled(apiUrl + "?size=20").thenAnswer(respondWith(createPage(30, 1, 2)));
+
+        // When
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then
+        assertThat(parkings).hasSize(2);
+        verify(upstreamHttpClient, times(1)).get(anyString(), any(), anyMap(), any());
+    }
+
+    @Test
+    void shouldRequestSelectedColumnsOnly() {
+        // Given
+        when(properties.getSelect()).thenReturn(List.of("Id", "Places", "Dernière_mise_à_jour_Base"));
+        whenPageCalled(apiUrl + "?select=Id,Places,Derni%C3%A8re_mise_%C3%A0_jour_Base&size=1000")
+                .thenAnswer(respondWith(createMockApiResponse()));
+
+        // When
+        List<Parking> parkings = adapter.fetchParkings();
+
+        // Then
+        assertThat(parkings).hasSize(2);
+    }
+
+    private OngoingStubbing<CompletableFuture<Object>> whenPageCalled(String url) {
+        return when(upstreamHttpClient.get(eq(url), any(), anyMap(), any()));
+    }
+
+    private OngoingStubbing<CompletableFuture<Object>> whenApiCalled() {
+        return when(upstreamHttpClient.get(eq(firstPageUrl), any(), anyMap(), any()));
+    }
+
+    private void verifyApiCalled(VerificationMode mode) {
+        verify(upstreamHttpClient, mode).get(eq(firstPageUrl), any(), anyMap(), any());
+    }
+
+    private Answer<CompletableFuture<Object>> respondWith(PoitiersApiResponse body) {
+        return respondWith(200, Map.of(), body);
+    }
+
+    /**
+     * Run the adapter response reader against a response serving the given body
+     */
+    private Answer<CompletableFuture<Object>> respondWith(int status, Map<String, String> headers, PoitiersApiResponse body) {
+        return invocation -> {
+            sentHeaders.add(invocation.getArgument(2));
+            byte[] json = status == 304 ? new byte[0] : objectMapper.writeValueAsBytes(body);
+            HttpHeaders responseHeaders = HttpHeaders.of(
+                    headers.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> List.of(entry.getValue()))),
+                    (name, value) -> true);
+            UpstreamHttpClient.ResponseReader<Object> reader = invocation.getArgument(3);
+            return CompletableFuture.completedFuture(reader.read(status, responseHeaders, new ByteArrayInputStream(json)));
+        };
+    }
+
     private PoitiersApiResponse createRealPoitiersApiResponse() {
         PoitiersApiResponse response = new PoitiersApiResponse();
         response.setTotal(8);
@@ -553,6 +959,20 @@ class PoitiersParkingAdapterTest {
         return response;
     }
 
+    private PoitiersApiResponse createPage(int total, int... ids) {
+        PoitiersApiResponse response = new PoitiersApiResponse();
+        response.setTotal(total);
+        response.setResults(Arrays.stream(ids).mapToObj(id -> {
+            PoitiersApiResponse.ParkingData data = new PoitiersApiResponse.ParkingData();
+            data.setId(id);
+            data.setNom("Parking " + id);
+            data.setCapacite(100);
+            data.setPlaces(id);
+            return data;
+        }).toList());
+        return response;
+    }
+
     private PoitiersApiResponse createMockApiResponse() {
         PoitiersApiResponse response = new PoitiersApiResponse();
         response.setTotal(2);
@@ -2,6 +2,8 @@ package com.github.hugodorne.parkingapi.infrastructure.adapter.out.poitiers;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -33,5 +35,34 @@ class PoitiersParkingPropertiesTest {
         // Then
         assertThat(properties.getUrl()).isEqualTo(customUrl);
     }
-}
 
+    @Test
+    void shouldHaveDefaultTimeouts() {
+        // Given
+        PoitiersParkingProperties properties = new PoitiersParkingProperties();
+
+        // When & Then
+        assertThat(properties.getRequestTimeout()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(properties.getFetchDeadline()).isEqualTo(Duration.ofSeconds(20));
+    }
+
+    @Test
+    void shouldHaveDefaultPaging() {
+        // Given
+        PoitiersParkingProperties properties = new PoitiersParkingProperties();
+
+        // When & Then
+        assertThat(properties.getPageSize()).isEqualTo(1000);
+        assertThat(properties.getMaxConcurrentPages()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldSelectColumnsReadByDefault() {
+        // Given
+        PoitiersParkingProperties properties = new PoitiersParkingProperties();
+
+        // When & Then
+        assertThat(properties.getSelect()).containsExactly(
+                "Id", "Nom", "Capacite", "Places", "_geopoint", "infos_parkingsgeo_point", "Dernière_mise_à_jour_Base");
+    }
+}
@@ -0,0 +1,182 @@
+package com.github.hugodorne.parkingapi.infrastructure.adapter.out.poitiers;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for PoitiersResponseParser
+ */
+class PoitiersResponseParserTest {
+
+    private static final String REAL_RESPONSE = """
+            {
+              "total": 2,
+              "next": "https://data.grandpoitiers.fr/data-fair/api/v1/datasets/x/lines?after=2",
+              "results": [
+                {
+                  "Id": 3,
+                  "Nom": "THEATRE",
+                  "Capacite": 320,
+                  "Places": 32,
+                  "taux_doccupation": 90,
+                  "infos_parkingsgeo_point": "46.58383455409422,0.33779491061805567",
+                  "_geopoint": "46.58383455409422,0.33779491061805567",
+                  "Dernière_mise_à_jour_Base": "2025-10-23T11:21:00+02:00",
+                  "_geoshape": {"type": "Point", "coordinates": [0.33779491061805567, 46.58383455409422]},
+                  "_i": 1,
+                  "_rand": 480513,
+                  "_id": "abc"
+                },
+                {
+                  "Id": 5,
+                  "Nom": "GARE EFFIA",
+                  "Capacite": 480,
+                  "Places": 244,
+                  "taux_doccupation": 49.1666666666667,
+                  "Dernière_mise_à_jour_Base": "2025-10-23T11:20:59+02:00",
+                  "_i": 2
+                }
+              ]
+            }
+            """;
+
+    private final PoitiersResponseParser parser = new PoitiersResponseParser();
+
+    @Test
+    void shouldReadRowsLikeDataBinding() throws IOException {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapper()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        List<PoitiersApiResponse.ParkingData> expected = objectMapper
+                .readValue(REAL_RESPONSE, PoitiersApiResponse.class)
+                .getResults();
+        expected.forEach(data -> data.setTauxOccupation(null));
+
+        // When
+        List<PoitiersApiResponse.ParkingData> rows = parseAll(REAL_RESPONSE);
+
+        // Then
+        assertThat(rows).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldSkipUnusedFields() throws IOException {
+        // When
+        List<PoitiersApiResponse.ParkingData> rows = parseAll(REAL_RESPONSE);
+
+        // Then
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).getTauxOccupation()).isNull();
+        assertThat(rows.get(0).getNom()).isEqualTo("THEATRE");
+        assertThat(rows.get(1).getGeopoint()).isNull();
+    }
+
+    @Test
+    void shouldReuseRowBetweenCallbacks() throws IOException {
+        // Given
+        List<PoitiersApiResponse.ParkingData> seen = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+
+        // When
+        PoitiersResponseParser.ParsedPage page = parser.parse(stream(REAL_RESPONSE), data -> {
+            seen.add(data);
+            names.add(data.getNom());
+        });
+
+        // Then
+        assertThat(page.getRowCount()).isEqualTo(2);
+        assertThat(seen.get(1)).isSameAs(seen.get(0));
+        assertThat(names).containsExactly("THEATRE", "GARE EFFIA");
+        assertThat(seen.get(1).getGeopoint()).isNull();  // Cleared, not left over from the first row
+    }
+
+    @Test
+    void shouldCoerceIntegersLikeDataBinding() throws IOException {
+        // When
+        List<PoitiersApiResponse.ParkingData> rows = parseAll("""
+                {"results": [{"Id": "7", "Capacite": 100.0, "Places": " ", "Nom": 12}]}
+                """);
+
+        // Then
+        assertThat(rows.get(0).getId()).isEqualTo(7);
+        assertThat(rows.get(0).getCapacite()).isEqualTo(100);
+        assertThat(rows.get(0).getPlaces()).isNull();
+        assertThat(rows.get(0).getNom()).isEqualTo("12");
+    }
+
+    @Test
+    void shouldReadEmptyResults() throws IOException {
+        // When
+        PoitiersResponseParser.ParsedPage page = parser.parse(stream("{\"total\": 0, \"results\": []}"), data -> { });
+
+        // Then
+        assertThat(page.getRowCount()).isZero();
+        assertThat(page.hasResults()).isTrue();
+    }
+
+    @Test
+    void shouldReadAnnouncedTotal() throws IOException {
+        // When & Then
+        assertThat(parser.parse(stream(REAL_RESPONSE), data -> { }).getTotal()).isEqualTo(2);
+        assertThat(parser.parse(stream("{\"results\": [], \"total\": 1500}"), data -> { }).getTotal()).isEqualTo(1500);
+        assertThat(parser.parse(stream("{\"results\": []}"), data -> { }).getTotal()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldReportMissingResults() throws IOException {
+        // When & Then
+        assertThat(parser.parse(stream("{\"total\": 0}"), data -> { }).hasResults()).isFalse();
+        assertThat(parser.parse(stream("{\"total\": 0, \"results\": null}"), data -> { }).hasResults()).isFalse();
+        assertThat(parser.parse(stream("null"), data -> { }).hasResults()).isFalse();
+        assertThat(parser.parse(stream(""), data -> { }).hasResults()).isFalse();
+    }
+
+    @Test
+    void shouldRejectInvalidInteger() {
+        // When & Then
+        assertThatThrownBy(() -> parseAll("{\"results\": [{\"Places\": \"many\"}]}"))
+                .isInstanceOf(JsonParseException.class)
+                .hasMessageContaining("many");
+    }
+
+    @Test
+    void shouldRejectMalformedRows() {
+        // When & Then
+        assertThatThrownBy(() -> parseAll("{\"results\": [42]}"))
+                .isInstanceOf(JsonParseException.class);
+        assertThatThrownBy(() -> parseAll("{\"results\": [{\"Nom\": {\"fr\": \"THEATRE\"}}]}"))
+                .isInstanceOf(JsonParseException.class);
+    }
+
+    private List<PoitiersApiResponse.ParkingData> parseAll(String json) throws IOException {
+        List<PoitiersApiResponse.ParkingData> rows = new ArrayList<>();
+        parser.parse(stream(json), data -> {
+            PoitiersApiResponse.ParkingData copy = new PoitiersApiResponse.ParkingData();
+            copy.setId(data.getId());
+            copy.setNom(data.getNom());
+            copy.setCapacite(data.getCapacite());
+            copy.setPlaces(data.getPlaces());
+            copy.setTauxOccupation(data.getTauxOccupation());
+            copy.setGeopoint(data.getGeopoint());
+            copy.setInfoParkingsGeoPoint(data.getInfoParkingsGeoPoint());
+            copy.setDerniereMiseAJour(data.getDerniereMiseAJour());
+            rows.add(copy);
+        });
+        return rows;
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
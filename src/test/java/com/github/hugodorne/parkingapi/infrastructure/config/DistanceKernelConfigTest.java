@@ -0,0 +1,61 @@
+package com.github.hugodorne.parkingapi.infrastructure.config;
+
+import com.github.hugodorne.parkingapi.domain.spatial.ScalarDistanceKernel;
+import com.github.hugodorne.parkingapi.domain.spatial.VectorDistanceKernel;
+import com.github.hugodorne.parkingapi.domain.spatial.VectorSupport;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for DistanceKernelConfig
+ */
+class DistanceKernelConfigTest {
+
+    @Test
+    void shouldUseScalarKernelByDefault() {
+        // When & Then
+        assertThat(new DistanceKernelConfig().distanceKernel(false)).isInstanceOf(ScalarDistanceKernel.class);
+    }
+
+    @Test
+    void shouldUseVectorKernelWhenRequestedAndSupported() {
+        // Given
+        Class<?> expected = VectorSupport.isAvailable() ? VectorDistanceKernel.class : ScalarDistanceKernel.class;
+
+        // When & Then
+        assertThat(new DistanceKernelConfig().distanceKernel(true)).isInstanceOf(expected);
+    }
+
+    @Test
+    void shouldFallBackToScalarKernelWithoutVectorModule() throws Exception {
+        // Given - tests run with the Vector API module, so the kernel is requested from a JVM started without it
+        ProcessBuilder builder = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                WithoutVectorModule.class.getName())
+                .redirectErrorStream(true);
+
+        // When
+        Process process = builder.start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(process.waitFor(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(output).contains("kernel=" + ScalarDistanceKernel.class.getName());
+        assertThat(process.exitValue()).as(output).isZero();
+    }
+
+    /**
+     * Requests the vectorized kernel, run in a JVM without the Vector API module
+     */
+    static class WithoutVectorModule {
+        public static void main(String[] args) {
+            System.out.println("kernel=" + new DistanceKernelConfig().distanceKernel(true).getClass().getName());
+        }
+    }
+}
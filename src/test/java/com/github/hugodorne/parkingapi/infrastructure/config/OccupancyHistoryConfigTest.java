@@ -0,0 +1,53 @@
+package com.github.hugodorne.parkingapi.infrastructure.config;
+
+import com.github.hugodorne.parkingapi.infrastructure.adapter.out.history.OccupancyHistoryProperties;
+import com.github.hugodorne.parkingapi.infrastructure.adapter.out.history.OccupancyHistoryStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for OccupancyHistoryConfig
+ */
+class OccupancyHistoryConfigTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldBeDisabledByDefault() {
+        // When & Then
+        assertThat(new OccupancyHistoryProperties().isEnabled()).isFalse();
+    }
+
+    @Test
+    void shouldRequireExplicitDirectory() {
+        // Given
+        OccupancyHistoryProperties properties = new OccupancyHistoryProperties();
+        properties.setEnabled(true);
+
+        // When & Then
+        assertThatThrownBy(() -> new OccupancyHistoryConfig().occupancyHistoryStore(properties))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("parking.history.directory");
+    }
+
+    @Test
+    void shouldOpenStoreInConfiguredDirectory() {
+        // Given
+        OccupancyHistoryProperties properties = new OccupancyHistoryProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+
+        // When
+        OccupancyHistoryStore store = new OccupancyHistoryConfig().occupancyHistoryStore(properties);
+
+        // Then
+        assertThat(store.getSegmentCount()).isZero();
+        store.close();
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.hugodorne.parkingapi.infrastructure.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for UpstreamHttpClientConfig
+ */
+class UpstreamHttpClientConfigTest {
+
+    private final UpstreamHttpClientConfig config = new UpstreamHttpClientConfig();
+
+    @Test
+    void shouldCreateHttp2ClientWithConnectTimeout() {
+        // Given
+        UpstreamHttpProperties properties = new UpstreamHttpProperties();
+
+        // When
+        HttpClient client = config.httpClient(properties);
+
+        // Then
+        assertThat(client.version()).isEqualTo(HttpClient.Version.HTTP_2);
+        assertThat(client.connectTimeout()).contains(Duration.ofSeconds(10));
+        assertThat(client.followRedirects()).isEqualTo(HttpClient.Redirect.NORMAL);
+    }
+
+    @Test
+    void shouldCreateHttp11ClientWhenHttp2IsDisabled() {
+        // Given
+        UpstreamHttpProperties properties = new UpstreamHttpProperties();
+        properties.setHttp2(false);
+        properties.setConnectTimeout(Duration.ofSeconds(3));
+
+        // When
+        HttpClient client = config.httpClient(properties);
+
+        // Then
+        assertThat(client.version()).isEqualTo(HttpClient.Version.HTTP_1_1);
+        assertThat(client.connectTimeout()).contains(Duration.ofSeconds(3));
+    }
+}
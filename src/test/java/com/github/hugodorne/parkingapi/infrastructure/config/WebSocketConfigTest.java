@@ -0,0 +1,57 @@
+package com.github.hugodorne.parkingapi.infrastructure.config;
+
+import jakarta.servlet.ServletContext;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.Session;
+import jakarta.websocket.server.ServerContainer;
+import jakarta.websocket.server.ServerEndpointConfig;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for WebSocketConfig
+ */
+class WebSocketConfigTest {
+
+    private final Endpoint endpoint = new Endpoint() {
+        @Override
+        public void onOpen(Session session, EndpointConfig config) {
+        }
+    };
+
+    @Test
+    void shouldRegisterEndpointInstanceOnContainer() throws Exception {
+        // Given
+        ServletContext servletContext = mock(ServletContext.class);
+        ServerContainer container = mock(ServerContainer.class);
+        when(servletContext.getAttribute(ServerContainer.class.getName())).thenReturn(container);
+
+        // When
+        boolean registered = WebSocketConfig.registerEndpoint(servletContext, "/live", endpoint);
+
+        // Then - every session is handled by the given instance
+        assertThat(registered).isTrue();
+        ArgumentCaptor<ServerEndpointConfig> config = ArgumentCaptor.forClass(ServerEndpointConfig.class);
+        verify(container).addEndpoint(config.capture());
+        assertThat(config.getValue().getPath()).isEqualTo("/live");
+        assertThat(config.getValue().getConfigurator().getEndpointInstance(endpoint.getClass())).isSameAs(endpoint);
+    }
+
+    @Test
+    void shouldSkipRegistrationWithoutContainer() {
+        // Given
+        ServletContext servletContext = mock(ServletContext.class);
+
+        // When
+        boolean registered = WebSocketConfig.registerEndpoint(servletContext, "/live", endpoint);
+
+        // Then
+        assertThat(registered).isFalse();
+    }
+}